@@ -0,0 +1,174 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tquadrat.foundation.javadoc.internal.OtherFileTagletBase.ProcessMode;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  Measures the lexing and the rendering of a large Java source with
+ *  {@link ProcessMode#SOURCE_HIGHLIGHTED},
+ *  compared with the plain rendering through
+ *  {@link ProcessMode#SOURCE}.
+ *  The source is generated; with 200,000 lines, it is about as large as the
+ *  largest files in the JDK sources.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: JavaLexerBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: JavaLexerBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class JavaLexerBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The template for the generated source.
+     */
+    private static final String TEMPLATE =
+        """
+        /**
+         *  Returns the value for the given key.
+         *
+         *  @param  key The key.
+         *  @return The value; {@code null} if there is none.
+         */
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public final synchronized Object get%1$d( final String key )
+        {
+            final var value = 0x7fff_ffffL + 1.5e-3d + '\\'';  // A comment with <markup> & entities
+            if( key == null || key.isEmpty() ) return null;
+            final var text = \"""
+                A text block with "quotes" and \\\""" inside.
+                \""";
+            return switch( key.length() )
+            {
+                case 1 -> "one";
+                case 2 -> Boolean.TRUE;
+                default -> text + value + key;
+            };
+        }   //  get%1$d()
+
+        """;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The approximate number of lines in the generated source.
+     */
+    @Param( {"10000", "200000"} )
+    public int m_LineCount;
+
+    /**
+     *  The generated source.
+     */
+    private String m_Source;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Lexes the source.
+     *
+     *  @return The tokens.
+     */
+    @Benchmark
+    public final TokenStream lex()
+    {
+        return JavaLexer.lex( m_Source );
+    }   //  lex()
+
+    /**
+     *  Lexes the source and renders it with syntax highlighting.
+     *
+     *  @return The rendered source.
+     *  @throws IOException Should not happen.
+     */
+    @Benchmark
+    public final String lexAndRenderHighlighted() throws IOException
+    {
+        final var buffer = new StringBuilder( m_Source.length() * 3 );
+        SourceRenderer.render( JavaLexer.lex( m_Source ), buffer );
+        final var retValue = buffer.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  lexAndRenderHighlighted()
+
+    /**
+     *  Renders the source with
+     *  {@link ProcessMode#SOURCE_HIGHLIGHTED};
+     *  the tokens are taken from the cache.
+     *
+     *  @return The rendered source.
+     */
+    @Benchmark
+    public final String processHighlighted()
+    {
+        return ProcessMode.SOURCE_HIGHLIGHTED.processContents( "Benchmark.java", m_Source );
+    }   //  processHighlighted()
+
+    /**
+     *  Renders the source with
+     *  {@link ProcessMode#SOURCE}.
+     *
+     *  @return The rendered source.
+     */
+    @Benchmark
+    public final String processPlain()
+    {
+        return ProcessMode.SOURCE.processContents( "Benchmark.java", m_Source );
+    }   //  processPlain()
+
+    /**
+     *  Generates the source.
+     */
+    @Setup
+    public final void setup()
+    {
+        final var linesPerMethod = (int) TEMPLATE.lines().count();
+        final var buffer = new StringBuilder( m_LineCount * 48 ).append( "package org.tquadrat.benchmark;\n\npublic class Benchmark\n{\n" );
+        for( var i = 0; i < m_LineCount / linesPerMethod; ++i )
+        {
+            buffer.append( TEMPLATE.formatted( i ) );
+        }
+        m_Source = buffer.append( "}\n" ).toString();
+    }   //  setup()
+}
+//  class JavaLexerBenchmark
+
+/*
+ *  End of File
+ */
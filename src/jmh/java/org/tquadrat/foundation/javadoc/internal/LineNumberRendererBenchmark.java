@@ -0,0 +1,157 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.lang.String.format;
+import static org.tquadrat.foundation.javadoc.internal.Common.createLineNumberFormatString;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  Compares the rendering of the line numbers for a complete source listing
+ *  through
+ *  {@link String#format(String, Object...) String.format()}
+ *  and the format String from
+ *  {@link Common#createLineNumberFormatString(int)}
+ *  with the rendering through
+ *  {@link LineNumberRenderer}.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: LineNumberRendererBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: LineNumberRendererBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+public class LineNumberRendererBenchmark
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The number of lines in the listing.
+     */
+    @Param( {"100", "10000"} )
+    public int m_LineCount;
+
+    /**
+     *  The format String for the line numbers.
+     */
+    private String m_LineNumberFormat;
+
+    /**
+     *  The renderer for the line numbers.
+     */
+    private LineNumberRenderer m_LineNumberRenderer;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Renders the line numbers with
+     *  {@link String#format(String, Object...) String.format()}.
+     *
+     *  @return The rendered line numbers.
+     */
+    @Benchmark
+    public final String renderFormat()
+    {
+        final var buffer = new StringBuilder( m_LineCount * 48 );
+        for( var lineNumber = 1; lineNumber <= m_LineCount; ++lineNumber )
+        {
+            buffer.append( format( m_LineNumberFormat, lineNumber ) ).append( '\n' );
+        }
+        final var retValue = buffer.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  renderFormat()
+
+    /**
+     *  Renders the line numbers with
+     *  {@link LineNumberRenderer}
+     *  to a
+     *  {@link StringBuilder}.
+     *
+     *  @return The rendered line numbers.
+     */
+    @Benchmark
+    public final String renderRenderer()
+    {
+        final var buffer = new StringBuilder( m_LineCount * 48 );
+        for( var lineNumber = 1; lineNumber <= m_LineCount; ++lineNumber )
+        {
+            m_LineNumberRenderer.append( buffer, lineNumber ).append( '\n' );
+        }
+        final var retValue = buffer.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  renderRenderer()
+
+    /**
+     *  Renders the line numbers with
+     *  {@link LineNumberRenderer}
+     *  to a
+     *  {@link java.io.Writer}.
+     *
+     *  @return The rendered line numbers.
+     *  @throws IOException Should not happen.
+     */
+    @Benchmark
+    public final String renderRendererWriter() throws IOException
+    {
+        final var writer = new StringWriter( m_LineCount * 48 );
+        for( var lineNumber = 1; lineNumber <= m_LineCount; ++lineNumber )
+        {
+            m_LineNumberRenderer.append( writer, lineNumber ).append( '\n' );
+        }
+        final var retValue = writer.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  renderRendererWriter()
+
+    /**
+     *  Creates the format String and the renderer.
+     */
+    @Setup
+    public final void setup()
+    {
+        m_LineNumberFormat = createLineNumberFormatString( m_LineCount );
+        m_LineNumberRenderer = new LineNumberRenderer( m_LineCount );
+    }   //  setup()
+}
+//  class LineNumberRendererBenchmark
+
+/*
+ *  End of File
+ */
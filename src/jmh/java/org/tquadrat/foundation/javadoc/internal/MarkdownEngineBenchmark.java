@@ -0,0 +1,184 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.loadToString;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  Compares the conversion of a large Markdown file to HTML by loading it
+ *  into a String first, with a new parser and renderer each time, with the
+ *  streaming conversion through
+ *  {@link MarkdownEngine#render(java.io.Reader, Appendable)}.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: MarkdownEngineBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: MarkdownEngineBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class MarkdownEngineBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The template for the generated Markdown.
+     */
+    private static final String TEMPLATE =
+        """
+        ## Section %1$d
+
+        Some text with *emphasis*, **strong emphasis**, `code` and a
+        [link](https://www.tquadrat.org/%1$d.html) &amp; an entity.
+
+        - First item
+        - Second item with <b>inline HTML</b>
+
+        | Name | Value |
+        |------|-------|
+        | a    | %1$d  |
+
+        ```java
+        final var value = %1$d;
+        ```
+
+        """;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The Markdown engine.
+     */
+    private MarkdownEngine m_Engine;
+
+    /**
+     *  The Markdown file.
+     */
+    private Path m_File;
+
+    /**
+     *  The size of the Markdown file in MiB.
+     */
+    @Param( {"1", "8"} )
+    public int m_SizeInMiB;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Loads the file into a String and converts it with a new parser and a
+     *  new renderer.
+     *
+     *  @return The HTML.
+     *  @throws IOException Reading the file failed.
+     */
+    @Benchmark
+    public final String loadAndRender() throws IOException
+    {
+        final var extensions = List.of( TablesExtension.create() );
+        final var parser = Parser.builder()
+            .extensions( extensions )
+            .build();
+        final var renderer = HtmlRenderer.builder()
+            .extensions( extensions )
+            .build();
+        final var retValue = renderer.render( parser.parse( loadToString( m_File, UTF_8 ) ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  loadAndRender()
+
+    /**
+     *  Generates the Markdown file and creates the engine.
+     *
+     *  @throws IOException Writing the file failed.
+     */
+    @Setup
+    public final void setup() throws IOException
+    {
+        final var size = m_SizeInMiB * 1024 * 1024;
+        final var buffer = new StringBuilder( size + TEMPLATE.length() * 2 );
+        for( var i = 0; buffer.length() < size; ++i )
+        {
+            buffer.append( TEMPLATE.formatted( i ) );
+        }
+        m_File = Files.createTempFile( "MarkdownEngineBenchmark", ".md" );
+        Files.writeString( m_File, buffer, UTF_8 );
+        m_Engine = new MarkdownEngine( List.of( TablesExtension.create() ), 1, Long.MAX_VALUE );
+    }   //  setup()
+
+    /**
+     *  Streams the file through the engine.
+     *
+     *  @return The HTML.
+     *  @throws IOException Reading the file failed.
+     */
+    @Benchmark
+    public final String stream() throws IOException
+    {
+        final var buffer = new StringBuilder( (int) (Files.size( m_File ) * 2) );
+        try( final var reader = Files.newBufferedReader( m_File, UTF_8 ) )
+        {
+            m_Engine.render( reader, buffer );
+        }
+        final var retValue = buffer.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  stream()
+
+    /**
+     *  Deletes the Markdown file.
+     *
+     *  @throws IOException Deleting the file failed.
+     */
+    @TearDown
+    public final void tearDown() throws IOException
+    {
+        Files.deleteIfExists( m_File );
+    }   //  tearDown()
+}
+//  class MarkdownEngineBenchmark
+
+/*
+ *  End of File
+ */
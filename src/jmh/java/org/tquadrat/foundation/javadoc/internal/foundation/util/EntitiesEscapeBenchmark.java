@@ -0,0 +1,181 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal.foundation.util;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static org.tquadrat.foundation.javadoc.internal.foundation.util.Entities.HTML50;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  Compares the table driven implementation of
+ *  {@link Entities#escape(CharSequence)}
+ *  with the former implementation that looked up each single code point in
+ *  the entity map. As
+ *  {@link Entities#entityName(int)}
+ *  no longer uses that map, the benchmark keeps its own copy of the former
+ *  {@link TreeMap}
+ *  based lookup.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: EntitiesEscapeBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: EntitiesEscapeBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+public class EntitiesEscapeBenchmark
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The kind of the source text.
+     */
+    @Param( {"PLAIN", "ASCII", "LATIN1", "CJK"} )
+    public String m_Kind;
+
+    /**
+     *  The former mapping from the entity values to the entity names.
+     */
+    private final Map<Integer,String> m_ValueToName = new TreeMap<>();
+
+    /**
+     *  The source text.
+     */
+    private String m_Source;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Creates the source text, roughly 64&nbsp;KB in size.
+     */
+    @Setup
+    public final void createSource()
+    {
+        final var line = switch( m_Kind )
+        {
+            case "LATIN1" -> "    // Größenänderung für Übergänge: « déjà vu » – naïve Façade; ½ × ¼ = ⅛ & <fertig>\n";
+            case "CJK" -> "    // 地球是一个球体，它绕着太阳转。東京は日本の首都です。서울은 한국의 수도입니다 & <完>\n";
+            case "PLAIN" -> "    public final String escape( final CharSequence str ) { return str.toString(); }";
+            default -> "    public final String escape( final CharSequence str ) { return str.toString(); } // a < b && c > d\n";
+        };
+        final var builder = new StringBuilder( 0x10000 + line.length() );
+        while( builder.length() < 0x10000 ) builder.append( line );
+        m_Source = builder.toString();
+    }   //  createSource()
+
+    /**
+     *  Fills the former value to name mapping; this is done once, so the
+     *  lookups during the benchmark do not touch the current entity map.
+     */
+    @Setup
+    public final void createLegacyMap()
+    {
+        m_ValueToName.clear();
+        for( var c = 0; c <= Character.MAX_CODE_POINT; ++c )
+        {
+            final var value = Integer.valueOf( c );
+            HTML50.entityName( c ).ifPresent( n -> m_ValueToName.put( value, n ) );
+        }
+    }   //  createLegacyMap()
+
+    /**
+     *  The former implementation of
+     *  {@link Entities#entityName(int)}.
+     *
+     *  @param  value   The value to locate.
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the name of the entity.
+     */
+    private final Optional<String> legacyEntityName( final int value ) { return Optional.ofNullable( m_ValueToName.get( Integer.valueOf( value ) ) ); }
+
+    /**
+     *  The former implementation of
+     *  {@link Entities#escape(CharSequence)}.
+     *
+     *  @param  str The {@code String} to escape.
+     *  @return The escaped {@code String}.
+     */
+    private final String legacyEscape( final CharSequence str )
+    {
+        final var retValue = str.codePoints()
+            .mapToObj( c -> legacyEntityName( c ).map( n -> format( "&%s;", n ) ).orElseGet( () -> c > 0x7F ? legacyFormatCodePoint( c ) : Character.toString( (char) c ) ) )
+            .collect( joining() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  legacyEscape()
+
+    /**
+     *  The former conversion of a code point into the numerical HTML escape
+     *  format.
+     *
+     *  @param  codePoint   The code point.
+     *  @return The HTML escaped code point.
+     */
+    private static String legacyFormatCodePoint( final int codePoint )
+    {
+        final var retValue = new StringBuilder();
+        for( final var c : Character.toChars( codePoint ) )
+        {
+            retValue.append( format( "&#x%X;", (int) c ) );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue.toString();
+    }   //  legacyFormatCodePoint()
+
+    /**
+     *  Escapes the source with the former implementation.
+     *
+     *  @return The escaped source.
+     */
+    @Benchmark
+    public final String escapeLegacy() { return legacyEscape( m_Source ); }
+
+    /**
+     *  Escapes the source with the table driven implementation.
+     *
+     *  @return The escaped source.
+     */
+    @Benchmark
+    public final String escapeTable() { return HTML50.escape( m_Source ); }
+}
+//  class EntitiesEscapeBenchmark
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,197 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal.foundation.util;
+
+import static java.lang.String.format;
+import static org.tquadrat.foundation.javadoc.internal.foundation.util.Entities.HTML50;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  Compares the single pass implementation of
+ *  {@link Entities#unescape(CharSequence)}
+ *  with the former implementation that searched for the next semicolon and
+ *  ampersand for each ampersand in the text.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: EntitiesUnescapeBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: EntitiesUnescapeBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+public class EntitiesUnescapeBenchmark
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The kind of the source text.
+     */
+    @Param( {"DENSE", "QUERY", "AMPERSANDS", "UNKNOWN"} )
+    public String m_Kind;
+
+    /**
+     *  The source text.
+     */
+    private String m_Source;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Creates the source text, roughly 64&nbsp;KB in size.
+     */
+    @Setup
+    public final void createSource()
+    {
+        final var builder = new StringBuilder( 0x10100 );
+        switch( m_Kind )
+        {
+            case "QUERY" ->
+            {
+                while( builder.length() < 0x10000 ) builder.append( "https://www.example.org/search?q=entities&lang=de&page=2&sort=asc&filter=none " );
+            }
+            case "AMPERSANDS" ->
+            {
+                //---* Many bare ampersands, with a single semicolon at the end *---
+                while( builder.length() < 0x10000 ) builder.append( "a && b & c " );
+                builder.append( ';' );
+            }
+            case "UNKNOWN" ->
+            {
+                while( builder.length() < 0x10000 ) builder.append( "&thisIsNotAKnownEntityButItIsQuiteLong; " );
+            }
+            default ->
+            {
+                while( builder.length() < 0x10000 ) builder.append( "&lt;p&gt;&quot;Gr&ouml;&szlig;e&quot; &amp; &#x1D49C;&#65;&nbsp;&eacute;&lt;/p&gt;" );
+            }
+        }
+        m_Source = builder.toString();
+    }   //  createSource()
+
+    /**
+     *  The former implementation of
+     *  {@link Entities#unescape(CharSequence)}.
+     *
+     *  @param  entities    The entities.
+     *  @param  str The {@code String} to unescape.
+     *  @return The unescaped {@code String}.
+     */
+    @SuppressWarnings( "MagicNumber" )
+    private static String legacyUnescape( final Entities entities, final String str )
+    {
+        final var firstAmp = str.indexOf( '&' );
+        if( firstAmp < 0 ) return str;
+
+        final var buffer = new StringBuilder( str.length() * 2 );
+        buffer.append( str, 0, firstAmp );
+        final var len = str.length();
+        ScanLoop: for( var i = firstAmp; i < len; ++i )
+        {
+            final var c = str.charAt( i );
+            if( c == '&' )
+            {
+                final var nextIndex = i + 1;
+                final var semiColonIndex = str.indexOf( ';', nextIndex );
+                if( semiColonIndex == -1 )
+                {
+                    buffer.append( c );
+                    continue ScanLoop;
+                }
+                final var ampersandIndex = str.indexOf( '&', i + 1 );
+                if( (ampersandIndex != -1) && (ampersandIndex < semiColonIndex) )
+                {
+                    buffer.append( c );
+                    continue ScanLoop;
+                }
+                final var entityContent = str.substring( nextIndex, semiColonIndex );
+                Optional<Integer> entityValue = Optional.empty();
+                if( !entityContent.isEmpty() )
+                {
+                    if( entityContent.charAt( 0 ) == '#' )
+                    {
+                        if( entityContent.length() > 1 )
+                        {
+                            try
+                            {
+                                final var value = switch( entityContent.charAt( 1 ) )
+                                {
+                                    case 'X', 'x' -> Integer.parseInt( entityContent.substring( 2 ), 0x10 );
+                                    default -> Integer.parseInt( entityContent.substring( 1 ), 10 );
+                                };
+                                entityValue = value > 0xFFFFFF ? Optional.empty() : Optional.of( Integer.valueOf( value ) );
+                            }
+                            catch( @SuppressWarnings( "unused" ) final NumberFormatException e )
+                            {
+                                entityValue = Optional.empty();
+                            }
+                        }
+                    }
+                    else
+                    {
+                        entityValue = entities.entityValue( entityContent );
+                    }
+                }
+                buffer.append( entityValue.map( v -> Character.toString( v.intValue() ) ).orElseGet( () -> format( "&%s;", entityContent ) ) );
+                //noinspection AssignmentToForLoopParameter
+                i = semiColonIndex;
+            }
+            else
+            {
+                buffer.append( c );
+            }
+        }   //  ScanLoop:
+
+        //---* Done *----------------------------------------------------------
+        return buffer.toString();
+    }   //  legacyUnescape()
+
+    /**
+     *  Unescapes the source with the former implementation.
+     *
+     *  @return The unescaped source.
+     */
+    @Benchmark
+    public final String unescapeLegacy() { return legacyUnescape( HTML50, m_Source ); }
+
+    /**
+     *  Unescapes the source with the single pass implementation.
+     *
+     *  @return The unescaped source.
+     */
+    @Benchmark
+    public final String unescapeSinglePass() { return HTML50.unescape( m_Source ); }
+}
+//  class EntitiesUnescapeBenchmark
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,155 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal.foundation.util;
+
+import static java.lang.String.format;
+import static org.tquadrat.foundation.javadoc.internal.foundation.util.Template.VARIABLE_PATTERN;
+import static org.tquadrat.foundation.javadoc.internal.foundation.util.Template.VARIABLE_TEMPLATE;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  Compares the hand-written scanner for variables in
+ *  {@link Template}
+ *  with the regular expression
+ *  {@link Template#VARIABLE_PATTERN}
+ *  that was used before.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TemplateScannerBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: TemplateScannerBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+public class TemplateScannerBenchmark
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The kind of the source text.
+     */
+    @Param( {"PATH", "PLAIN", "DENSE"} )
+    public String m_Kind;
+
+    /**
+     *  The source text.
+     */
+    private String m_Source;
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The pattern that was used before.
+     */
+    private static final Pattern m_VariablePattern = Pattern.compile( VARIABLE_PATTERN );
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Creates the source text.
+     */
+    @Setup
+    public final void createSource()
+    {
+        m_Source = switch( m_Kind )
+        {
+            case "PLAIN" -> "The quick brown fox jumps over the lazy dog, again and again; $ {no variable} here. ".repeat( 16 );
+            case "DENSE" -> "${a}${~home}${_}${x.y}${/root}${=value}${%percent}${:colon}${&amp}".repeat( 16 );
+            default -> "${org.tquadrat.foundation.javadoc.include.root}/src/main/java/org/tquadrat/Example.java";
+        };
+    }   //  createSource()
+
+    /**
+     *  Collects the variables with the regular expression.
+     *
+     *  @return The variables.
+     */
+    @Benchmark
+    public final Set<String> findVariablesPattern()
+    {
+        final Set<String> retValue = new HashSet<>();
+        final var matcher = m_VariablePattern.matcher( m_Source );
+        while( matcher.find() ) retValue.add( matcher.group( 1 ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findVariablesPattern()
+
+    /**
+     *  Collects the variables with the scanner.
+     *
+     *  @return The variables.
+     */
+    @Benchmark
+    public final Set<String> findVariablesScanner() { return Template.findVariables( m_Source ); }
+
+    /**
+     *  Checks for variables with the regular expression.
+     *
+     *  @return {@code true} if the source contains a variable.
+     */
+    @Benchmark
+    public final boolean hasVariablesPattern() { return m_VariablePattern.matcher( m_Source ).find(); }
+
+    /**
+     *  Checks for variables with the scanner.
+     *
+     *  @return {@code true} if the source contains a variable.
+     */
+    @Benchmark
+    public final boolean hasVariablesScanner() { return Template.hasVariables( m_Source ); }
+
+    /**
+     *  Validates a variable name with the regular expression.
+     *
+     *  @return {@code true} if the name is valid.
+     */
+    @Benchmark
+    public final boolean isValidVariableNamePattern() { return m_VariablePattern.matcher( format( VARIABLE_TEMPLATE, "~org.tquadrat.include.root" ) ).matches(); }
+
+    /**
+     *  Validates a variable name with the scanner.
+     *
+     *  @return {@code true} if the name is valid.
+     */
+    @Benchmark
+    public final boolean isValidVariableNameScanner() { return Template.isValidVariableName( "~org.tquadrat.include.root" ); }
+}
+//  class TemplateScannerBenchmark
+
+/*
+ *  End of File
+ */
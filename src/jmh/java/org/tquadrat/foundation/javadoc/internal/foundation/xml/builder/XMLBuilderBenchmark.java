@@ -0,0 +1,183 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder;
+
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLBuilderUtils.createXMLDocument;
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLBuilderUtils.createXMLElement;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  Measures the building and the serialisation of XML documents with the XML
+ *  builder. The serialisation of the elements, the attributes and the
+ *  namespaces does not use
+ *  {@link String#format(String, Object...)};
+ *  these benchmarks should reveal when that changes again.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: XMLBuilderBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: XMLBuilderBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class XMLBuilderBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The number of values that are appended to the {@code class} attribute:
+     *  {@value}.
+     */
+    private static final int CLASS_COUNT = 20;
+
+    /**
+     *  The separator for the values of the {@code class} attribute.
+     */
+    private static final Optional<String> CLASS_SEPARATOR = Optional.of( " " );
+
+    /**
+     *  The number of items per section: {@value}.
+     */
+    private static final int ITEM_COUNT = 20;
+
+    /**
+     *  The namespace for the items.
+     */
+    private static final URI ITEM_NAMESPACE = URI.create( "http://www.tquadrat.org/benchmark/item" );
+
+    /**
+     *  The number of sections: {@value}.
+     */
+    private static final int SECTION_COUNT = 50;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The document.
+     */
+    private XMLDocument m_Document;
+
+    /**
+     *  The length of the pretty printed document; it is used as the initial
+     *  capacity for the output buffer.
+     */
+    private int m_Length;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Appends
+     *  {@value #CLASS_COUNT}
+     *  values to the {@code class} attribute of a new element.
+     *
+     *  @return The element.
+     */
+    @Benchmark
+    public final XMLElement appendAttributeValues()
+    {
+        final var retValue = createXMLElement( "item" );
+        for( var i = 0; i < CLASS_COUNT; ++i )
+        {
+            retValue.setAttribute( "class", "class" + i, CLASS_SEPARATOR );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  appendAttributeValues()
+
+    /**
+     *  Builds the document.
+     *
+     *  @return The document.
+     */
+    @Benchmark
+    public final XMLDocument build()
+    {
+        final var root = createXMLElement( "root" )
+            .setNamespace( "item", ITEM_NAMESPACE );
+        for( var s = 0; s < SECTION_COUNT; ++s )
+        {
+            final var section = createXMLElement( "section", root )
+                .setAttribute( "id", "s" + s )
+                .setAttribute( "class", "section", CLASS_SEPARATOR )
+                .setAttribute( "class", s % 2 == 0 ? "even" : "odd", CLASS_SEPARATOR );
+            for( var i = 0; i < ITEM_COUNT; ++i )
+            {
+                createXMLElement( "item:entry", section, "Item " + i )
+                    .setAttribute( "index", i )
+                    .setAttribute( "weight", i * 0.5 )
+                    .setAttribute( "selected", i == 0 )
+                    .setAttribute( "class", "item", CLASS_SEPARATOR )
+                    .setAttribute( "class", "entry", CLASS_SEPARATOR );
+            }
+        }
+        final var retValue = createXMLDocument( root );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  build()
+
+    /**
+     *  Writes the document with pretty printing.
+     *
+     *  @return The output.
+     *  @throws IOException Should not happen.
+     */
+    @Benchmark
+    public final StringBuilder serialize() throws IOException
+    {
+        final var retValue = new StringBuilder( m_Length );
+        m_Document.writeTo( retValue, true );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  serialize()
+
+    /**
+     *  Creates the document for
+     *  {@link #serialize()}.
+     */
+    @Setup
+    public final void setup()
+    {
+        m_Document = build();
+        m_Length = m_Document.toString( true ).length();
+    }   //  setup()
+}
+//  class XMLBuilderBenchmark
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,158 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi;
+
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLBuilderUtils.createXMLDocument;
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLBuilderUtils.createXMLElement;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLDocument;
+
+/**
+ *  Compares the pretty printed output of a document with about 50,000
+ *  elements with the compact output of the same document. The difference is
+ *  the cost for the indentation; the fillers for that are taken from the
+ *  indentation cache in
+ *  {@link SGMLPrinter}.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: SGMLPrinterBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: SGMLPrinterBenchmark.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class SGMLPrinterBenchmark
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The number of groups per section: {@value}.
+     */
+    private static final int GROUP_COUNT = 10;
+
+    /**
+     *  The number of items per group: {@value}.
+     */
+    private static final int ITEM_COUNT = 9;
+
+    /**
+     *  The number of sections: {@value}.
+     */
+    private static final int SECTION_COUNT = 500;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The document.
+     */
+    private XMLDocument m_Document;
+
+    /**
+     *  The length of the pretty printed document; it is used as the initial
+     *  capacity for the output buffers.
+     */
+    private int m_Length;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Writes the document without pretty printing.
+     *
+     *  @return The output.
+     *  @throws IOException Should not happen.
+     */
+    @Benchmark
+    public final StringBuilder compact() throws IOException
+    {
+        final var retValue = new StringBuilder( m_Length );
+        m_Document.writeTo( retValue, false );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compact()
+
+    /**
+     *  Writes the document with pretty printing.
+     *
+     *  @return The output.
+     *  @throws IOException Should not happen.
+     */
+    @Benchmark
+    public final StringBuilder pretty() throws IOException
+    {
+        final var retValue = new StringBuilder( m_Length );
+        m_Document.writeTo( retValue, true );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  pretty()
+
+    /**
+     *  Creates the document, with
+     *  {@value #SECTION_COUNT}
+     *  sections of
+     *  {@value #GROUP_COUNT}
+     *  groups with
+     *  {@value #ITEM_COUNT}
+     *  items each.
+     */
+    @Setup
+    public final void setup()
+    {
+        final var root = createXMLElement( "root" );
+        for( var s = 0; s < SECTION_COUNT; ++s )
+        {
+            final var section = createXMLElement( "section", root )
+                .setAttribute( "id", "s" + s );
+            for( var g = 0; g < GROUP_COUNT; ++g )
+            {
+                final var group = createXMLElement( "group", section )
+                    .setAttribute( "id", "s" + s + "g" + g )
+                    .setAttribute( "class", "group" );
+                for( var i = 0; i < ITEM_COUNT; ++i )
+                {
+                    createXMLElement( "item", group, "Item " + i )
+                        .setAttribute( "index", i )
+                        .setAttribute( "class", "item" );
+                }
+            }
+        }
+        m_Document = createXMLDocument( root );
+        m_Length = m_Document.toString( true ).length();
+    }   //  setup()
+}
+//  class SGMLPrinterBenchmark
+
+/*
+ *  End of File
+ */
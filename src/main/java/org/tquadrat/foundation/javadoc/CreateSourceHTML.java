@@ -20,22 +20,32 @@ package org.tquadrat.foundation.javadoc;
 
 import static java.lang.String.format;
 import static java.lang.System.err;
+import static java.lang.System.nanoTime;
 import static java.lang.System.out;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.newBufferedWriter;
 import static org.apiguardian.api.API.Status.STABLE;
-import static org.tquadrat.foundation.javadoc.internal.Common.createLineNumberFormatString;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apiguardian.api.API;
-import org.tquadrat.foundation.javadoc.internal.ToolKit;
+import org.tquadrat.foundation.javadoc.internal.RenderManifest;
+import org.tquadrat.foundation.javadoc.internal.SourceRenderer;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ProgramClass;
 import org.tquadrat.foundation.javadoc.internal.foundation.exception.PrivateConstructorForStaticClassCalledError;
@@ -55,6 +65,24 @@ import org.tquadrat.foundation.javadoc.internal.foundation.exception.PrivateCons
  *  &quot;{@code MyClass.java}&quot; is written to
  *  &quot;{@code MyClass.java.html}&quot;.</p>
  *  <p>An already existing file will be overwritten without warning.</p>
+ *  <p>The input file is assumed to be encoded in UTF-8; the output file is
+ *  always written in UTF-8.</p>
+ *  <p>In batch mode, the program processes all files below a source root
+ *  whose names match a glob pattern ({@value #DEFAULT_INCLUDE_PATTERN} at
+ *  default), or the files from a list, concurrently; the output files are
+ *  written to an output root, with the same directory layout as below the
+ *  source root. The command line for the batch mode looks like this:</p>
+ *  <pre><code>{@value #ARG_BATCH} [{@value #ARG_INCREMENTAL}] [{@value #ARG_PARALLELISM}&lt;<i>n</i>&gt;] [{@value #ARG_INCLUDE}&lt;<i>glob</i>&gt;] [{@value #ARG_CHARSET}&lt;<i>name</i>&gt;] &lt;<i>SourceRoot</i>&gt; &lt;<i>OutputRoot</i>&gt; [&lt;<i>FileList</i>&gt;]</code></pre>
+ *  <p>The file list holds one path per line, relative to the source root;
+ *  if it is given, the include pattern is ignored.</p>
+ *  <p>A batch run stores a
+ *  {@linkplain RenderManifest manifest}
+ *  for the processed files in the output root. In incremental mode, files
+ *  that did not change since the last run are skipped, and output files for
+ *  source files that no longer exist are deleted.</p>
+ *  <p>All output files are written to a temporary file first that is then
+ *  moved to the final location; an interrupted run never leaves an
+ *  incomplete output file behind.</p>
  *  <p><b>Note:</b> The output file should be stored into a {@code doc-files}
  *  folder in the source tree of the project from where Javadoc will pick it up
  *  and amends it appropriately. This is similar to the handling of the HTML
@@ -70,6 +98,105 @@ import org.tquadrat.foundation.javadoc.internal.foundation.exception.PrivateCons
 @API( status = STABLE, since = "0.0.5")
 public final class CreateSourceHTML
 {
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The result of a batch run.
+     *
+     *  @param  fileCount   The number of processed files.
+     *  @param  skippedCount    The number of files that were skipped because
+     *      their output was up to date.
+     *  @param  failureCount    The number of files that could not be
+     *      processed.
+     *  @param  deletedCount    The number of orphaned output files that were
+     *      deleted.
+     *  @param  lineCount   The total number of lines in the processed files.
+     *  @param  duration    The time for the batch run.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: CreateSourceHTML.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: CreateSourceHTML.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = STABLE, since = "0.1.0" )
+    public record BatchResult( int fileCount, int skippedCount, int failureCount, int deletedCount, long lineCount, Duration duration )
+    {
+        /**
+         *  Returns the throughput in files per second.
+         *
+         *  @return The throughput.
+         */
+        public final double filesPerSecond()
+        {
+            final var nanos = duration.toNanos();
+            final var retValue = nanos > 0 ? fileCount * 1.0E9 / nanos : 0.0;
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  filesPerSecond()
+
+        /**
+         *  Returns the throughput in lines per second.
+         *
+         *  @return The throughput.
+         */
+        public final double linesPerSecond()
+        {
+            final var nanos = duration.toNanos();
+            final var retValue = nanos > 0 ? lineCount * 1.0E9 / nanos : 0.0;
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  linesPerSecond()
+    }
+    //  record BatchResult
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The command line argument that selects the batch mode: {@value}.
+     */
+    public static final String ARG_BATCH = "--batch";
+
+    /**
+     *  The prefix for the command line argument that sets the character set
+     *  of the input files: {@value}.
+     */
+    public static final String ARG_CHARSET = "--charset=";
+
+    /**
+     *  The command line argument that selects the incremental mode for a
+     *  batch run: {@value}.
+     */
+    public static final String ARG_INCREMENTAL = "--incremental";
+
+    /**
+     *  The prefix for the command line argument that sets the glob pattern
+     *  for the files to process in batch mode: {@value}.
+     */
+    public static final String ARG_INCLUDE = "--include=";
+
+    /**
+     *  The prefix for the command line argument that sets the number of
+     *  concurrent workers in batch mode: {@value}.
+     */
+    public static final String ARG_PARALLELISM = "--parallelism=";
+
+    /**
+     *  The default glob pattern for the files to process in batch mode:
+     *  {@value}.
+     */
+    public static final String DEFAULT_INCLUDE_PATTERN = "**.java";
+
+    /**
+     *  The version of the renderer: {@value}. It has to be changed whenever
+     *  the output for a given input changes, so that an incremental run will
+     *  not keep outdated output files.
+     */
+    public static final String RENDERER_VERSION = "1";
+
         /*--------------*\
     ====** Constructors **=====================================================
         \*--------------*/
@@ -81,9 +208,22 @@ public final class CreateSourceHTML
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
+    /**
+     *  Creates the key for the
+     *  {@linkplain RenderManifest manifest}
+     *  from the given relative path; the key uses the slash ('/') as the
+     *  separator on all platforms.
+     *
+     *  @param  relativePath    The path of the source file, relative to the
+     *      source root.
+     *  @return The key.
+     */
+    private static final String createManifestKey( final Path relativePath ) { return relativePath.toString().replace( File.separatorChar, '/' ); }
+
     /**
      *  This method generates a documentation extension file in HTML format
-     *  from the given source file.
+     *  from the given source file, assuming that the source file is encoded
+     *  in UTF-8.
      *
      *  @param  inputFile   The input file.
      *  @param  outputPath  The output path.
@@ -91,6 +231,24 @@ public final class CreateSourceHTML
      */
     public static final void execute( final File inputFile, final File outputPath ) throws IOException
     {
+        execute( inputFile, outputPath, UTF_8 );
+    }   //  execute()
+
+    /**
+     *  This method generates a documentation extension file in HTML format
+     *  from the given source file.
+     *
+     *  @param  inputFile   The input file.
+     *  @param  outputPath  The output path.
+     *  @param  charset The character set of the input file.
+     *  @throws IOException Reading or writing failed.
+     *
+     *  @since 0.1.0
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static final void execute( final File inputFile, final File outputPath, final Charset charset ) throws IOException
+    {
+        requireNonNullArgument( charset, "charset" );
         if ( !requireNonNullArgument( inputFile, "inputFile" ).exists() )
         {
             throw new FileNotFoundException( inputFile.getAbsolutePath() );
@@ -113,47 +271,182 @@ public final class CreateSourceHTML
         final var outputFile = new File( outputPath, fileName );
         out.printf( "Output File: %s\n", outputFile.getAbsolutePath() );
 
-        final List<String> lines = new ArrayList<>();
-        try( final var reader = new BufferedReader( new FileReader( inputFile ) ) )
+        render( inputFile.toPath(), outputFile.toPath(), charset );
+
+        out.println( "Done!" );
+    }   //  execute()
+
+    /**
+     *  Generates the documentation extension files for all files below the
+     *  given source root whose paths relative to the source root match the
+     *  given glob pattern.
+     *
+     *  @param  sourceRoot  The source root.
+     *  @param  includePattern  The glob pattern for the files to process.
+     *  @param  outputRoot  The output root.
+     *  @param  charset The character set of the input files.
+     *  @param  parallelism The number of concurrent workers.
+     *  @param  incremental {@code true} if files with an up-to-date output
+     *      should be skipped and orphaned output files should be deleted,
+     *      {@code false} if all files should be processed.
+     *  @return The result of the batch run.
+     *  @throws IOException The source root cannot be read.
+     *
+     *  @since 0.1.0
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static final BatchResult executeBatch( final Path sourceRoot, final String includePattern, final Path outputRoot, final Charset charset, final int parallelism, final boolean incremental ) throws IOException
+    {
+        if( !Files.isDirectory( requireNonNullArgument( sourceRoot, "sourceRoot" ) ) )
+        {
+            throw new FileNotFoundException( format( "'%s' is not a directory", sourceRoot.toAbsolutePath() ) );
+        }
+        final var matcher = sourceRoot.getFileSystem().getPathMatcher( "glob:" + requireNonNullArgument( includePattern, "includePattern" ) );
+
+        final List<Path> inputFiles;
+        try( final var paths = Files.walk( sourceRoot ) )
         {
-            reader.lines()
-                .map( ToolKit::escapeHTML )
-                .forEach( lines::add );
+            inputFiles = paths.filter( Files::isRegularFile )
+                .filter( path -> matcher.matches( sourceRoot.relativize( path ) ) )
+                .toList();
         }
+        final var retValue = executeBatch( sourceRoot, inputFiles, outputRoot, charset, parallelism, incremental );
 
-        final var lineNumberFormat = createLineNumberFormatString( lines.size() );
-        var lineNumber = 1;
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  executeBatch()
+
+    /**
+     *  Generates the documentation extension files for the given files. The
+     *  output files are written to the output root, with the same relative
+     *  path as the input file has to the source root.
+     *
+     *  @param  sourceRoot  The source root; relative paths in
+     *      {@code inputFiles} are resolved against it.
+     *  @param  inputFiles  The files to process; files that are not located
+     *      below the source root are not processed but reported as failed.
+     *  @param  outputRoot  The output root.
+     *  @param  charset The character set of the input files.
+     *  @param  parallelism The number of concurrent workers.
+     *  @param  incremental {@code true} if files with an up-to-date output
+     *      should be skipped and orphaned output files should be deleted,
+     *      {@code false} if all files should be processed.
+     *  @return The result of the batch run.
+     *  @throws IOException The output root cannot be created, or the
+     *      manifest cannot be read or written.
+     *
+     *  @since 0.1.0
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static final BatchResult executeBatch( final Path sourceRoot, final Collection<Path> inputFiles, final Path outputRoot, final Charset charset, final int parallelism, final boolean incremental ) throws IOException
+    {
+        requireNonNullArgument( sourceRoot, "sourceRoot" );
+        requireNonNullArgument( inputFiles, "inputFiles" );
+        requireNonNullArgument( charset, "charset" );
+        if( parallelism < 1 ) throw new IllegalArgumentException( format( "Invalid parallelism: %d", parallelism ) );
+        Files.createDirectories( requireNonNullArgument( outputRoot, "outputRoot" ) );
 
-        final var buffer = new StringBuilder(
-            """
-            <!DOCTYPE html>
-            <html>
-            <head>
-            <meta charset="UTF-8">
-            <title>Source Code</title>
-            </head>
-            <body>
-            <h1>Source Code</h1>
-            <p><div class="source-container"><pre>""" );
-        for( final var line : lines )
+        out.printf( "Source Root: %s\n", sourceRoot.toAbsolutePath() );
+        out.printf( "Output Root: %s\n", outputRoot.toAbsolutePath() );
+        out.printf( "Files      : %d, parallelism %d%s\n", inputFiles.size(), parallelism, incremental ? ", incremental" : "" );
+
+        final var manifest = RenderManifest.load( outputRoot, RENDERER_VERSION + "/" + charset.name() );
+        final List<String> keys = new ArrayList<>( inputFiles.size() );
+        final var failureCount = new AtomicInteger();
+        final var skippedCount = new AtomicInteger();
+        final var lineCount = new AtomicLong();
+        final List<Callable<Void>> tasks = new ArrayList<>( inputFiles.size() );
+        final var normalizedSourceRoot = sourceRoot.toAbsolutePath().normalize();
+        final var normalizedOutputRoot = outputRoot.toAbsolutePath().normalize();
+        for( final var file : inputFiles )
         {
-            buffer.append( format( lineNumberFormat, lineNumber++ ) )
-                .append( line )
-                .append( '\n' );
+            //---* Reject files that would escape the source or output root *-
+            final var inputFile = normalizedSourceRoot.resolve( file ).normalize();
+            if( !inputFile.startsWith( normalizedSourceRoot ) || inputFile.equals( normalizedSourceRoot ) )
+            {
+                failureCount.incrementAndGet();
+                err.printf( "%s: failed - not below the source root\n", file );
+                continue;
+            }
+            final var relativePath = normalizedSourceRoot.relativize( inputFile );
+            final var outputFile = normalizedOutputRoot.resolve( relativePath.toString() + ".html" ).normalize();
+            if( !outputFile.startsWith( normalizedOutputRoot ) )
+            {
+                failureCount.incrementAndGet();
+                err.printf( "%s: failed - not below the output root\n", file );
+                continue;
+            }
+            final var key = createManifestKey( relativePath );
+            keys.add( key );
+            tasks.add( () ->
+            {
+                final var start = nanoTime();
+                try
+                {
+                    final var previous = manifest.getPrevious( key );
+                    final var entry = RenderManifest.describe( inputFile, previous.orElse( null ) );
+                    if( incremental && previous.isPresent() && previous.get().hash().equals( entry.hash() ) && Files.isRegularFile( outputFile ) )
+                    {
+                        skippedCount.incrementAndGet();
+                    }
+                    else
+                    {
+                        final var lines = render( inputFile, outputFile, charset );
+                        lineCount.addAndGet( lines );
+                        out.printf( "%s: %d lines, %.2f ms\n", relativePath, lines, (nanoTime() - start) / 1.0E6 );
+                    }
+                    manifest.put( key, entry );
+                }
+                catch( final IOException e )
+                {
+                    manifest.remove( key );
+                    failureCount.incrementAndGet();
+                    err.printf( "%s: failed - %s\n", relativePath, e );
+                }
+                return null;
+            } );
         }
-        buffer.append(
-            """
-            </pre></div></p>
-            </body>
-            </html>""" );
 
-        try( final var writer = new FileWriter( outputFile ) )
+        final var start = nanoTime();
+        try( final var pool = new ForkJoinPool( parallelism ) )
+        {
+            for( final var future : pool.invokeAll( tasks ) ) future.get();
+        }
+        catch( final InterruptedException e )
         {
-            writer.append( buffer ).flush();
+            Thread.currentThread().interrupt();
+            throw new IOException( "Batch run interrupted", e );
+        }
+        catch( final ExecutionException e )
+        {
+            throw new IOException( "Batch run failed", e.getCause() );
         }
 
-        out.println( "Done!" );
-    }   //  execute()
+        //---* Remove the output for deleted source files *--------------------
+        var deletedCount = 0;
+        if( incremental )
+        {
+            for( final var orphan : manifest.findOrphans( keys, normalizedSourceRoot ) )
+            {
+                manifest.remove( orphan );
+                final var orphanedFile = normalizedOutputRoot.resolve( orphan + ".html" ).normalize();
+                if( orphanedFile.startsWith( normalizedOutputRoot ) && Files.deleteIfExists( orphanedFile ) )
+                {
+                    ++deletedCount;
+                    out.printf( "%s: deleted\n", orphan );
+                }
+            }
+        }
+        manifest.store();
+
+        final var processedCount = inputFiles.size() - failureCount.get() - skippedCount.get();
+        final var retValue = new BatchResult( processedCount, skippedCount.get(), failureCount.get(), deletedCount, lineCount.get(), Duration.ofNanos( nanoTime() - start ) );
+
+        out.printf( "Done! %d files (%d up to date, %d failed, %d deleted), %d lines in %d ms; %.1f files/s, %.0f lines/s\n", retValue.fileCount(), retValue.skippedCount(), retValue.failureCount(), retValue.deletedCount(), retValue.lineCount(), retValue.duration().toMillis(), retValue.filesPerSecond(), retValue.linesPerSecond() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  executeBatch()
 
     /**
      *  The program entry point.
@@ -165,14 +458,21 @@ public final class CreateSourceHTML
     {
         try
         {
-            if( args.length != 2 )
+            if( (args.length > 0) && ARG_BATCH.equals( args [0] ) )
             {
-                throw new IllegalArgumentException( format( "Usage: %s <InputFile> <OutputPath>", CreateSourceHTML.class.getSimpleName() ) );
+                runBatch( args );
             }
-            final var inputFile = new File( args [0] ).getCanonicalFile().getAbsoluteFile();
-            final var outputPath = new File( args [1] ).getCanonicalFile().getAbsoluteFile();
+            else
+            {
+                if( args.length != 2 )
+                {
+                    throw new IllegalArgumentException( format( "Usage: %1$s <InputFile> <OutputPath>\n       %1$s %2$s [%3$s] [%4$s<n>] [%5$s<glob>] [%6$s<name>] <SourceRoot> <OutputRoot> [<FileList>]", CreateSourceHTML.class.getSimpleName(), ARG_BATCH, ARG_INCREMENTAL, ARG_PARALLELISM, ARG_INCLUDE, ARG_CHARSET ) );
+                }
+                final var inputFile = new File( args [0] ).getCanonicalFile().getAbsoluteFile();
+                final var outputPath = new File( args [1] ).getCanonicalFile().getAbsoluteFile();
 
-            execute( inputFile, outputPath );
+                execute( inputFile, outputPath );
+            }
         }
         catch( final Throwable t )
         {
@@ -180,9 +480,133 @@ public final class CreateSourceHTML
             t.printStackTrace( err );
         }
     }   //  main()
+
+    /**
+     *  Renders the given input file to the given output file.
+     *
+     *  @param  inputFile   The input file.
+     *  @param  outputFile  The output file.
+     *  @param  charset The character set of the input file.
+     *  @return The number of lines in the input file.
+     *  @throws IOException Reading or writing failed.
+     */
+    private static final int render( final Path inputFile, final Path outputFile, final Charset charset ) throws IOException
+    {
+        final var lineCount = new int [1];
+        RenderManifest.writeAtomically( outputFile, temporaryFile -> lineCount [0] = writeHTML( inputFile, charset, temporaryFile ) );
+        final var retValue = lineCount [0];
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  render()
+
+    /**
+     *  Writes the HTML for the given input file to the given output file;
+     *  the lines of the input file are streamed to the output, one by one.
+     *
+     *  @param  inputFile   The input file.
+     *  @param  charset The character set of the input file.
+     *  @param  outputFile  The output file.
+     *  @return The number of lines in the input file.
+     *  @throws IOException Reading or writing failed.
+     */
+    private static final int writeHTML( final Path inputFile, final Charset charset, final Path outputFile ) throws IOException
+    {
+        final int retValue;
+        try( final var writer = newBufferedWriter( outputFile, UTF_8 ) )
+        {
+            writer.append(
+                """
+                <!DOCTYPE html>
+                <html>
+                <head>
+                <meta charset="UTF-8">
+                <title>Source Code</title>
+                </head>
+                <body>
+                <h1>Source Code</h1>
+                <p><div class="source-container"><pre>""" );
+            retValue = SourceRenderer.render( inputFile, charset, writer );
+            writer.append(
+                """
+                </pre></div></p>
+                </body>
+                </html>""" )
+                .flush();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  writeHTML()
+
+    /**
+     *  Evaluates the command line arguments for the batch mode and executes
+     *  the batch run.
+     *
+     *  @param  args    The command line arguments, starting with
+     *      {@value #ARG_BATCH}.
+     *  @throws IOException The batch run failed.
+     */
+    private static final void runBatch( final String... args ) throws IOException
+    {
+        var parallelism = Runtime.getRuntime().availableProcessors();
+        var includePattern = DEFAULT_INCLUDE_PATTERN;
+        var charset = UTF_8;
+        var incremental = false;
+        final List<String> arguments = new ArrayList<>();
+        for( var i = 1; i < args.length; ++i )
+        {
+            final var arg = args [i];
+            if( ARG_INCREMENTAL.equals( arg ) )
+            {
+                incremental = true;
+            }
+            else if( arg.startsWith( ARG_PARALLELISM ) )
+            {
+                parallelism = Integer.parseInt( arg.substring( ARG_PARALLELISM.length() ) );
+            }
+            else if( arg.startsWith( ARG_INCLUDE ) )
+            {
+                includePattern = arg.substring( ARG_INCLUDE.length() );
+            }
+            else if( arg.startsWith( ARG_CHARSET ) )
+            {
+                charset = Charset.forName( arg.substring( ARG_CHARSET.length() ) );
+            }
+            else
+            {
+                arguments.add( arg );
+            }
+        }
+        if( (arguments.size() < 2) || (arguments.size() > 3) )
+        {
+            throw new IllegalArgumentException( format( "Usage: %s %s [%s] [%s<n>] [%s<glob>] [%s<name>] <SourceRoot> <OutputRoot> [<FileList>]", CreateSourceHTML.class.getSimpleName(), ARG_BATCH, ARG_INCREMENTAL, ARG_PARALLELISM, ARG_INCLUDE, ARG_CHARSET ) );
+        }
+
+        final var sourceRoot = Path.of( arguments.get( 0 ) ).toRealPath();
+        final var outputRoot = Path.of( arguments.get( 1 ) ).toAbsolutePath().normalize();
+        final BatchResult result;
+        if( arguments.size() == 3 )
+        {
+            final List<Path> inputFiles;
+            try( final var lines = Files.lines( Path.of( arguments.get( 2 ) ), UTF_8 ) )
+            {
+                inputFiles = lines.map( String::trim )
+                    .filter( line -> !line.isEmpty() )
+                    .map( Path::of )
+                    .toList();
+            }
+            result = executeBatch( sourceRoot, inputFiles, outputRoot, charset, parallelism, incremental );
+        }
+        else
+        {
+            result = executeBatch( sourceRoot, includePattern, outputRoot, charset, parallelism, incremental );
+        }
+        if( result.failureCount() > 0 ) err.printf( "%d files could not be processed\n", result.failureCount() );
+    }   //  runBatch()
 }
 //  class CreateSourceHTML
 
 /*
  *  End of File
- */
\ No newline at end of file
+ */
@@ -19,9 +19,10 @@
 package org.tquadrat.foundation.javadoc;
 
 import static java.lang.String.format;
-import static java.lang.System.arraycopy;
 import static java.lang.System.out;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.nonNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.javadoc.internal.Common.SOURCE_PATH;
 import static org.tquadrat.foundation.javadoc.internal.Common.determineElementName;
@@ -32,15 +33,19 @@ import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmptyOrBlank
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.splitString;
 
 import javax.lang.model.element.Element;
+import javax.tools.FileObject;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.javadoc.internal.Common;
+import org.tquadrat.foundation.javadoc.internal.IncludeCache;
 import org.tquadrat.foundation.javadoc.internal.JavadocError;
 import org.tquadrat.foundation.javadoc.internal.OtherFileTagletBase;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
@@ -71,6 +76,11 @@ import com.sun.source.doctree.DocTree;
  *  <p>where the &lt;processMode&gt; can be omitted. If the given file does not
  *  exist or is empty, nothing will be included, and no error message will be
  *  issued.</p>
+ *  <p>The file is assumed to be encoded in UTF-8; another character set can
+ *  be given with a parameter
+ *  &quot;<code>{@value #PARAMETER_CHARSET}&lt;<i>name</i>&gt;</code>&quot;
+ *  after the process mode, like in
+ *  <code>{&#64;include Legacy.txt:PLAIN:charset=ISO-8859-1}</code>.</p>
  *  <p><b>Notes:</b></p>
  *  <ul>
  *      <li>If Maven is used, and the include file is not placed at the
@@ -109,6 +119,21 @@ public class IncludeTaglet extends OtherFileTagletBase
      */
     public static final String TAGLET_NAME = "include";
 
+    /**
+     *  The prefix for the parameter that specifies the character set of the
+     *  include file: {@value}.
+     */
+    public static final String PARAMETER_CHARSET = "charset=";
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The cache for the processed include files; it is shared by all
+     *  instances of this taglet.
+     */
+    private static final IncludeCache m_IncludeCache = new IncludeCache();
+
         /*--------------*\
     ====** Constructors **=====================================================
         \*--------------*/
@@ -124,6 +149,67 @@ public class IncludeTaglet extends OtherFileTagletBase
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
+    /**
+     *  Returns the canonical path for the given file, to be used as the key
+     *  for the
+     *  {@linkplain #getIncludeCache() include cache};
+     *  if that fails, the absolute path is returned.
+     *
+     *  @param  file    The file.
+     *  @return The canonical path.
+     */
+    private static final String canonicalPath( final File file )
+    {
+        String retValue;
+        try
+        {
+            retValue = file.getCanonicalPath();
+        }
+        catch( @SuppressWarnings( "unused" ) final IOException e )
+        {
+            retValue = file.getAbsolutePath();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  canonicalPath()
+
+    /**
+     *  Returns the cache for the processed include files, that is shared by
+     *  all instances of this taglet; the counters for hits and misses of the
+     *  cache can be retrieved from it.
+     *
+     *  @return The include cache.
+     */
+    @API( status = INTERNAL, since = "0.1.0" )
+    public static final IncludeCache getIncludeCache() { return m_IncludeCache; }
+
+    /**
+     *  Returns the size of the given file.
+     *
+     *  @param  file    The file.
+     *  @return The size of the file, or -1 if it cannot be determined.
+     */
+    private static final long sizeOf( final FileObject file )
+    {
+        var retValue = -1L;
+        final var uri = file.toUri();
+        if( "file".equalsIgnoreCase( uri.getScheme() ) )
+        {
+            try
+            {
+                retValue = Files.size( Path.of( uri ) );
+            }
+            catch( @SuppressWarnings( "unused" ) final IOException | IllegalArgumentException e )
+            {
+                retValue = -1L;
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  sizeOf()
+
     /**
      *  {@inheritDoc}
      */
@@ -141,6 +227,7 @@ public class IncludeTaglet extends OtherFileTagletBase
         final String fileName;
         final ProcessMode processMode;
         final String [] parameters;
+        var charset = UTF_8;
 
         switch( parts.length )
         {
@@ -156,14 +243,14 @@ public class IncludeTaglet extends OtherFileTagletBase
             case 1 ->
             {
                 //---* Just the file name *------------------------------------
-                fileName = new Template( parts[0].trim() ).replaceVariable( IncludeTaglet::rootPathRetriever );
+                fileName = Template.compile( parts[0].trim() ).replaceVariable( IncludeTaglet::rootPathRetriever );
                 processMode = DEFAULT;
                 parameters = EMPTY_String_ARRAY;
             }
             case 2 ->
             {
                 //---* A file name and the process mode *----------------------
-                fileName = new Template( parts[0].trim() ).replaceVariable( IncludeTaglet::rootPathRetriever );
+                fileName = Template.compile( parts[0].trim() ).replaceVariable( IncludeTaglet::rootPathRetriever );
                 ProcessMode p;
                 try
                 {
@@ -179,7 +266,7 @@ public class IncludeTaglet extends OtherFileTagletBase
             default ->
             {
                 //---* A file name and the process mode plus some parameters *-
-                fileName = new Template( parts[0].trim() ).replaceVariable( IncludeTaglet::rootPathRetriever );
+                fileName = Template.compile( parts[0].trim() ).replaceVariable( IncludeTaglet::rootPathRetriever );
                 ProcessMode p;
                 try
                 {
@@ -190,9 +277,28 @@ public class IncludeTaglet extends OtherFileTagletBase
                     p = DEFAULT;
                 }
                 processMode = p;
-                final var length = parts.length - 2;
-                parameters = new String[length];
-                arraycopy( parts, 2, parameters, 0, length );
+                final List<String> buffer = new ArrayList<>( parts.length - 2 );
+                for( var i = 2; i < parts.length; ++i )
+                {
+                    if( parts [i].trim().startsWith( PARAMETER_CHARSET ) )
+                    {
+                        final var charsetName = parts [i].trim().substring( PARAMETER_CHARSET.length() );
+                        try
+                        {
+                            charset = Charset.forName( charsetName );
+                        }
+                        catch( @SuppressWarnings( "unused" ) final IllegalArgumentException e )
+                        {
+                            final var elementName = determineElementName( element );
+                            out.printf( "Invalid charset '%2$s' for '%1$s', using %3$s%n", elementName, charsetName, UTF_8.name() );
+                        }
+                    }
+                    else
+                    {
+                        buffer.add( parts [i] );
+                    }
+                }
+                parameters = buffer.toArray( EMPTY_String_ARRAY );
             }
         }
 
@@ -207,18 +313,23 @@ public class IncludeTaglet extends OtherFileTagletBase
                     final var elementName = determineElementName( element );
                     out.printf( "Cannot locate the include file '%2$s' for '%1$s'%n", elementName, fileName );
                 }
-                //noinspection OverlyBroadCatchBlock
-                try( final Reader reader = new FileReader( file ) )
-                {
-                    //noinspection ConstantConditions
-                    retValue = processMode.processFile( fileName, reader, parameters );
-                }
-                catch( final IOException e )
+                final var fileCharset = charset;
+                //noinspection ConstantConditions
+                final var included = m_IncludeCache.get( canonicalPath( file ), file.lastModified(), file.length(), processMode, fileCharset, parameters, () ->
                 {
-                    //---* Should never happen *-------------------------------
-                    final var elementName = determineElementName( element );
-                    out.printf( "Failed to include the file '%2$s' for '%1$s'%n", elementName, fileName );
-                }
+                    String result = null;
+                    try
+                    {
+                        result = processMode.loadAndProcess( file.toPath(), fileCharset, parameters );
+                    }
+                    catch( final IOException e )
+                    {
+                        final var elementName = determineElementName( element );
+                        out.printf( "Failed to include the file '%2$s' for '%1$s'%n", elementName, fileName );
+                    }
+                    return result;
+                } );
+                if( nonNull( included ) ) retValue = included;
             }
             else if( !fileName.startsWith( "$" ) )
             {
@@ -228,8 +339,9 @@ public class IncludeTaglet extends OtherFileTagletBase
                     final var inputFile = getEnvironment().getJavaFileManager().getFileForInput( SOURCE_PATH, EMPTY_STRING, fileName );
                     if( nonNull( inputFile) )
                     {
+                        final var fileCharset = charset;
                         //noinspection ConstantConditions
-                        retValue = processMode.processFile( inputFile, parameters );
+                        retValue = m_IncludeCache.get( inputFile.toUri().toString(), inputFile.getLastModified(), sizeOf( inputFile ), processMode, fileCharset, parameters, () -> processMode.processFile( inputFile, fileCharset, parameters ) );
                     }
                     else
                     {
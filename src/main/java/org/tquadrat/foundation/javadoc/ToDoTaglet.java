@@ -17,12 +17,17 @@
 
 package org.tquadrat.foundation.javadoc;
 
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
 import static java.lang.System.out;
+import static java.util.Objects.checkFromIndexSize;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.javadoc.internal.Common.initHelperTaglets;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.DEFAULT_BUFFER_SIZE;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.EMPTY_STRING;
 
 import javax.lang.model.element.Element;
@@ -31,15 +36,15 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
-import java.util.StringJoiner;
 
 import org.apiguardian.api.API;
-import org.commonmark.parser.Parser;
-import org.commonmark.renderer.html.HtmlRenderer;
 import org.tquadrat.foundation.javadoc.internal.JavadocError;
+import org.tquadrat.foundation.javadoc.internal.MarkdownEngine;
+import org.tquadrat.foundation.javadoc.internal.MarkdownEngine.InputLimitExceededException;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
 import com.sun.source.doctree.DocTree;
 import jdk.javadoc.doclet.Doclet;
@@ -117,6 +122,114 @@ import jdk.javadoc.doclet.Taglet;
 @API( status = STABLE, since = "0.0.5" )
 public final class ToDoTaglet implements Taglet
 {
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  A reader that skips the comment lines of a todo file, that are the
+     *  lines starting with a hash sign ('#'). Each line that is passed is
+     *  terminated by a line feed.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: ToDoTaglet.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: ToDoTaglet.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    private static final class CommentSkippingReader extends Reader
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The current line, including the line feed; {@code null} after
+         *  the end of the input was reached.
+         */
+        private String m_Line = EMPTY_STRING;
+
+        /**
+         *  The position in the current line.
+         */
+        private int m_Position = 0;
+
+        /**
+         *  The wrapped reader.
+         */
+        private final BufferedReader m_Reader;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code CommentSkippingReader} instance.
+         *
+         *  @param  reader  The wrapped reader.
+         */
+        public CommentSkippingReader( final BufferedReader reader )
+        {
+            m_Reader = reader;
+        }   //  CommentSkippingReader()
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void close() throws IOException { m_Reader.close(); }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final int read( final char [] buffer, final int offset, final int length ) throws IOException
+        {
+            checkFromIndexSize( offset, length, buffer.length );
+
+            var retValue = 0;
+            if( length > 0 )
+            {
+                while( nonNull( m_Line ) && (m_Position >= m_Line.length()) )
+                {
+                    m_Line = readNextLine();
+                    m_Position = 0;
+                }
+                if( isNull( m_Line ) )
+                {
+                    retValue = -1;
+                }
+                else
+                {
+                    retValue = min( length, m_Line.length() - m_Position );
+                    m_Line.getChars( m_Position, m_Position + retValue, buffer, offset );
+                    m_Position += retValue;
+                }
+            }
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  read()
+
+        /**
+         *  Reads the next line that is not a comment.
+         *
+         *  @return The line, terminated by a line feed; {@code null} if the
+         *      end of the input was reached.
+         *  @throws IOException Reading failed.
+         */
+        private final String readNextLine() throws IOException
+        {
+            var line = m_Reader.readLine();
+            while( nonNull( line ) && line.startsWith( "#" ) ) line = m_Reader.readLine();
+            final var retValue = isNull( line ) ? null : line + "\n";
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  readNextLine()
+    }
+    //  class CommentSkippingReader
+
         /*-----------*\
     ====** Constants **========================================================
         \*-----------*/
@@ -200,23 +313,33 @@ public final class ToDoTaglet implements Taglet
      *  <p>{@summary Parses the given file as a Markdown files and adds the
      *  result to the provided
      *  {@link StringBuilder}.}</p>
+     *  <p>The comment lines are skipped while the file is read; the
+     *  remaining text is converted by the shared
+     *  {@linkplain MarkdownEngine#getPlain() plain}
+     *  {@link MarkdownEngine},
+     *  so a todo list that is referenced more than once is taken from the
+     *  cache of that engine.</p>
      *
      *  @param  file    The file with the todo list.
      *  @param  buffer  The destination for the output.
      */
     private static final void processFile( final File file, final StringBuilder buffer )
     {
-        final var fileContents = new StringJoiner( "\n" );
-        try( final var reader = new BufferedReader( new FileReader( file ) ) )
+        final var engine = MarkdownEngine.getPlain();
+        try( final var reader = new CommentSkippingReader( new BufferedReader( new FileReader( file ) ) ) )
         {
-            var line = EMPTY_STRING;
-            ReadLineLoop: while( nonNull( line = reader.readLine() ) )
+            //---* Read the input without the comments *-----------------------
+            final var contents = new StringBuilder( DEFAULT_BUFFER_SIZE );
+            final var chunk = new char [DEFAULT_BUFFER_SIZE];
+            int count;
+            while( (count = reader.read( chunk, 0, chunk.length )) >= 0 )
             {
-                //---* Skip comments *-------------------------------------
-                if( line.startsWith( "#" ) ) continue ReadLineLoop;
+                contents.append( chunk, 0, count );
+                if( contents.length() > engine.getInputLimit() ) throw new InputLimitExceededException( engine.getInputLimit() );
+            }
 
-                fileContents.add( line );
-            }   //  ReadLineLoop:
+            //---* Render it to HTML *-----------------------------------------
+            buffer.append( engine.render( contents ) );
         }
         catch( final FileNotFoundException e )
         {
@@ -227,16 +350,6 @@ public final class ToDoTaglet implements Taglet
         {
             throw new JavadocError( format( "Problems on processing '%s'", file.getAbsolutePath() ), e );
         }
-
-        //---* Get the Markdown Parser and Renderer *--------------------------
-        final var parser = Parser.builder()
-            .build();
-        final var renderer = HtmlRenderer.builder()
-            .build();
-
-        //---* Parse the input and render it to HTML *-------------------------
-        final var document = parser.parse( fileContents.toString() );
-        buffer.append( renderer.render( document ) );
     }   //  processFile()
 
     /**
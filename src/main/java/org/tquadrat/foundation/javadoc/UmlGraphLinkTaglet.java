@@ -549,7 +549,7 @@ public class UmlGraphLinkTaglet implements Taglet
             }
             try( final var outputStream = imageFile.openOutputStream() )
             {
-                outputStream.write( umlDocument.toString().getBytes( UTF_8 ) );
+                umlDocument.writeTo( outputStream, UTF_8 );
             }
             catch( final IOException e )
             {
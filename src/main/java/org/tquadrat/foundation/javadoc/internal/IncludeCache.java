@@ -0,0 +1,277 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+
+import java.io.Serial;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.OtherFileTagletBase.ProcessMode;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary A cache for the processed contents of include files.}</p>
+ *  <p>The key for an entry is the path of the file, its last modification
+ *  time and size, the
+ *  {@link ProcessMode},
+ *  the character set of the file and the parameters for the processing; if
+ *  the file changes, the entry will no longer be found. The cache holds a
+ *  limited number of entries; the least recently used entry will be removed
+ *  first.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: IncludeCache.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: IncludeCache.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.1.0" )
+public final class IncludeCache
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The key for a cache entry.
+     *
+     *  @param  path    The path of the file.
+     *  @param  lastModified    The time of the last modification of the file.
+     *  @param  size    The size of the file, or -1 if unknown.
+     *  @param  processMode The process mode.
+     *  @param  charset The character set of the file.
+     *  @param  params  The parameters for the processing.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: IncludeCache.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: IncludeCache.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    private record Key
+    (
+        String path,
+        long lastModified,
+        long size,
+        ProcessMode processMode,
+        Charset charset,
+        List<String> params
+    ) {}
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The default capacity for the cache: {@value}.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The cache entries.
+     */
+    private final Map<Key,String> m_Entries;
+
+    /**
+     *  The number of cache hits.
+     */
+    private final AtomicLong m_Hits = new AtomicLong();
+
+    /**
+     *  The number of cache misses.
+     */
+    private final AtomicLong m_Misses = new AtomicLong();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code IncludeCache} instance with the
+     *  {@linkplain #DEFAULT_CAPACITY default capacity}.
+     */
+    public IncludeCache() { this( DEFAULT_CAPACITY ); }
+
+    /**
+     *  Creates a new {@code IncludeCache} instance.
+     *
+     *  @param  capacity    The maximum number of entries.
+     */
+    public IncludeCache( final int capacity )
+    {
+        if( capacity < 1 ) throw new IllegalArgumentException( format( "Invalid capacity: %d", capacity ) );
+
+        m_Entries = new LinkedHashMap<>( capacity, 0.75f, true )
+        {
+            /**
+             *  The serial version UID for objects of this class: {@value}.
+             *
+             *  @hidden
+             */
+            @Serial
+            private static final long serialVersionUID = 1L;
+
+            /**
+             *  {@inheritDoc}
+             */
+            @Override
+            protected final boolean removeEldestEntry( final Map.Entry<Key,String> eldest )
+            {
+                return size() > capacity;
+            }   //  removeEldestEntry()
+        };
+    }   //  IncludeCache()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Removes all entries from the cache and resets the counters.
+     */
+    public final void clear()
+    {
+        synchronized( m_Entries )
+        {
+            m_Entries.clear();
+        }
+        m_Hits.set( 0 );
+        m_Misses.set( 0 );
+    }   //  clear()
+
+    /**
+     *  Returns the processed contents of the file with the given properties
+     *  from the cache; if it is not in the cache, it will be created by the
+     *  given loader and added to the cache.
+     *
+     *  @param  path    The path of the file.
+     *  @param  lastModified    The time of the last modification of the file.
+     *  @param  size    The size of the file, or -1 if unknown.
+     *  @param  processMode The process mode.
+     *  @param  charset The character set of the file.
+     *  @param  params  The parameters for the processing.
+     *  @param  loader  The loader for the processed contents; if it returns
+     *      {@code null}, nothing is added to the cache.
+     *  @return The processed contents; {@code null} if the loader returned
+     *      {@code null}.
+     */
+    public final String get
+    (
+        final String path,
+        final long lastModified,
+        final long size,
+        final ProcessMode processMode,
+        final Charset charset,
+        final String [] params,
+        final Supplier<String> loader
+    )
+    {
+        requireNonNullArgument( loader, "loader" );
+
+        final var key = new Key
+        (
+            requireNonNullArgument( path, "path" ),
+            lastModified,
+            size,
+            requireNonNullArgument( processMode, "processMode" ),
+            requireNonNullArgument( charset, "charset" ),
+            List.of( requireNonNullArgument( params, "params" ) )
+        );
+        String retValue;
+        synchronized( m_Entries )
+        {
+            retValue = m_Entries.get( key );
+        }
+        if( isNull( retValue ) )
+        {
+            m_Misses.incrementAndGet();
+            retValue = loader.get();
+            if( nonNull( retValue ) )
+            {
+                synchronized( m_Entries )
+                {
+                    m_Entries.put( key, retValue );
+                }
+            }
+        }
+        else
+        {
+            m_Hits.incrementAndGet();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  get()
+
+    /**
+     *  Returns the number of cache hits.
+     *
+     *  @return The number of hits.
+     */
+    public final long getHits() { return m_Hits.get(); }
+
+    /**
+     *  Returns the number of cache misses.
+     *
+     *  @return The number of misses.
+     */
+    public final long getMisses() { return m_Misses.get(); }
+
+    /**
+     *  Returns the current number of entries in the cache.
+     *
+     *  @return The number of entries.
+     */
+    public final int size()
+    {
+        final int retValue;
+        synchronized( m_Entries )
+        {
+            retValue = m_Entries.size();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  size()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final String toString()
+    {
+        final var retValue = format( "IncludeCache[entries=%d, hits=%d, misses=%d]", size(), getHits(), getMisses() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  toString()
+}
+//  class IncludeCache
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,152 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.lang.System.getProperties;
+import static java.util.Objects.isNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.OtherFileTagletBase.PROPERTY_INCLUDE_ROOT_PREFIX;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmptyOrBlank;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.UtilityClass;
+import org.tquadrat.foundation.javadoc.internal.foundation.exception.PrivateConstructorForStaticClassCalledError;
+
+/**
+ *  <p>{@summary The registry for the external roots of include files.}</p>
+ *  <p>The roots are defined by system properties whose names start with
+ *  {@value OtherFileTagletBase#PROPERTY_INCLUDE_ROOT_PREFIX}
+ *  followed by a dot ('.') and the name of the root. The registry takes a
+ *  snapshot of all these properties when a taglet is
+ *  {@linkplain OtherFileTagletBase#init(jdk.javadoc.doclet.DocletEnvironment, jdk.javadoc.doclet.Doclet) initialised}
+ *  (or on the first lookup, if that did not happen before), converts the
+ *  values into canonical paths and serves all lookups from that snapshot.</p>
+ *  <p>Changes to the system properties after the snapshot was taken will be
+ *  recognised only after a call to
+ *  {@link #refresh()}.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: IncludeRoots.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: IncludeRoots.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.1.0" )
+@UtilityClass
+public final class IncludeRoots
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The include roots, with the name of the root as the key and the
+     *  canonical path as the value; {@code null} until the first snapshot was
+     *  taken.
+     */
+    private static volatile Map<String,String> m_Roots = null;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  No instance allowed for this class.
+     */
+    private IncludeRoots() { throw new PrivateConstructorForStaticClassCalledError( IncludeRoots.class ); }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Converts the given path into its canonical form; if that fails, the
+     *  absolute path is returned.
+     *
+     *  @param  path    The path.
+     *  @return The canonical path.
+     */
+    private static final String canonicalPath( final String path )
+    {
+        final var file = new File( path );
+        String retValue;
+        try
+        {
+            retValue = file.getCanonicalPath();
+        }
+        catch( @SuppressWarnings( "unused" ) final IOException e )
+        {
+            retValue = file.getAbsolutePath();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  canonicalPath()
+
+    /**
+     *  Returns the canonical path for the include root with the given name.
+     *
+     *  @param  name    The name of the include root.
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the path.
+     */
+    public static final Optional<String> lookup( final String name )
+    {
+        var roots = m_Roots;
+        if( isNull( roots ) ) roots = refresh();
+        final var retValue = isNotEmptyOrBlank( name ) ? Optional.ofNullable( roots.get( name ) ) : Optional.<String>empty();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  lookup()
+
+    /**
+     *  Takes a new snapshot of the system properties that define include
+     *  roots. Long-running hosts for the doclet should call this method after
+     *  they changed these properties.
+     *
+     *  @return The include roots, with the name of the root as the key and
+     *      the canonical path as the value.
+     */
+    public static final Map<String,String> refresh()
+    {
+        final var prefix = PROPERTY_INCLUDE_ROOT_PREFIX + ".";
+        final Map<String,String> buffer = new HashMap<>();
+        for( final var name : getProperties().stringPropertyNames() )
+        {
+            if( name.startsWith( prefix ) && (name.length() > prefix.length()) )
+            {
+                buffer.put( name.substring( prefix.length() ), canonicalPath( getProperties().getProperty( name ) ) );
+            }
+        }
+        final var retValue = Map.copyOf( buffer );
+        m_Roots = retValue;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  refresh()
+}
+//  class IncludeRoots
+
+/*
+ *  End of File
+ */
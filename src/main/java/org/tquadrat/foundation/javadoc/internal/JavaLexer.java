@@ -0,0 +1,451 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.lang.Math.max;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+
+import java.util.Arrays;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.TokenStream.TokenKind;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.UtilityClass;
+import org.tquadrat.foundation.javadoc.internal.foundation.exception.PrivateConstructorForStaticClassCalledError;
+
+/**
+ *  <p>{@summary A simple lexer for Java source code, used for syntax
+ *  highlighting.}</p>
+ *  <p>The lexer recognises comments, String and character literals, text
+ *  blocks, numeric literals, annotations, the keywords and the literals
+ *  {@code true}, {@code false} and {@code null}; everything else is
+ *  skipped. It is not a complete Java lexer: Unicode escapes are not
+ *  translated, and the contextual keywords are only recognised as far as they
+ *  are unlikely to be used as names.</p>
+ *  <p>The text is scanned once, from the beginning to the end, without
+ *  backtracking and without regular expressions; the keywords are looked up
+ *  without creating a String for each identifier. The time for lexing is
+ *  therefore linear to the length of the text, and the only objects created
+ *  are the arrays for the resulting
+ *  {@link TokenStream}.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: JavaLexer.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: JavaLexer.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.1.0" )
+@UtilityClass
+public final class JavaLexer
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The keyword for the declaration of an annotation: {@value}.
+     */
+    private static final String ANNOTATION_DECLARATION = "@interface";
+
+    /**
+     *  The delimiter for a text block: {@value}.
+     */
+    private static final String TEXT_BLOCK_DELIMITER = "\"\"\"";
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The keywords, with the length of the keyword as the index.
+     */
+    private static final String [] [] KEYWORDS;
+
+    /**
+     *  The literals {@code true}, {@code false} and {@code null}, with the
+     *  length of the literal as the index.
+     */
+    private static final String [] [] LITERALS;
+
+    static
+    {
+        KEYWORDS = createLookupTable( "abstract", "assert", "boolean", "break",
+            "byte", "case", "catch", "char", "class", "const", "continue",
+            "default", "do", "double", "else", "enum", "extends", "final",
+            "finally", "float", "for", "goto", "if", "implements", "import",
+            "instanceof", "int", "interface", "long", "native", "new",
+            "package", "permits", "private", "protected", "public", "record",
+            "return", "sealed", "short", "static", "strictfp", "super",
+            "switch", "synchronized", "this", "throw", "throws", "transient",
+            "try", "var", "void", "volatile", "while", "yield" );
+        LITERALS = createLookupTable( "false", "null", "true" );
+    }
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  No instance allowed for this class.
+     */
+    private JavaLexer() { throw new PrivateConstructorForStaticClassCalledError( JavaLexer.class ); }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Creates a lookup table for the given words, with the length of the
+     *  word as the index.
+     *
+     *  @param  words   The words.
+     *  @return The lookup table.
+     */
+    private static final String [] [] createLookupTable( final String... words )
+    {
+        var maxLength = 0;
+        for( final var word : words ) maxLength = max( maxLength, word.length() );
+        final var retValue = new String [maxLength + 1] [0];
+        for( final var word : words )
+        {
+            final var bucket = Arrays.copyOf( retValue [word.length()], retValue [word.length()].length + 1 );
+            bucket [bucket.length - 1] = word;
+            retValue [word.length()] = bucket;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createLookupTable()
+
+    /**
+     *  Checks whether the given character can be part of a numeric literal:
+     *  an ASCII letter, an ASCII digit, the underscore or the decimal
+     *  point.
+     *
+     *  @param  c   The character.
+     *  @return {@code true} if the character is part of a numeric literal,
+     *      {@code false} otherwise.
+     */
+    private static final boolean isNumberPart( final char c )
+    {
+        final var retValue = ((c >= '0') && (c <= '9'))
+            || ((c >= 'a') && (c <= 'z'))
+            || ((c >= 'A') && (c <= 'Z'))
+            || (c == '_')
+            || (c == '.');
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isNumberPart()
+
+    /**
+     *  Checks whether the given range of the text is one of the words from
+     *  the given lookup table.
+     *
+     *  @param  table   The lookup table.
+     *  @param  text    The text.
+     *  @param  start   The start of the range.
+     *  @param  end The end of the range (exclusive).
+     *  @return {@code true} if the range holds one of the words,
+     *      {@code false} otherwise.
+     */
+    private static final boolean isOneOf( final String [] [] table, final String text, final int start, final int end )
+    {
+        final var length = end - start;
+        var retValue = false;
+        if( length < table.length )
+        {
+            LookupLoop: for( final var word : table [length] )
+            {
+                if( text.regionMatches( start, word, 0, length ) )
+                {
+                    retValue = true;
+                    break LookupLoop;
+                }
+            }   //  LookupLoop:
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isOneOf()
+
+    /**
+     *  Splits the given Java source text into tokens.
+     *
+     *  @param  text    The source text.
+     *  @return The tokens.
+     */
+    public static final TokenStream lex( final String text )
+    {
+        final var length = requireNonNullArgument( text, "text" ).length();
+
+        var capacity = max( 16, length / 16 );
+        var starts = new int [capacity];
+        var ends = new int [capacity];
+        var kinds = new byte [capacity];
+        var count = 0;
+
+        var position = 0;
+        ScanLoop: while( position < length )
+        {
+            final var c = text.charAt( position );
+            final var next = position + 1 < length ? text.charAt( position + 1 ) : '\0';
+            final var start = position;
+            final TokenKind kind;
+            if( (c == '/') && (next == '/') )
+            {
+                position = skipToEndOfLine( text, position + 2 );
+                kind = TokenKind.COMMENT;
+            }
+            else if( (c == '/') && (next == '*') )
+            {
+                final var end = text.indexOf( "*/", position + 2 );
+                position = end < 0 ? length : end + 2;
+                kind = TokenKind.COMMENT;
+            }
+            else if( text.startsWith( TEXT_BLOCK_DELIMITER, position ) )
+            {
+                position = skipTextBlock( text, position + TEXT_BLOCK_DELIMITER.length() );
+                kind = TokenKind.STRING;
+            }
+            else if( (c == '"') || (c == '\'') )
+            {
+                position = skipQuoted( text, position + 1, c );
+                kind = TokenKind.STRING;
+            }
+            else if( c == '@' )
+            {
+                if( text.startsWith( ANNOTATION_DECLARATION, position ) && (skipIdentifier( text, position + 1 ) == position + ANNOTATION_DECLARATION.length()) )
+                {
+                    position += ANNOTATION_DECLARATION.length();
+                    kind = TokenKind.KEYWORD;
+                }
+                else
+                {
+                    position = skipQualifiedName( text, position + 1 );
+                    if( position == start + 1 ) continue ScanLoop;
+                    kind = TokenKind.ANNOTATION;
+                }
+            }
+            else if( ((c >= '0') && (c <= '9')) || ((c == '.') && (next >= '0') && (next <= '9')) )
+            {
+                position = skipNumber( text, position );
+                kind = TokenKind.NUMBER;
+            }
+            else if( Character.isJavaIdentifierStart( text.codePointAt( position ) ) )
+            {
+                position = skipIdentifier( text, position );
+                if( isOneOf( KEYWORDS, text, start, position ) )
+                {
+                    kind = TokenKind.KEYWORD;
+                }
+                else if( isOneOf( LITERALS, text, start, position ) )
+                {
+                    kind = TokenKind.LITERAL;
+                }
+                else
+                {
+                    continue ScanLoop;
+                }
+            }
+            else
+            {
+                ++position;
+                continue ScanLoop;
+            }
+
+            //---* Add the token *---------------------------------------------
+            if( count == capacity )
+            {
+                capacity *= 2;
+                starts = Arrays.copyOf( starts, capacity );
+                ends = Arrays.copyOf( ends, capacity );
+                kinds = Arrays.copyOf( kinds, capacity );
+            }
+            starts [count] = start;
+            ends [count] = position;
+            kinds [count] = (byte) kind.ordinal();
+            ++count;
+        }   //  ScanLoop:
+
+        final var retValue = new TokenStream( text, count, starts, ends, kinds );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  lex()
+
+    /**
+     *  Skips an identifier.
+     *
+     *  @param  text    The text.
+     *  @param  position    The position of the first character of the
+     *      identifier.
+     *  @return The position after the identifier.
+     */
+    private static final int skipIdentifier( final String text, final int position )
+    {
+        final var length = text.length();
+        var retValue = position;
+        ScanLoop: while( retValue < length )
+        {
+            final var codePoint = text.codePointAt( retValue );
+            if( !Character.isJavaIdentifierPart( codePoint ) ) break ScanLoop;
+            retValue += Character.charCount( codePoint );
+        }   //  ScanLoop:
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  skipIdentifier()
+
+    /**
+     *  Skips a numeric literal, including the exponent and the type suffix.
+     *
+     *  @param  text    The text.
+     *  @param  position    The position of the first character of the
+     *      literal.
+     *  @return The position after the literal.
+     */
+    private static final int skipNumber( final String text, final int position )
+    {
+        final var length = text.length();
+        var retValue = position;
+        final var isHex = text.startsWith( "0x", position ) || text.startsWith( "0X", position );
+        if( isHex ) retValue += 2;
+        ScanLoop: while( retValue < length )
+        {
+            final var c = text.charAt( retValue );
+            if( !isNumberPart( c ) ) break ScanLoop;
+            ++retValue;
+            final var isExponent = isHex ? (c == 'p') || (c == 'P') : (c == 'e') || (c == 'E');
+            if( isExponent && (retValue < length) && ((text.charAt( retValue ) == '+') || (text.charAt( retValue ) == '-')) ) ++retValue;
+        }   //  ScanLoop:
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  skipNumber()
+
+    /**
+     *  Skips a qualified name, as used for an annotation.
+     *
+     *  @param  text    The text.
+     *  @param  position    The position of the first character of the name.
+     *  @return The position after the name; this is the given position if
+     *      there is no name.
+     */
+    private static final int skipQualifiedName( final String text, final int position )
+    {
+        final var length = text.length();
+        var retValue = position;
+        ScanLoop: while( (retValue < length) && Character.isJavaIdentifierStart( text.codePointAt( retValue ) ) )
+        {
+            retValue = skipIdentifier( text, retValue );
+            if( (retValue + 1 < length) && (text.charAt( retValue ) == '.') && Character.isJavaIdentifierStart( text.codePointAt( retValue + 1 ) ) )
+            {
+                ++retValue;
+            }
+            else
+            {
+                break ScanLoop;
+            }
+        }   //  ScanLoop:
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  skipQualifiedName()
+
+    /**
+     *  Skips a String or character literal. An unterminated literal ends
+     *  with the line.
+     *
+     *  @param  text    The text.
+     *  @param  position    The position after the opening quote.
+     *  @param  quote   The quote character.
+     *  @return The position after the closing quote.
+     */
+    private static final int skipQuoted( final String text, final int position, final char quote )
+    {
+        final var length = text.length();
+        var retValue = position;
+        ScanLoop: while( retValue < length )
+        {
+            final var c = text.charAt( retValue );
+            if( (c == '\n') || (c == '\r') ) break ScanLoop;
+            ++retValue;
+            if( c == quote ) break ScanLoop;
+            if( (c == '\\') && (retValue < length) && (text.charAt( retValue ) != '\n') && (text.charAt( retValue ) != '\r') ) ++retValue;
+        }   //  ScanLoop:
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  skipQuoted()
+
+    /**
+     *  Skips a text block.
+     *
+     *  @param  text    The text.
+     *  @param  position    The position after the opening delimiter.
+     *  @return The position after the closing delimiter, or the end of the
+     *      text if the text block is not terminated.
+     */
+    private static final int skipTextBlock( final String text, final int position )
+    {
+        final var length = text.length();
+        var retValue = length;
+        var current = position;
+        ScanLoop: while( current < length )
+        {
+            final var c = text.charAt( current );
+            if( c == '\\' )
+            {
+                current += 2;
+            }
+            else if( (c == '"') && text.startsWith( TEXT_BLOCK_DELIMITER, current ) )
+            {
+                retValue = current + TEXT_BLOCK_DELIMITER.length();
+                break ScanLoop;
+            }
+            else
+            {
+                ++current;
+            }
+        }   //  ScanLoop:
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  skipTextBlock()
+
+    /**
+     *  Skips to the end of the current line; the line terminator is not
+     *  skipped.
+     *
+     *  @param  text    The text.
+     *  @param  position    The current position.
+     *  @return The position of the line terminator, or the end of the text.
+     */
+    private static final int skipToEndOfLine( final String text, final int position )
+    {
+        final var length = text.length();
+        var retValue = position;
+        while( (retValue < length) && (text.charAt( retValue ) != '\n') && (text.charAt( retValue ) != '\r') ) ++retValue;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  skipToEndOfLine()
+}
+//  class JavaLexer
+
+/*
+ *  End of File
+ */
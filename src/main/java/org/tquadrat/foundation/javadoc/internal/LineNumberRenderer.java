@@ -0,0 +1,202 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.lang.String.format;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+
+import java.io.IOException;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.javadoc.internal.foundation.exception.ValidationException;
+
+/**
+ *  <p>{@summary Renders the line numbers for source code listings.}</p>
+ *  <p>The output is the same as that for the format String from
+ *  {@link Common#createLineNumberFormatString(int)},
+ *  but the markup and the zero padding are rendered in advance, and the
+ *  digits are written directly to the output; no
+ *  {@link String#format(String, Object...) String.format()}
+ *  is involved.</p>
+ *  <p>Instances of this class are immutable and thread-safe.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: LineNumberRenderer.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: LineNumberRenderer.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.1.0" )
+public final class LineNumberRenderer
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The markup in front of the line number: {@value}.
+     */
+    public static final String LINE_NUMBER_PREFIX = "<span class=\"source-line-no\">";
+
+    /**
+     *  The markup after the line number: {@value}.
+     */
+    public static final String LINE_NUMBER_SUFFIX = "</span>";
+
+    /**
+     *  The maximum number of digits for an {@code int}: {@value}.
+     */
+    private static final int MAX_DIGITS = 10;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The prefixes for the line numbers, with the index as the number of
+     *  digits of the line number; each prefix consists of the markup and the
+     *  zeros for the padding.
+     */
+    private final String [] m_Prefixes;
+
+    /**
+     *  The minimum number of digits for a line number.
+     */
+    private final int m_Width;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code LineNumberRenderer} instance.
+     *
+     *  @param  maxValue    The highest possible line number; it determines
+     *      the number of digits for all line numbers.
+     *  @throws ValidationException {@code maxValue} is negative.
+     */
+    public LineNumberRenderer( final int maxValue )
+    {
+        if( maxValue < 0 ) throw new ValidationException( format( "Invalid value: %d", maxValue ) );
+        m_Width = countDigits( maxValue );
+
+        m_Prefixes = new String [MAX_DIGITS + 1];
+        final var buffer = new StringBuilder( LINE_NUMBER_PREFIX.length() + m_Width ).append( LINE_NUMBER_PREFIX );
+        for( var digits = m_Width; digits > 0; --digits )
+        {
+            m_Prefixes [digits] = buffer.toString();
+            buffer.append( '0' );
+        }
+        for( var digits = m_Width + 1; digits <= MAX_DIGITS; ++digits )
+        {
+            m_Prefixes [digits] = LINE_NUMBER_PREFIX;
+        }
+    }   //  LineNumberRenderer()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Appends the markup for the given line number to the given
+     *  {@link Appendable}.
+     *
+     *  @param  <A> The type of the output target.
+     *  @param  appendable  The output target.
+     *  @param  lineNumber  The line number; may not be negative.
+     *  @return The output target.
+     *  @throws IOException Writing to the output target failed.
+     */
+    public final <A extends Appendable> A append( final A appendable, final int lineNumber ) throws IOException
+    {
+        assert lineNumber >= 0 : "lineNumber is negative";
+
+        final var digits = countDigits( lineNumber );
+        requireNonNullArgument( appendable, "appendable" ).append( m_Prefixes [digits] );
+        if( appendable instanceof final StringBuilder builder )
+        {
+            builder.append( lineNumber );
+        }
+        else
+        {
+            var value = lineNumber;
+            final var buffer = new char [digits];
+            for( var i = digits - 1; i >= 0; --i )
+            {
+                buffer [i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            for( final var c : buffer ) appendable.append( c );
+        }
+        appendable.append( LINE_NUMBER_SUFFIX );
+
+        //---* Done *----------------------------------------------------------
+        return appendable;
+    }   //  append()
+
+    /**
+     *  Appends the markup for the given line number to the given
+     *  {@link StringBuilder}.
+     *
+     *  @param  builder The output target.
+     *  @param  lineNumber  The line number; may not be negative.
+     *  @return The output target.
+     */
+    public final StringBuilder append( final StringBuilder builder, final int lineNumber )
+    {
+        assert lineNumber >= 0 : "lineNumber is negative";
+
+        requireNonNullArgument( builder, "builder" )
+            .append( m_Prefixes [countDigits( lineNumber )] )
+            .append( lineNumber )
+            .append( LINE_NUMBER_SUFFIX );
+
+        //---* Done *----------------------------------------------------------
+        return builder;
+    }   //  append()
+
+    /**
+     *  Returns the number of decimal digits for the given value; for 0, the
+     *  result is 1.
+     *
+     *  @param  value   The value; may not be negative.
+     *  @return The number of digits.
+     */
+    private static final int countDigits( final int value )
+    {
+        var retValue = 1;
+        var limit = 10L;
+        while( (value >= limit) && (retValue < MAX_DIGITS) )
+        {
+            ++retValue;
+            limit *= 10L;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  countDigits()
+
+    /**
+     *  Returns the minimum number of digits for a line number.
+     *
+     *  @return The number of digits.
+     */
+    public final int getWidth() { return m_Width; }
+}
+//  class LineNumberRenderer
+
+/*
+ *  End of File
+ */
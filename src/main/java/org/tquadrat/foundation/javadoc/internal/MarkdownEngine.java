@@ -0,0 +1,503 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Serial;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apiguardian.api.API;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary Converts Markdown to HTML.}</p>
+ *  <p>The Markdown
+ *  {@link Parser}
+ *  and the
+ *  {@link HtmlRenderer}
+ *  are immutable and thread-safe once they are built; an instance of this
+ *  class builds them only once, for the given set of
+ *  {@linkplain Extension extensions},
+ *  and uses them for all conversions.</p>
+ *  <p>The same Markdown fragment is often included into the documentation
+ *  for several packages or classes; therefore the rendered HTML is cached,
+ *  with the SHA-256 hash of the Markdown text as the key. The cache holds a
+ *  limited number of entries; the least recently used entry will be removed
+ *  first.</p>
+ *  <p>Large Markdown files should be
+ *  {@linkplain #render(Reader, Appendable) streamed}
+ *  instead: the input is parsed directly from a
+ *  {@link Reader},
+ *  and the HTML is written directly to the target, without holding the
+ *  Markdown text as a String. The size of the input is limited; if the
+ *  limit is exceeded, an
+ *  {@link InputLimitExceededException}
+ *  is thrown.</p>
+ *  <p>Instances of this class are thread-safe.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: MarkdownEngine.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: MarkdownEngine.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.1.0" )
+public final class MarkdownEngine
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The exception that is thrown when the Markdown input exceeds the
+     *  {@linkplain #getInputLimit() input limit}.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: MarkdownEngine.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: MarkdownEngine.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    public static final class InputLimitExceededException extends IOException
+    {
+            /*------------------------*\
+        ====** Static Initialisations **=======================================
+            \*------------------------*/
+        /**
+         *  The serial version UID for objects of this class: {@value}.
+         *
+         *  @hidden
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code InputLimitExceededException} instance.
+         *
+         *  @param  inputLimit  The input limit that was exceeded.
+         */
+        public InputLimitExceededException( final long inputLimit )
+        {
+            super( format( "The Markdown input exceeds the limit of %d characters", inputLimit ) );
+        }   //  InputLimitExceededException()
+    }
+    //  class InputLimitExceededException
+
+    /**
+     *  A reader that counts the characters read from the wrapped reader, and
+     *  that fails when the input limit is exceeded.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: MarkdownEngine.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: MarkdownEngine.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    private static final class LimitedReader extends FilterReader
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The number of characters read so far.
+         */
+        private long m_Count = 0;
+
+        /**
+         *  The input limit.
+         */
+        private final long m_InputLimit;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code LimitedReader} instance.
+         *
+         *  @param  in  The wrapped reader.
+         *  @param  inputLimit  The input limit.
+         */
+        public LimitedReader( final Reader in, final long inputLimit )
+        {
+            super( in );
+            m_InputLimit = inputLimit;
+        }   //  LimitedReader()
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  Adds the given number of characters to the count.
+         *
+         *  @param  count   The number of characters that were read; a
+         *      negative value indicates the end of the input.
+         *  @throws InputLimitExceededException The input limit was
+         *      exceeded.
+         */
+        private final void count( final long count ) throws InputLimitExceededException
+        {
+            if( count > 0 )
+            {
+                m_Count += count;
+                if( m_Count > m_InputLimit ) throw new InputLimitExceededException( m_InputLimit );
+            }
+        }   //  count()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final int read() throws IOException
+        {
+            final var retValue = super.read();
+            if( retValue >= 0 ) count( 1 );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  read()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final int read( final char [] buffer, final int offset, final int length ) throws IOException
+        {
+            final var retValue = super.read( buffer, offset, length );
+            count( retValue );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  read()
+    }
+    //  class LimitedReader
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The default capacity for the cache: {@value}.
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 128;
+
+    /**
+     *  The default limit for the size of the Markdown input that is
+     *  {@linkplain #render(Reader, Appendable) streamed},
+     *  in characters: {@value}.
+     */
+    public static final long DEFAULT_INPUT_LIMIT = 32L * 1024 * 1024;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The cache for the rendered HTML, with the hash of the Markdown text
+     *  as the key.
+     */
+    private final Map<String,String> m_Cache;
+
+    /**
+     *  The extensions.
+     */
+    private final List<Extension> m_Extensions;
+
+    /**
+     *  The number of cache hits.
+     */
+    private final AtomicLong m_Hits = new AtomicLong();
+
+    /**
+     *  The limit for the size of the Markdown input that is streamed.
+     */
+    private final long m_InputLimit;
+
+    /**
+     *  The number of cache misses.
+     */
+    private final AtomicLong m_Misses = new AtomicLong();
+
+    /**
+     *  The Markdown parser.
+     */
+    private final Parser m_Parser;
+
+    /**
+     *  The HTML renderer.
+     */
+    private final HtmlRenderer m_Renderer;
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The default engine, with support for tables.
+     */
+    private static final MarkdownEngine m_DefaultEngine = new MarkdownEngine( List.of( TablesExtension.create() ) );
+
+    /**
+     *  The engine without any extensions.
+     */
+    private static final MarkdownEngine m_PlainEngine = new MarkdownEngine( List.of() );
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code MarkdownEngine} instance, with a cache of the
+     *  {@linkplain #DEFAULT_CACHE_CAPACITY default capacity}
+     *  and the
+     *  {@linkplain #DEFAULT_INPUT_LIMIT default input limit}.
+     *
+     *  @param  extensions  The extensions for the parser and the renderer.
+     */
+    public MarkdownEngine( final Collection<? extends Extension> extensions )
+    {
+        this( extensions, DEFAULT_CACHE_CAPACITY );
+    }   //  MarkdownEngine()
+
+    /**
+     *  Creates a new {@code MarkdownEngine} instance, with the
+     *  {@linkplain #DEFAULT_INPUT_LIMIT default input limit}.
+     *
+     *  @param  extensions  The extensions for the parser and the renderer.
+     *  @param  cacheCapacity   The maximum number of entries in the cache.
+     */
+    public MarkdownEngine( final Collection<? extends Extension> extensions, final int cacheCapacity )
+    {
+        this( extensions, cacheCapacity, DEFAULT_INPUT_LIMIT );
+    }   //  MarkdownEngine()
+
+    /**
+     *  Creates a new {@code MarkdownEngine} instance.
+     *
+     *  @param  extensions  The extensions for the parser and the renderer.
+     *  @param  cacheCapacity   The maximum number of entries in the cache.
+     *  @param  inputLimit  The limit for the size of the Markdown input that
+     *      is streamed, in characters.
+     */
+    public MarkdownEngine( final Collection<? extends Extension> extensions, final int cacheCapacity, final long inputLimit )
+    {
+        if( cacheCapacity < 1 ) throw new IllegalArgumentException( format( "Invalid capacity: %d", cacheCapacity ) );
+        if( inputLimit < 1 ) throw new IllegalArgumentException( format( "Invalid input limit: %d", inputLimit ) );
+
+        m_InputLimit = inputLimit;
+        m_Extensions = List.copyOf( requireNonNullArgument( extensions, "extensions" ) );
+        m_Parser = Parser.builder()
+            .extensions( m_Extensions )
+            .build();
+        m_Renderer = HtmlRenderer.builder()
+            .extensions( m_Extensions )
+            .build();
+
+        m_Cache = new LinkedHashMap<>( cacheCapacity, 0.75f, true )
+        {
+            /**
+             *  The serial version UID for objects of this class: {@value}.
+             *
+             *  @hidden
+             */
+            @Serial
+            private static final long serialVersionUID = 1L;
+
+            /**
+             *  {@inheritDoc}
+             */
+            @Override
+            protected final boolean removeEldestEntry( final Map.Entry<String,String> eldest ) { return size() > cacheCapacity; }
+        };
+    }   //  MarkdownEngine()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Removes all entries from the cache and resets the counters.
+     */
+    public final void clearCache()
+    {
+        synchronized( m_Cache )
+        {
+            m_Cache.clear();
+        }
+        m_Hits.set( 0 );
+        m_Misses.set( 0 );
+    }   //  clearCache()
+
+    /**
+     *  Calculates the SHA-256 hash for the given text.
+     *
+     *  @param  text    The text.
+     *  @return The hash, as a hex String.
+     */
+    private static final String computeHash( final CharSequence text )
+    {
+        final MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "SHA-256" );
+        }
+        catch( final NoSuchAlgorithmException e )
+        {
+            throw new JavadocError( "SHA-256 not available", e );
+        }
+        final var retValue = HexFormat.of().formatHex( digest.digest( text.toString().getBytes( UTF_8 ) ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  computeHash()
+
+    /**
+     *  Returns the default engine; it supports tables as defined by GitHub
+     *  Flavoured Markdown.
+     *
+     *  @return The default engine.
+     */
+    public static final MarkdownEngine getDefault() { return m_DefaultEngine; }
+
+    /**
+     *  Returns the shared engine that does not use any extensions; it
+     *  supports CommonMark only.
+     *
+     *  @return The plain engine.
+     */
+    public static final MarkdownEngine getPlain() { return m_PlainEngine; }
+
+    /**
+     *  Returns the extensions that are used by this engine.
+     *
+     *  @return The extensions.
+     */
+    public final List<Extension> getExtensions() { return m_Extensions; }
+
+    /**
+     *  Returns the number of cache hits.
+     *
+     *  @return The number of hits.
+     */
+    public final long getHits() { return m_Hits.get(); }
+
+    /**
+     *  Returns the limit for the size of the Markdown input that is
+     *  streamed.
+     *
+     *  @return The input limit, in characters.
+     */
+    public final long getInputLimit() { return m_InputLimit; }
+
+    /**
+     *  Returns the number of cache misses.
+     *
+     *  @return The number of misses.
+     */
+    public final long getMisses() { return m_Misses.get(); }
+
+    /**
+     *  Converts the given Markdown text to HTML. If the same text was
+     *  converted before, the HTML is taken from the cache.
+     *
+     *  @param  markdown    The Markdown text.
+     *  @return The HTML.
+     */
+    public final String render( final CharSequence markdown )
+    {
+        final var key = computeHash( requireNonNullArgument( markdown, "markdown" ) );
+        String retValue;
+        synchronized( m_Cache )
+        {
+            retValue = m_Cache.get( key );
+        }
+        if( isNull( retValue ) )
+        {
+            m_Misses.incrementAndGet();
+            final var buffer = new StringBuilder( markdown.length() + markdown.length() / 2 );
+            m_Renderer.render( m_Parser.parse( markdown.toString() ), buffer );
+            retValue = buffer.toString();
+            synchronized( m_Cache )
+            {
+                m_Cache.put( key, retValue );
+            }
+        }
+        else
+        {
+            m_Hits.incrementAndGet();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  render()
+
+    /**
+     *  Parses the Markdown from the given reader and writes the HTML to the
+     *  given target. The result is not cached.
+     *
+     *  @param  markdown    The reader for the Markdown input; it will not be
+     *      closed.
+     *  @param  target  The target for the HTML.
+     *  @throws InputLimitExceededException The input exceeds the
+     *      {@linkplain #getInputLimit() input limit}.
+     *  @throws IOException Reading the input failed.
+     */
+    public final void render( final Reader markdown, final Appendable target ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+
+        final var document = m_Parser.parseReader( new LimitedReader( requireNonNullArgument( markdown, "markdown" ), m_InputLimit ) );
+        m_Renderer.render( document, target );
+    }   //  render()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final String toString()
+    {
+        final int size;
+        synchronized( m_Cache )
+        {
+            size = m_Cache.size();
+        }
+        final var retValue = format( "MarkdownEngine[extensions=%d, entries=%d, hits=%d, misses=%d]", m_Extensions.size(), size, getHits(), getMisses() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  toString()
+}
+//  class MarkdownEngine
+
+/*
+ *  End of File
+ */
@@ -18,35 +18,32 @@
 
 package org.tquadrat.foundation.javadoc.internal;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.String.format;
-import static java.lang.System.getProperty;
 import static java.lang.System.out;
-import static java.util.Objects.nonNull;
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toList;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.STABLE;
-import static org.tquadrat.foundation.javadoc.internal.Common.createLineNumberFormatString;
 import static org.tquadrat.foundation.javadoc.internal.Common.initHelperTaglets;
-import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmptyOrBlank;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.DEFAULT_BUFFER_SIZE;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.escapeHTML;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.loadToString;
 
 import javax.lang.model.element.Element;
 import javax.tools.FileObject;
-import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.ArrayList;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.apiguardian.api.API;
-import org.commonmark.Extension;
-import org.commonmark.ext.gfm.tables.TablesExtension;
-import org.commonmark.parser.Parser;
-import org.commonmark.renderer.html.HtmlRenderer;
+import org.tquadrat.foundation.javadoc.internal.SnippetIndex.Snippet;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
 import com.sun.source.doctree.DocTree;
 import jdk.javadoc.doclet.Doclet;
@@ -132,10 +129,10 @@ public abstract class OtherFileTagletBase implements Taglet
              *  {@inheritDoc}
              */
             @Override
-            public final String processFile( final String fileName, final Reader reader, final String... params )
+            public final String processContents( final String fileName, final String contents, final String... params )
             {
-                return ESCAPE.processFile( fileName, reader, params );
-            }   //  processFile()
+                return ESCAPE.processContents( fileName, contents, params );
+            }   //  processContents()
         },
 
         /**
@@ -149,23 +146,28 @@ public abstract class OtherFileTagletBase implements Taglet
              *  {@inheritDoc}
              */
             @Override
-            public final String processFile( final String fileName, final Reader reader, final String... params )
+            public final String processContents( final String fileName, final String contents, final String... params )
             {
-                final String retValue;
-                try( final var bufferedReader = new BufferedReader( reader ) )
+                final var buffer = new StringBuilder( max( contents.length(), DEFAULT_BUFFER_SIZE ) );
+                try
                 {
-                    retValue = bufferedReader.lines()
-                        .map( ToolKit::escapeHTML )
-                        .collect( joining( "<br>" ) );
+                    final var lines = contents.lines().iterator();
+                    while( lines.hasNext() )
+                    {
+                        escapeHTML( buffer, lines.next() );
+                        if( lines.hasNext() ) buffer.append( "<br>" );
+                    }
                 }
                 catch( final IOException e )
                 {
+                    //---* Should not happen for a StringBuilder *-------------
                     throw new JavadocError( format( MSG_ProcessingProblem, fileName ), e );
                 }
+                final var retValue = buffer.toString();
 
                 //---* Done *--------------------------------------------------
                 return retValue;
-            }   //  processFile()
+            }   //  processContents()
         },
 
         /**
@@ -173,39 +175,73 @@ public abstract class OtherFileTagletBase implements Taglet
          *  works means, it will be first parsed and then rendered to HTML that
          *  in turn is inserted as for
          *  {@link #PLAIN}.</p>
+         *  <p>The conversion is done by the
+         *  {@linkplain MarkdownEngine#getDefault() default}
+         *  {@link MarkdownEngine},
+         *  with support for tables. Files and readers are streamed through
+         *  the engine, without loading them into a String first; their size
+         *  is limited by the
+         *  {@linkplain MarkdownEngine#getInputLimit() input limit}
+         *  of the engine.</p>
          */
         @API( status = INTERNAL, since = "0.25.0" )
         MARKDOWN
         {
+            /**
+             *  {@inheritDoc}
+             */
+            @Override
+            public final String loadAndProcess( final Path file, final Charset charset, final String... params ) throws IOException
+            {
+                final var engine = MarkdownEngine.getDefault();
+
+                /*
+                 * The file size in bytes is only used for the initial buffer
+                 * size, that is capped at DEFAULT_BUFFER_SIZE; the input limit
+                 * is counted in characters, and it is enforced while the
+                 * engine reads the file.
+                 */
+                final var size = Files.size( file );
+                final var buffer = new StringBuilder( (int) min( size + size / 2, DEFAULT_BUFFER_SIZE ) );
+                try( final var reader = new InputStreamReader( Files.newInputStream( file ), charset ) )
+                {
+                    engine.render( reader, buffer );
+                }
+                final var retValue = buffer.toString();
+
+                //---* Done *--------------------------------------------------
+                return retValue;
+            }   //  loadAndProcess()
+
+            /**
+             *  {@inheritDoc}
+             */
+            @Override
+            public final String processContents( final String fileName, final String contents, final String... params )
+            {
+                //---* Convert the Markdown to HTML *--------------------------
+                final var retValue = MarkdownEngine.getDefault().render( contents );
+
+                //---* Done *--------------------------------------------------
+                return retValue;
+            }   //  processContents()
+
             /**
              *  {@inheritDoc}
              */
             @Override
             public final String processFile( final String fileName, final Reader reader, final String... params )
             {
-                final String retValue;
+                final var buffer = new StringBuilder( DEFAULT_BUFFER_SIZE );
                 try
                 {
-                    //---* Set up the Markdown conversion *--------------------
-                    final List<Extension> extensions = List.of( TablesExtension.create() );
-                    final var markdownParser = Parser.builder()
-                            .extensions( extensions )
-                            .build();
-                    final var htmlRenderer = HtmlRenderer.builder()
-                            .extensions( extensions )
-                            .build();
-
-                    //---* Parse the Markdown *--------------------------------
-                    final var markdown = loadToString( reader );
-                    final var document = markdownParser.parse( markdown );
-
-                    //---* Convert the Markdown to HTML *----------------------
-                    retValue = htmlRenderer.render( document );
+                    MarkdownEngine.getDefault().render( reader, buffer );
                 }
                 catch( final IOException e )
                 {
                     throw new JavadocError( format( MSG_ProcessingProblem, fileName ), e );
                 }
+                final var retValue = buffer.toString();
 
                 //---* Done *--------------------------------------------------
                 return retValue;
@@ -226,21 +262,11 @@ public abstract class OtherFileTagletBase implements Taglet
              *  {@inheritDoc}
              */
             @Override
-            public final String processFile( final String fileName, final Reader reader, final String... params )
+            public final String processContents( final String fileName, final String contents, final String... params )
             {
-                final String retValue;
-                try
-                {
-                    retValue = loadToString( reader );
-                }
-                catch( final IOException e )
-                {
-                    throw new JavadocError( format( MSG_ProcessingProblem, fileName ), e );
-                }
-
                 //---* Done *--------------------------------------------------
-                return retValue;
-            }   //  processFile()
+                return contents;
+            }   //  processContents()
         },
 
         /**
@@ -256,190 +282,152 @@ public abstract class OtherFileTagletBase implements Taglet
              *  {@inheritDoc}
              */
             @Override
-            public final String processFile( final String fileName, final Reader reader, final String... params )
+            public final String processContents( final String fileName, final String contents, final String... params )
             {
-                final List<String> lines;
-                try( final var bufferedReader = new BufferedReader( reader ) )
+                final var buffer = new StringBuilder( max( contents.length() + contents.length() / 2, DEFAULT_BUFFER_SIZE ) ).append( "<div class=\"source-container\"><pre>" );
+                try
                 {
-                    lines = bufferedReader.lines()
-                        .map( ToolKit::escapeHTML )
-                        .toList();
+                    SourceRenderer.render( contents, buffer );
                 }
                 catch( final IOException e )
                 {
+                    //---* Should not happen for a StringBuilder *-------------
                     throw new JavadocError( format( MSG_ProcessingProblem, fileName ), e );
                 }
 
-                final var lineNumberFormat = createLineNumberFormatString( lines.size() );
-
-                var lineNumber = 1;
-                final var buffer = new StringBuilder( "<div class=\"source-container\"><pre>" );
-                for( final var line : lines )
-                {
-                    buffer.append( format( lineNumberFormat, lineNumber++ ) )
-                        .append( line )
-                        .append( '\n' );
-                }
-
                 final var retValue = buffer.append( "</pre></div>" ).toString();
 
                 //---* Done *--------------------------------------------------
                 return retValue;
-            }   //  processFile()
+            }   //  processContents()
         },
 
         /**
-         *  <p>{@summary The file contents is source code of some kind.} It will
-         *  be treated as for
+         *  <p>{@summary The file contents is Java source code; it will be
+         *  treated as for
          *  {@link #SOURCE},
-         *  but only the lines between a line starting with
-         *  {@value #SOURCE_SNIP_START}
-         *  and another one beginning with
-         *  {@value #SOURCE_SNIP_END}
-         *  or the end of the file.</p>
-         *  <p>The line numbers are as for the full file.</p>
-         *  <p>Additionally, a snippet can be selected by its index if there
-         *  are more than one snippet marked in the source file.</p>
+         *  but with syntax highlighting.} Keywords, literals, comments and
+         *  annotations are wrapped into {@code <span>} elements with the CSS
+         *  classes {@code source-keyword}, {@code source-literal},
+         *  {@code source-number}, {@code source-string},
+         *  {@code source-comment} and {@code source-annotation}.</p>
+         *  <p>If a parameter is given, only the selected snippet is rendered,
+         *  as for
+         *  {@link #SOURCE_SNIPPET}.</p>
+         *  <p>The source is split into tokens by the
+         *  {@link JavaLexer};
+         *  the resulting
+         *  {@link TokenStream}
+         *  is cached, so that several snippets from the same file are taken
+         *  from a single pass of the lexer.</p>
          */
-        @API( status = INTERNAL, since = "0.0.5" )
-        SOURCE_SNIPPET
+        @API( status = INTERNAL, since = "0.1.0" )
+        SOURCE_HIGHLIGHTED
         {
             /**
-             *  Returns all snippets.
-             *
-             *  @param  buffer  The output buffer.
-             *  @param  lines   The lines of the file.
-             *  @param  lineNumberFormat    The line number format String.
-             */
-            private final void allSnippets( final StringBuilder buffer, final Iterable<String> lines, final String lineNumberFormat )
-            {
-                var lineNumber = 1;
-                var includeLine = false;
-                AppendLoop:for( final var line : lines )
-                {
-                    if( line.startsWith( SOURCE_SNIP_START ) )
-                    {
-                        includeLine = true;
-                        if( lineNumber > 1 ) buffer.append( "&hellip;\n" );
-                        continue AppendLoop;
-                    }
-                    if( line.startsWith( SOURCE_SNIP_END ) )
-                    {
-                        includeLine = false;
-                        buffer.append( "&hellip;\n" );
-                        continue AppendLoop;
-                    }
-                    if( includeLine )
-                    {
-                        buffer.append( format( lineNumberFormat, lineNumber ) )
-                            .append( line )
-                            .append( '\n' );
-                    }
-                    ++lineNumber;
-                }   //  AppendLoop:
-            }   //  allSnippets()
-
-            /**
-             *  Returns one single snippet, identified by the index.
-             *
-             *  @param  buffer  The output buffer.
-             *  @param  lines   The lines of the file.
-             *  @param  lineNumberFormat    The line number format String.
-             *  @param  index   The number of the snippet, with 1 for the first
-             *      snippet.
+             *  {@inheritDoc}
              */
-            private final void oneSnippet( final StringBuilder buffer, final Iterable<String> lines, final String lineNumberFormat, final int index )
+            @Override
+            public final String processContents( final String fileName, final String contents, final String... params )
             {
-                var lineNumber = 1;
-                final List<StringBuilder> snippets = new ArrayList<>();
-                StringBuilder localBuffer = null;
-                AppendLoop:for( final var line : lines )
+                final var tokens = TokenStream.of( fileName, contents );
+                final String retValue;
+                if( params.length == 0 )
                 {
-                    if( line.startsWith( SOURCE_SNIP_START ) )
-                    {
-                        localBuffer = new StringBuilder();
-                        snippets.add( localBuffer );
-                        if( lineNumber > 1 ) localBuffer.append( "&hellip;\n" );
-                        continue AppendLoop;
-                    }
-                    if( line.startsWith( SOURCE_SNIP_END ) )
+                    final var buffer = new StringBuilder( max( contents.length() * 2, DEFAULT_BUFFER_SIZE ) ).append( "<div class=\"source-container\"><pre>" );
+                    try
                     {
-                        if( nonNull( localBuffer ) )
-                        {
-                            localBuffer.append( "&hellip;\n" );
-                            //noinspection AssignmentToNull
-                            localBuffer = null;
-                        }
-                        continue AppendLoop;
+                        SourceRenderer.render( tokens, buffer );
                     }
-                    if( nonNull( localBuffer ) )
+                    catch( final IOException e )
                     {
-                        localBuffer.append( format( lineNumberFormat, lineNumber ) )
-                            .append( line )
-                            .append( '\n' );
+                        //---* Should not happen for a StringBuilder *---------
+                        throw new JavadocError( format( MSG_ProcessingProblem, fileName ), e );
                     }
-                    ++lineNumber;
-                }   //  AppendLoop:
-
-                if( index - 1 <= snippets.size() )
-                {
-                    buffer.append( snippets.get( index - 1 ) );
+                    retValue = buffer.append( "</pre></div>" ).toString();
                 }
                 else
                 {
-                    out.printf( "Cannot include snippet %d, only %d defined\n", index, snippets.size() );
+                    retValue = renderSnippets( fileName, contents, tokens, params );
                 }
-            }   //  oneSnippet()
 
+                //---* Done *--------------------------------------------------
+                return retValue;
+            }   //  processContents()
+        },
+
+        /**
+         *  <p>{@summary The file contents is source code of some kind.} It will
+         *  be treated as for
+         *  {@link #SOURCE},
+         *  but only the lines between a line starting with
+         *  {@value #SOURCE_SNIP_START}
+         *  and another one beginning with
+         *  {@value #SOURCE_SNIP_END}
+         *  or the end of the file.</p>
+         *  <p>The line numbers are as for the full file.</p>
+         *  <p>Additionally, a snippet can be selected by its index if there
+         *  are more than one snippet marked in the source file. A snippet
+         *  that starts with a line beginning with
+         *  {@value #SOURCE_SNIP_START_NAMED}&lt;<i>name</i>&gt;&#42;/
+         *  can be selected by that name, too.</p>
+         *  <p>The snippets of a file are located through a
+         *  {@link SnippetIndex}
+         *  that is built only once per file.</p>
+         */
+        @API( status = INTERNAL, since = "0.0.5" )
+        SOURCE_SNIPPET
+        {
             /**
              *  {@inheritDoc}
              */
             @Override
-            public final String processFile( final String fileName, final Reader reader, final String... params )
+            public final String processContents( final String fileName, final String contents, final String... params )
             {
-                final List<String> lines;
-                try( final var bufferedReader = new BufferedReader( reader ) )
-                {
-                    lines = bufferedReader.lines()
-                        .map( ToolKit::escapeHTML )
-                        .collect( toList() );
-                }
-                catch( final IOException e )
-                {
-                    throw new JavadocError( format( MSG_ProcessingProblem, fileName ), e );
-                }
-
-                final var lineNumberFormat = createLineNumberFormatString( lines.size() );
-
-                final var buffer = new StringBuilder( "<div class=\"source-container\"><pre>" );
-                if( params.length == 0 )
-                {
-                    allSnippets( buffer, lines, lineNumberFormat );
-                }
-                else
-                {
-                    try
-                    {
-                        final var index = Integer.parseInt( params [0] );
-                        oneSnippet( buffer, lines, lineNumberFormat, index );
-                    }
-                    catch( @SuppressWarnings( "unused" ) final NumberFormatException e )
-                    {
-                        out.printf( "Invalid value for snippet index: %s\n", params [0] );
-                        allSnippets( buffer, lines, lineNumberFormat );
-                    }
-                }
-
-                final var retValue = buffer.append( "</pre></div>" ).toString();
-
-                //---* Done *--------------------------------------------------
-                return retValue;
-            }   //  processFile()
+                return renderSnippets( fileName, contents, null, params );
+            }   //  processContents()
         };
 
             /*---------*\
         ====** Methods **======================================================
             \*---------*/
+        /**
+         *  Loads the given file and processes its contents. The file is read
+         *  through NIO and decoded with the given character set; refer to
+         *  {@link ToolKit#loadToString(Path, Charset)}.
+         *  Some process modes may read the file differently.
+         *
+         *  @param  file    The file to process.
+         *  @param  charset The character set of the file.
+         *  @param  params  Optional parameters for the processing.
+         *  @return  The processed file contents.
+         *  @throws IOException Reading the file failed.
+         *
+         *  @since 0.1.0
+         */
+        @API( status = INTERNAL, since ="0.1.0" )
+        public String loadAndProcess( final Path file, final Charset charset, final String ... params ) throws IOException
+        {
+            final var retValue = processContents( file.toString(), loadToString( file, charset ), params );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  loadAndProcess()
+
+        /**
+         *  Processes the given file contents.
+         *
+         *  @param  fileName    The name of the file to process; used for error
+         *      messages only.
+         *  @param  contents    The contents of the file to process.
+         *  @param  params  Optional parameters for the processing.
+         *  @return  The processed file contents.
+         *
+         *  @since 0.1.0
+         */
+        @API( status = INTERNAL, since ="0.1.0" )
+        public abstract String processContents( final String fileName, final String contents, String ... params );
+
         /**
          *  Processes the given file.
          *
@@ -452,30 +440,160 @@ public abstract class OtherFileTagletBase implements Taglet
          *  @since 0.1.0
          */
         @API( status = INTERNAL, since ="0.1.0" )
-        public abstract String processFile( final String fileName, final Reader reader, String ... params );
+        public String processFile( final String fileName, final Reader reader, final String ... params )
+        {
+            final String contents;
+            try
+            {
+                contents = loadToString( reader );
+            }
+            catch( final IOException e )
+            {
+                throw new JavadocError( format( MSG_ProcessingProblem, fileName ), e );
+            }
+            final var retValue = processContents( fileName, contents, params );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  processFile()
 
         /**
-         *  Processes the given file.
+         *  Processes the given file, as described for
+         *  {@link #loadAndProcess(Path, Charset, String...)}.
          *
          *  @param  file    The file to process.
+         *  @param  charset The character set of the file.
          *  @param  params  Optional parameters for the processing.
          *  @return  The processed file contents.
+         *
+         *  @since 0.1.0
          */
-        public final String processFile( final FileObject file, final String ... params )
+        @API( status = INTERNAL, since ="0.1.0" )
+        public final String processFile( final Path file, final Charset charset, final String ... params )
         {
             final String retValue;
-            try( final var reader = file.openReader( true ) )
+            try
             {
-                retValue = processFile( file.getName(), reader, params );
+                retValue = loadAndProcess( file, charset, params );
             }
             catch( final IOException e )
             {
-                throw new JavadocError( format( "Cannot open Reader on file '%s'", file.getName() ), e );
+                throw new JavadocError( format( MSG_ProcessingProblem, file ), e );
             }
 
             //---* Done *------------------------------------------------------
             return retValue;
         }   //  processFile()
+
+        /**
+         *  Processes the given file, assuming that it is encoded in UTF-8.
+         *
+         *  @param  file    The file to process.
+         *  @param  params  Optional parameters for the processing.
+         *  @return  The processed file contents.
+         */
+        public final String processFile( final FileObject file, final String ... params )
+        {
+            return processFile( file, UTF_8, params );
+        }   //  processFile()
+
+        /**
+         *  Processes the given file. If the file is located on the default
+         *  file system, it will be read as described for
+         *  {@link #processFile(Path, Charset, String...)};
+         *  otherwise the contents are retrieved from the
+         *  {@link FileObject}
+         *  itself, and the given character set is ignored.
+         *
+         *  @param  file    The file to process.
+         *  @param  charset The character set of the file.
+         *  @param  params  Optional parameters for the processing.
+         *  @return  The processed file contents.
+         *
+         *  @since 0.1.0
+         */
+        @API( status = INTERNAL, since ="0.1.0" )
+        public final String processFile( final FileObject file, final Charset charset, final String ... params )
+        {
+            final String retValue;
+            final var uri = file.toUri();
+            if( "file".equalsIgnoreCase( uri.getScheme() ) )
+            {
+                retValue = processFile( Path.of( uri ), charset, params );
+            }
+            else
+            {
+                try
+                {
+                    retValue = processContents( file.getName(), file.getCharContent( true ).toString(), params );
+                }
+                catch( final IOException e )
+                {
+                    throw new JavadocError( format( "Cannot read file '%s'", file.getName() ), e );
+                }
+            }
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  processFile()
+
+        /**
+         *  Renders the snippets from the given file contents, as described
+         *  for
+         *  {@link #SOURCE_SNIPPET}.
+         *
+         *  @param  fileName    The name of the file; used for error messages
+         *      only.
+         *  @param  contents    The contents of the file.
+         *  @param  tokens  The tokens for the contents, used for syntax
+         *      highlighting; if {@code null}, the lines are just escaped.
+         *  @param  params  The parameters; the first one selects the snippet
+         *      by its index or its name.
+         *  @return The rendered snippets.
+         */
+        private static final String renderSnippets( final String fileName, final String contents, final TokenStream tokens, final String... params )
+        {
+            final var index = SnippetIndex.of( fileName, contents );
+            final var buffer = new StringBuilder( DEFAULT_BUFFER_SIZE ).append( "<div class=\"source-container\"><pre>" );
+            try
+            {
+                if( params.length == 0 )
+                {
+                    index.renderAll( buffer, tokens );
+                }
+                else
+                {
+                    final var selector = params [0].trim();
+                    Optional<Snippet> snippet;
+                    try
+                    {
+                        final var number = Integer.parseInt( selector );
+                        snippet = index.findSnippet( number );
+                        if( snippet.isEmpty() ) out.printf( "Cannot include snippet %d, only %d defined\n", number, index.getSnippetCount() );
+                    }
+                    catch( @SuppressWarnings( "unused" ) final NumberFormatException e )
+                    {
+                        snippet = index.findSnippet( selector );
+                        if( snippet.isEmpty() )
+                        {
+                            out.printf( "Invalid value for snippet index or name: %s\n", selector );
+                            index.renderAll( buffer, tokens );
+                        }
+                    }
+                    if( snippet.isPresent() ) index.renderSnippet( buffer, snippet.get(), tokens );
+                }
+            }
+            catch( final IOException e )
+            {
+                //---* Should not happen for a StringBuilder *-----------------
+                throw new JavadocError( format( MSG_ProcessingProblem, fileName ), e );
+            }
+
+            final var retValue = buffer.append( "</pre></div>" ).toString();
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  renderSnippets()
     }
     //  enum ProcessMode
 
@@ -509,6 +627,14 @@ public abstract class OtherFileTagletBase implements Taglet
     @SuppressWarnings( "UnnecessaryUnicodeEscape" )
     public static final String SOURCE_SNIP_START = "/\u002ASNIP_START\u002A/";
 
+    /**
+     *  The start marker for a named snippet in source code: {@value}; it is
+     *  followed by the name of the snippet and the end of the comment.
+     */
+    @SuppressWarnings( "UnnecessaryUnicodeEscape" )
+    @API( status = STABLE, since = "0.1.0" )
+    public static final String SOURCE_SNIP_START_NAMED = "/\u002ASNIP_START:";
+
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
@@ -607,6 +733,7 @@ public abstract class OtherFileTagletBase implements Taglet
         m_Doclet = doclet;
         m_DocletEnvironment = docletEnvironment;
         initHelperTaglets( docletEnvironment, doclet );
+        IncludeRoots.refresh();
     }   //  init()
 
     /**
@@ -616,29 +743,21 @@ public abstract class OtherFileTagletBase implements Taglet
     public  final boolean isInlineTag() { return m_IsInlineTag; }
 
     /**
-     *  Looks up the system properties for a root path for include files with
-     *  the given name (the full name would be the prefix
+     *  Looks up the root path for include files with the given name (the
+     *  full name of the system property that defines the root would be the
+     *  prefix
      *  {@value #PROPERTY_INCLUDE_ROOT_PREFIX}
-     *  appended by the argument, separated by a '.').
+     *  appended by the argument, separated by a '.').<br>
+     *  <br>The system properties are read only when a taglet is initialised;
+     *  see
+     *  {@link IncludeRoots}.
      *
      *  @param  variable    The name of the root path.
      *  @return An instance of
      *      {@link Optional}
-     *      that holds the path.
+     *      that holds the canonical path.
      */
-    protected static final Optional<String> rootPathRetriever( final String variable )
-    {
-        Optional<String> retValue = Optional.empty();
-        if( isNotEmptyOrBlank( variable ) )
-        {
-            final var key = format( "%s.%s", PROPERTY_INCLUDE_ROOT_PREFIX, variable );
-            final var fileName = getProperty( key );
-            if( nonNull( fileName ) ) retValue = Optional.of( new File( fileName ).getAbsolutePath() );
-        }
-
-        //---* Done *----------------------------------------------------------
-        return retValue;
-    }   //  rootPathRetriever()
+    protected static final Optional<String> rootPathRetriever( final String variable ) { return IncludeRoots.lookup( variable ); }
 
     /**
      *  {@inheritDoc}
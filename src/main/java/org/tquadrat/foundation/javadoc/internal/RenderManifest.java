@@ -0,0 +1,378 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.nonNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyArgument;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary The manifest for the output files that were generated from a
+ *  tree of source files.}</p>
+ *  <p>For each source file, the manifest records the time of its last
+ *  modification, its size and the SHA-256 hash of its contents, with the
+ *  path of the source file relative to the source root as the key. The
+ *  manifest is stored in the file
+ *  {@value #MANIFEST_FILE_NAME}
+ *  in the output root, together with a version String; if that version does
+ *  not match the current one (because the renderer has changed), the stored
+ *  manifest is ignored.</p>
+ *  <p>The manifest is thread-safe.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: RenderManifest.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: RenderManifest.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.1.0" )
+public final class RenderManifest
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The manifest entry for a source file.
+     *
+     *  @param  lastModified    The time of the last modification of the
+     *      source file, in milliseconds.
+     *  @param  size    The size of the source file.
+     *  @param  hash    The SHA-256 hash for the contents of the source file,
+     *      as a hex String.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: RenderManifest.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: RenderManifest.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    public record Entry( long lastModified, long size, String hash ) {}
+
+    /**
+     *  The function that writes the contents for
+     *  {@link RenderManifest#writeAtomically(Path, FileWriterFunction)}.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: RenderManifest.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @FunctionalInterface
+    @ClassVersion( sourceVersion = "$Id: RenderManifest.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    public interface FileWriterFunction
+    {
+        /**
+         *  Writes the contents to the given file.
+         *
+         *  @param  file    The file.
+         *  @throws IOException Writing failed.
+         */
+        public void write( final Path file ) throws IOException;
+    }
+    //  interface FileWriterFunction
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name of the manifest file: {@value}.
+     */
+    public static final String MANIFEST_FILE_NAME = ".source-html.manifest";
+
+    /**
+     *  The prefix for the version line in the manifest file: {@value}.
+     */
+    private static final String VERSION_PREFIX = "version=";
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The entries.
+     */
+    private final Map<String,Entry> m_Entries = new ConcurrentHashMap<>();
+
+    /**
+     *  The keys of the entries that were removed.
+     */
+    private final Set<String> m_RemovedKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     *  The location of the manifest file.
+     */
+    private final Path m_ManifestFile;
+
+    /**
+     *  The entries that were loaded from the manifest file.
+     */
+    private final Map<String,Entry> m_PreviousEntries;
+
+    /**
+     *  The version.
+     */
+    private final String m_Version;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code RenderManifest} instance.
+     *
+     *  @param  manifestFile    The location of the manifest file.
+     *  @param  version The version.
+     *  @param  previousEntries The entries that were loaded from the manifest
+     *      file.
+     */
+    private RenderManifest( final Path manifestFile, final String version, final Map<String,Entry> previousEntries )
+    {
+        m_ManifestFile = manifestFile;
+        m_Version = version;
+        m_PreviousEntries = Map.copyOf( previousEntries );
+    }   //  RenderManifest()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Computes the manifest entry for the given source file. If the time of
+     *  the last modification and the size did not change against the given
+     *  previous entry, the hash is taken from that entry; otherwise it will
+     *  be calculated from the file contents.
+     *
+     *  @param  sourceFile  The source file.
+     *  @param  previous    The previous entry; may be {@code null}.
+     *  @return The new entry.
+     *  @throws IOException Reading the file failed.
+     */
+    public static final Entry describe( final Path sourceFile, final Entry previous ) throws IOException
+    {
+        final var lastModified = Files.getLastModifiedTime( requireNonNullArgument( sourceFile, "sourceFile" ) ).toMillis();
+        final var size = Files.size( sourceFile );
+        final Entry retValue;
+        if( nonNull( previous ) && (previous.lastModified() == lastModified) && (previous.size() == size) )
+        {
+            retValue = previous;
+        }
+        else
+        {
+            final MessageDigest digest;
+            try
+            {
+                digest = MessageDigest.getInstance( "SHA-256" );
+            }
+            catch( final NoSuchAlgorithmException e )
+            {
+                throw new JavadocError( "SHA-256 not available", e );
+            }
+            retValue = new Entry( lastModified, size, HexFormat.of().formatHex( digest.digest( Files.readAllBytes( sourceFile ) ) ) );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  describe()
+
+    /**
+     *  Returns the keys of the entries from the loaded manifest file whose
+     *  source file does no longer exist. Entries for the source files that
+     *  were processed by the current run, and entries with a key that would
+     *  point outside of the source root, are never orphaned.
+     *
+     *  @param  keys    The keys for the source files of the current run.
+     *  @param  sourceRoot  The source root.
+     *  @return The keys for the orphaned entries.
+     */
+    public final List<String> findOrphans( final Collection<String> keys, final Path sourceRoot )
+    {
+        final var current = Set.copyOf( requireNonNullArgument( keys, "keys" ) );
+        final var root = requireNonNullArgument( sourceRoot, "sourceRoot" ).toAbsolutePath().normalize();
+        final List<String> retValue = new ArrayList<>();
+        for( final var key : m_PreviousEntries.keySet() )
+        {
+            if( current.contains( key ) ) continue;
+            final var sourceFile = root.resolve( key ).normalize();
+            if( sourceFile.startsWith( root ) && !Files.exists( sourceFile ) ) retValue.add( key );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findOrphans()
+
+    /**
+     *  Returns the entry for the given source file from the manifest file
+     *  that was loaded.
+     *
+     *  @param  key The path of the source file, relative to the source root.
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the entry.
+     */
+    public final Optional<Entry> getPrevious( final String key ) { return Optional.ofNullable( m_PreviousEntries.get( key ) ); }
+
+    /**
+     *  Loads the manifest from the given output root. If there is no manifest
+     *  file, or if its version does not match the given one, the new manifest
+     *  will be empty.
+     *
+     *  @param  outputRoot  The output root.
+     *  @param  version The current version.
+     *  @return The manifest.
+     *  @throws IOException Reading the manifest file failed.
+     */
+    public static final RenderManifest load( final Path outputRoot, final String version ) throws IOException
+    {
+        requireNotEmptyArgument( version, "version" );
+        final var manifestFile = requireNonNullArgument( outputRoot, "outputRoot" ).resolve( MANIFEST_FILE_NAME );
+
+        final Map<String,Entry> entries = new TreeMap<>();
+        if( Files.isRegularFile( manifestFile ) )
+        {
+            final var lines = Files.readAllLines( manifestFile, UTF_8 );
+            if( !lines.isEmpty() && lines.getFirst().equals( VERSION_PREFIX + version ) )
+            {
+                ParseLoop: for( final var line : lines.subList( 1, lines.size() ) )
+                {
+                    final var fields = line.split( "\t", 4 );
+                    if( fields.length != 4 ) continue ParseLoop;
+                    try
+                    {
+                        entries.put( fields [3], new Entry( Long.parseLong( fields [0] ), Long.parseLong( fields [1] ), fields [2] ) );
+                    }
+                    catch( @SuppressWarnings( "unused" ) final NumberFormatException e )
+                    {
+                        continue ParseLoop;
+                    }
+                }   //  ParseLoop:
+            }
+        }
+        final var retValue = new RenderManifest( manifestFile, version, entries );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  load()
+
+    /**
+     *  Records the entry for the given source file.
+     *
+     *  @param  key The path of the source file, relative to the source root.
+     *  @param  entry   The entry.
+     */
+    public final void put( final String key, final Entry entry )
+    {
+        m_Entries.put( requireNonNullArgument( key, "key" ), requireNonNullArgument( entry, "entry" ) );
+        m_RemovedKeys.remove( key );
+    }   //  put()
+
+    /**
+     *  Removes the entry for the given source file; neither a recorded entry
+     *  nor the entry from the loaded manifest file will be stored.
+     *
+     *  @param  key The path of the source file, relative to the source root.
+     */
+    public final void remove( final String key )
+    {
+        m_RemovedKeys.add( requireNonNullArgument( key, "key" ) );
+        m_Entries.remove( key );
+    }   //  remove()
+
+    /**
+     *  Stores the recorded entries to the manifest file, together with those
+     *  entries from the loaded manifest file that were neither recorded again
+     *  nor removed; this keeps the entries for the source files that were
+     *  not part of the current run. The file is written atomically.
+     *
+     *  @throws IOException Writing the manifest file failed.
+     */
+    public final void store() throws IOException
+    {
+        final var buffer = new StringBuilder( ToolKit.DEFAULT_BUFFER_SIZE )
+            .append( VERSION_PREFIX )
+            .append( m_Version )
+            .append( '\n' );
+        final Map<String,Entry> entries = new TreeMap<>( m_PreviousEntries );
+        entries.keySet().removeAll( m_RemovedKeys );
+        entries.putAll( m_Entries );
+        for( final var entry : entries.entrySet() )
+        {
+            final var value = entry.getValue();
+            buffer.append( format( "%d\t%d\t%s\t%s\n", value.lastModified(), value.size(), value.hash(), entry.getKey() ) );
+        }
+        writeAtomically( m_ManifestFile, file -> Files.writeString( file, buffer, UTF_8 ) );
+    }   //  store()
+
+    /**
+     *  Writes the given file, first to a temporary file in the same
+     *  directory and then moving that over the target: the target file will
+     *  either hold the old or the new contents, but never a part of the new
+     *  contents only.
+     *
+     *  @param  target  The target file.
+     *  @param  writer  Writes the contents to the given temporary file.
+     *  @throws IOException Writing the file failed.
+     */
+    public static final void writeAtomically( final Path target, final FileWriterFunction writer ) throws IOException
+    {
+        requireNonNullArgument( writer, "writer" );
+        final var directory = requireNonNullArgument( target, "target" ).toAbsolutePath().getParent();
+        Files.createDirectories( directory );
+        final var temporaryFile = Files.createTempFile( directory, "." + target.getFileName().toString(), ".tmp" );
+        try
+        {
+            writer.write( temporaryFile );
+            try
+            {
+                Files.move( temporaryFile, target, ATOMIC_MOVE, REPLACE_EXISTING );
+            }
+            catch( @SuppressWarnings( "unused" ) final AtomicMoveNotSupportedException e )
+            {
+                Files.move( temporaryFile, target, REPLACE_EXISTING );
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists( temporaryFile );
+        }
+    }   //  writeAtomically()
+}
+//  class RenderManifest
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,481 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.OtherFileTagletBase.SOURCE_SNIP_END;
+import static org.tquadrat.foundation.javadoc.internal.OtherFileTagletBase.SOURCE_SNIP_START;
+import static org.tquadrat.foundation.javadoc.internal.OtherFileTagletBase.SOURCE_SNIP_START_NAMED;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.escapeHTML;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmptyOrBlank;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary The index for the snippets in a source file.}</p>
+ *  <p>A snippet starts with a line beginning with
+ *  {@value OtherFileTagletBase#SOURCE_SNIP_START},
+ *  or with
+ *  {@value OtherFileTagletBase#SOURCE_SNIP_START_NAMED}&lt;<i>name</i>&gt;&#42;/
+ *  for a named snippet, and it ends with a line beginning with
+ *  {@value OtherFileTagletBase#SOURCE_SNIP_END},
+ *  with the start of the next snippet or with the end of the file.</p>
+ *  <p>The index is built once in a single pass over the lines of the file;
+ *  it holds the line ranges for the snippets, so that a snippet can be
+ *  rendered without touching the other lines. The lines are escaped only
+ *  when they are rendered; alternatively, they can be rendered with syntax
+ *  highlighting, based on the
+ *  {@link TokenStream}
+ *  for the same contents.</p>
+ *  <p>The indexes for the most recently used files are kept in a cache; refer
+ *  to
+ *  {@link #of(String, String)}.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: SnippetIndex.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: SnippetIndex.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.1.0" )
+public final class SnippetIndex
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The location of a snippet in the source file.
+     *
+     *  @param  name    The name of the snippet; {@code null} for an unnamed
+     *      snippet.
+     *  @param  firstLine   The index of the first line of the snippet, after
+     *      the start marker.
+     *  @param  endLine The index of the line after the last line of the
+     *      snippet; this is either a marker line or the end of the file.
+     *  @param  isClosed    {@code true} if the snippet is terminated by an
+     *      end marker, {@code false} otherwise.
+     *  @param  firstLineNumber The line number that is displayed for the
+     *      first line of the snippet.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: SnippetIndex.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: SnippetIndex.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    public record Snippet( String name, int firstLine, int endLine, boolean isClosed, int firstLineNumber ) {}
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The line kind for a line of source code: {@value}.
+     */
+    private static final byte KIND_CODE = 0;
+
+    /**
+     *  The line kind for an end marker: {@value}.
+     */
+    private static final byte KIND_END = 2;
+
+    /**
+     *  The line kind for a start marker: {@value}.
+     */
+    private static final byte KIND_START = 1;
+
+    /**
+     *  The number of indexes that are kept in the cache: {@value}.
+     */
+    public static final int INDEX_CACHE_SIZE = 64;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The contents of the source file.
+     */
+    private final String m_Contents;
+
+    /**
+     *  The kinds of the lines.
+     */
+    private final byte [] m_Kinds;
+
+    /**
+     *  The renderer for the line numbers.
+     */
+    private final LineNumberRenderer m_LineNumberRenderer;
+
+    /**
+     *  The positions of the lines in the contents of the source file.
+     */
+    private final int [] m_LineStarts;
+
+    /**
+     *  The lines of the source file, not escaped.
+     */
+    private final String [] m_Lines;
+
+    /**
+     *  The named snippets.
+     */
+    private final Map<String,Snippet> m_NamedSnippets;
+
+    /**
+     *  The snippets, in the sequence of their appearance in the file.
+     */
+    private final List<Snippet> m_Snippets;
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The cache for the indexes, with the file name as the key.
+     */
+    private static final Map<String,SnippetIndex> m_IndexCache = new LinkedHashMap<>( INDEX_CACHE_SIZE, 0.75f, true )
+    {
+        /**
+         *  The serial version UID for objects of this class: {@value}.
+         *
+         *  @hidden
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        protected final boolean removeEldestEntry( final Map.Entry<String,SnippetIndex> eldest ) { return size() > INDEX_CACHE_SIZE; }
+    };
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code SnippetIndex} instance.
+     *
+     *  @param  contents    The contents of the source file.
+     */
+    private SnippetIndex( final String contents )
+    {
+        m_Contents = contents;
+        m_Lines = contents.lines().toArray( String []::new );
+        m_Kinds = new byte [m_Lines.length];
+        m_LineStarts = new int [m_Lines.length];
+        m_LineNumberRenderer = new LineNumberRenderer( m_Lines.length );
+
+        final List<Snippet> snippets = new ArrayList<>();
+        final Map<String,Snippet> namedSnippets = new HashMap<>();
+        String name = null;
+        var firstLine = -1;
+        var firstLineNumber = 0;
+        var lineNumber = 1;
+        var position = 0;
+        for( var i = 0; i < m_Lines.length; ++i )
+        {
+            final var line = m_Lines [i];
+            m_LineStarts [i] = position;
+            position += line.length();
+            if( (position < contents.length()) && (contents.charAt( position ) == '\r') ) ++position;
+            if( (position < contents.length()) && (contents.charAt( position ) == '\n') ) ++position;
+
+            if( line.startsWith( SOURCE_SNIP_START ) || line.startsWith( SOURCE_SNIP_START_NAMED ) )
+            {
+                m_Kinds [i] = KIND_START;
+                if( firstLine >= 0 ) addSnippet( snippets, namedSnippets, new Snippet( name, firstLine, i, false, firstLineNumber ) );
+                name = retrieveName( line );
+                firstLine = i + 1;
+                firstLineNumber = lineNumber;
+            }
+            else if( line.startsWith( SOURCE_SNIP_END ) )
+            {
+                m_Kinds [i] = KIND_END;
+                if( firstLine >= 0 ) addSnippet( snippets, namedSnippets, new Snippet( name, firstLine, i, true, firstLineNumber ) );
+                firstLine = -1;
+            }
+            else
+            {
+                m_Kinds [i] = KIND_CODE;
+                ++lineNumber;
+            }
+        }
+        if( firstLine >= 0 ) addSnippet( snippets, namedSnippets, new Snippet( name, firstLine, m_Lines.length, false, firstLineNumber ) );
+
+        m_Snippets = List.copyOf( snippets );
+        m_NamedSnippets = Map.copyOf( namedSnippets );
+    }   //  SnippetIndex()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Adds the given snippet to the index.
+     *
+     *  @param  snippets    The list of snippets.
+     *  @param  namedSnippets   The named snippets.
+     *  @param  snippet The snippet to add.
+     */
+    private static final void addSnippet( final List<Snippet> snippets, final Map<String,Snippet> namedSnippets, final Snippet snippet )
+    {
+        snippets.add( snippet );
+        if( nonNull( snippet.name() ) ) namedSnippets.putIfAbsent( snippet.name(), snippet );
+    }   //  addSnippet()
+
+    /**
+     *  Checks whether the given tokens were created for the contents of the
+     *  source file.
+     *
+     *  @param  tokens  The tokens; may be {@code null}.
+     *  @throws IllegalArgumentException    The tokens belong to other
+     *      contents.
+     */
+    private final void checkTokens( final TokenStream tokens )
+    {
+        if( nonNull( tokens ) && (tokens.getText() != m_Contents) && !tokens.getText().equals( m_Contents ) )
+        {
+            throw new IllegalArgumentException( "The tokens do not belong to the contents of the source file" );
+        }
+    }   //  checkTokens()
+
+    /**
+     *  Returns the snippet with the given index.
+     *
+     *  @param  index   The number of the snippet, with 1 for the first
+     *      snippet.
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the snippet.
+     */
+    public final Optional<Snippet> findSnippet( final int index )
+    {
+        final var retValue = (index >= 1) && (index <= m_Snippets.size()) ? Optional.of( m_Snippets.get( index - 1 ) ) : Optional.<Snippet>empty();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findSnippet()
+
+    /**
+     *  Returns the snippet with the given name. If more than one snippet has
+     *  the same name, the first one is returned.
+     *
+     *  @param  name    The name of the snippet.
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the snippet.
+     */
+    public final Optional<Snippet> findSnippet( final String name )
+    {
+        final var retValue = Optional.ofNullable( m_NamedSnippets.get( requireNonNullArgument( name, "name" ) ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findSnippet()
+
+    /**
+     *  Returns the number of snippets in the file.
+     *
+     *  @return The number of snippets.
+     */
+    public final int getSnippetCount() { return m_Snippets.size(); }
+
+    /**
+     *  Returns the index for the given source file. The index is taken from
+     *  the cache if it was already built for the same file with the same
+     *  contents; otherwise it is built and added to the cache.
+     *
+     *  @param  fileName    The name of the source file.
+     *  @param  contents    The contents of the source file.
+     *  @return The index.
+     */
+    public static final SnippetIndex of( final String fileName, final String contents )
+    {
+        requireNonNullArgument( fileName, "fileName" );
+        requireNonNullArgument( contents, "contents" );
+
+        SnippetIndex retValue;
+        synchronized( m_IndexCache )
+        {
+            retValue = m_IndexCache.get( fileName );
+        }
+        if( isNull( retValue ) || !retValue.m_Contents.equals( contents ) )
+        {
+            retValue = new SnippetIndex( contents );
+            synchronized( m_IndexCache )
+            {
+                m_IndexCache.put( fileName, retValue );
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  of()
+
+    /**
+     *  Renders all snippets of the file. The snippets are separated by an
+     *  ellipsis.
+     *
+     *  @param  appendable  The output target.
+     *  @throws IOException Writing to the output target failed.
+     */
+    public final void renderAll( final Appendable appendable ) throws IOException
+    {
+        renderAll( appendable, null );
+    }   //  renderAll()
+
+    /**
+     *  Renders all snippets of the file, with syntax highlighting. The
+     *  snippets are separated by an ellipsis.
+     *
+     *  @param  appendable  The output target.
+     *  @param  tokens  The tokens for the contents of the source file; if
+     *      {@code null}, the lines are just escaped.
+     *  @throws IOException Writing to the output target failed.
+     */
+    public final void renderAll( final Appendable appendable, final TokenStream tokens ) throws IOException
+    {
+        checkTokens( tokens );
+        var lineNumber = 1;
+        var includeLine = false;
+        AppendLoop: for( var i = 0; i < m_Lines.length; ++i )
+        {
+            switch( m_Kinds [i] )
+            {
+                case KIND_START ->
+                {
+                    includeLine = true;
+                    if( lineNumber > 1 ) appendable.append( "&hellip;\n" );
+                    continue AppendLoop;
+                }
+                case KIND_END ->
+                {
+                    includeLine = false;
+                    appendable.append( "&hellip;\n" );
+                    continue AppendLoop;
+                }
+                default ->
+                {
+                    if( includeLine ) renderLine( appendable, i, lineNumber, tokens );
+                    ++lineNumber;
+                }
+            }
+        }   //  AppendLoop:
+    }   //  renderAll()
+
+    /**
+     *  Renders a single line.
+     *
+     *  @param  appendable  The output target.
+     *  @param  line    The index of the line.
+     *  @param  lineNumber  The line number to display.
+     *  @param  tokens  The tokens for the contents of the source file; if
+     *      {@code null}, the line is just escaped.
+     *  @throws IOException Writing to the output target failed.
+     */
+    private final void renderLine( final Appendable appendable, final int line, final int lineNumber, final TokenStream tokens ) throws IOException
+    {
+        m_LineNumberRenderer.append( appendable, lineNumber );
+        if( isNull( tokens ) )
+        {
+            escapeHTML( appendable, m_Lines [line] );
+        }
+        else
+        {
+            tokens.render( appendable, m_LineStarts [line], m_LineStarts [line] + m_Lines [line].length() );
+        }
+        appendable.append( '\n' );
+    }   //  renderLine()
+
+    /**
+     *  Renders the given snippet.
+     *
+     *  @param  appendable  The output target.
+     *  @param  snippet The snippet.
+     *  @throws IOException Writing to the output target failed.
+     */
+    public final void renderSnippet( final Appendable appendable, final Snippet snippet ) throws IOException
+    {
+        renderSnippet( appendable, snippet, null );
+    }   //  renderSnippet()
+
+    /**
+     *  Renders the given snippet, with syntax highlighting.
+     *
+     *  @param  appendable  The output target.
+     *  @param  snippet The snippet.
+     *  @param  tokens  The tokens for the contents of the source file; if
+     *      {@code null}, the lines are just escaped.
+     *  @throws IOException Writing to the output target failed.
+     */
+    public final void renderSnippet( final Appendable appendable, final Snippet snippet, final TokenStream tokens ) throws IOException
+    {
+        requireNonNullArgument( appendable, "appendable" );
+        requireNonNullArgument( snippet, "snippet" );
+        checkTokens( tokens );
+
+        var lineNumber = snippet.firstLineNumber();
+        if( lineNumber > 1 ) appendable.append( "&hellip;\n" );
+        for( var i = snippet.firstLine(); i < snippet.endLine(); ++i )
+        {
+            renderLine( appendable, i, lineNumber++, tokens );
+        }
+        if( snippet.isClosed() ) appendable.append( "&hellip;\n" );
+    }   //  renderSnippet()
+
+    /**
+     *  Retrieves the name of a snippet from the given start marker line.
+     *
+     *  @param  line    The start marker line.
+     *  @return The name of the snippet; {@code null} if the snippet is
+     *      unnamed.
+     */
+    private static final String retrieveName( final String line )
+    {
+        String retValue = null;
+        if( line.startsWith( SOURCE_SNIP_START_NAMED ) )
+        {
+            final var begin = SOURCE_SNIP_START_NAMED.length();
+            final var end = line.indexOf( "*/", begin );
+            if( end > begin )
+            {
+                final var name = line.substring( begin, end ).trim();
+                if( isNotEmptyOrBlank( name ) ) retValue = name;
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  retrieveName()
+}
+//  class SnippetIndex
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,327 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.nonNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.DEFAULT_BUFFER_SIZE;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.escapeHTML;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.UtilityClass;
+import org.tquadrat.foundation.javadoc.internal.foundation.exception.PrivateConstructorForStaticClassCalledError;
+
+/**
+ *  <p>{@summary Renders source code with line numbers, line by line.}</p>
+ *  <p>The width of the line numbers depends on the number of lines; that
+ *  number is determined in advance with a cheap scan for the line
+ *  terminators, so that the lines can be escaped and written to the target
+ *  one after the other, without holding all of them in memory.</p>
+ *  <p>Lines are terminated as for
+ *  {@link BufferedReader#readLine()}
+ *  and
+ *  {@link String#lines()}:
+ *  by a line feed ('\n'), a carriage return ('\r') or a carriage return
+ *  followed immediately by a line feed.</p>
+ *  <p>Source code that was split into a
+ *  {@link TokenStream}
+ *  can be rendered with syntax highlighting.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: SourceRenderer.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: SourceRenderer.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.1.0" )
+@UtilityClass
+public final class SourceRenderer
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The size of the buffer for the scan of a file: {@value}.
+     */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  No instance allowed for this class.
+     */
+    private SourceRenderer() { throw new PrivateConstructorForStaticClassCalledError( SourceRenderer.class ); }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns the number of lines in the given text.
+     *
+     *  @param  text    The text.
+     *  @return The number of lines.
+     */
+    public static final int countLines( final CharSequence text )
+    {
+        final var length = requireNonNullArgument( text, "text" ).length();
+        var retValue = 0;
+        var lastWasTerminator = true;
+        for( var i = 0; i < length; ++i )
+        {
+            final var c = text.charAt( i );
+            if( c == '\r' )
+            {
+                ++retValue;
+                if( (i + 1 < length) && (text.charAt( i + 1 ) == '\n') ) ++i;
+                lastWasTerminator = true;
+            }
+            else if( c == '\n' )
+            {
+                ++retValue;
+                lastWasTerminator = true;
+            }
+            else
+            {
+                lastWasTerminator = false;
+            }
+        }
+        if( !lastWasTerminator ) ++retValue;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  countLines()
+
+    /**
+     *  Returns the number of lines in the given file. For character sets
+     *  that encode the line terminators as in ASCII, the file is scanned as
+     *  bytes, without decoding it; otherwise it is read line by line.
+     *
+     *  @param  file    The file.
+     *  @param  charset The character set of the file.
+     *  @return The number of lines.
+     *  @throws IOException Reading the file failed.
+     */
+    public static final int countLines( final Path file, final Charset charset ) throws IOException
+    {
+        requireNonNullArgument( file, "file" );
+
+        var retValue = 0;
+        if( isAsciiCompatible( requireNonNullArgument( charset, "charset" ) ) )
+        {
+            try( final var channel = FileChannel.open( file, READ ) )
+            {
+                final var buffer = ByteBuffer.allocate( SCAN_BUFFER_SIZE );
+                final var bytes = buffer.array();
+                var lastWasCR = false;
+                var lastWasTerminator = true;
+                var count = channel.read( buffer );
+                while( count >= 0 )
+                {
+                    for( var i = 0; i < count; ++i )
+                    {
+                        final var b = bytes [i];
+                        if( b == '\r' )
+                        {
+                            ++retValue;
+                            lastWasCR = true;
+                            lastWasTerminator = true;
+                        }
+                        else if( b == '\n' )
+                        {
+                            if( !lastWasCR ) ++retValue;
+                            lastWasCR = false;
+                            lastWasTerminator = true;
+                        }
+                        else
+                        {
+                            lastWasCR = false;
+                            lastWasTerminator = false;
+                        }
+                    }
+                    buffer.clear();
+                    count = channel.read( buffer );
+                }
+                if( !lastWasTerminator ) ++retValue;
+            }
+        }
+        else
+        {
+            try( final var reader = openReader( file, charset ) )
+            {
+                while( nonNull( reader.readLine() ) ) ++retValue;
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  countLines()
+
+    /**
+     *  Checks whether the given character set encodes the line terminators
+     *  as single bytes with the ASCII values, and never uses these byte
+     *  values for other characters.
+     *
+     *  @param  charset The character set.
+     *  @return {@code true} if the character set is compatible to ASCII in
+     *      this respect, {@code false} otherwise.
+     */
+    private static final boolean isAsciiCompatible( final Charset charset )
+    {
+        final var retValue = UTF_8.equals( charset )
+            || (charset.canEncode()
+                && (charset.newEncoder().maxBytesPerChar() == 1.0f)
+                && Arrays.equals( "\r\n".getBytes( charset ), new byte [] {'\r', '\n'} ));
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isAsciiCompatible()
+
+    /**
+     *  Opens a reader on the given file; malformed input is replaced, as for
+     *  {@link ToolKit#loadToString(Path, Charset)}.
+     *
+     *  @param  file    The file.
+     *  @param  charset The character set of the file.
+     *  @return The reader.
+     *  @throws IOException The file cannot be opened.
+     */
+    private static final BufferedReader openReader( final Path file, final Charset charset ) throws IOException
+    {
+        return new BufferedReader( new InputStreamReader( Files.newInputStream( file ), charset ), DEFAULT_BUFFER_SIZE );
+    }   //  openReader()
+
+    /**
+     *  Renders the given text with line numbers to the given target. Each
+     *  line is escaped and written to the target, followed by a line feed.
+     *
+     *  @param  text    The text.
+     *  @param  target  The target.
+     *  @return The number of lines.
+     *  @throws IOException Writing to the target failed.
+     */
+    public static final int render( final CharSequence text, final Appendable target ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+
+        final var retValue = countLines( text );
+        final var lineNumberRenderer = new LineNumberRenderer( retValue );
+        var lineNumber = 1;
+        final var lines = text.toString().lines().iterator();
+        while( lines.hasNext() )
+        {
+            lineNumberRenderer.append( target, lineNumber++ );
+            escapeHTML( target, lines.next() );
+            target.append( '\n' );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  render()
+
+    /**
+     *  Renders the text for the given tokens with line numbers and with
+     *  syntax highlighting to the given target. Each line is rendered as
+     *  described for
+     *  {@link TokenStream#render(Appendable, int, int)}
+     *  and written to the target, followed by a line feed.
+     *
+     *  @param  tokens  The tokens.
+     *  @param  target  The target.
+     *  @return The number of lines.
+     *  @throws IOException Writing to the target failed.
+     */
+    public static final int render( final TokenStream tokens, final Appendable target ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+
+        final var text = requireNonNullArgument( tokens, "tokens" ).getText();
+        final var length = text.length();
+        final var retValue = countLines( text );
+        final var lineNumberRenderer = new LineNumberRenderer( retValue );
+        var lineNumber = 1;
+        var lineStart = 0;
+        while( lineStart < length )
+        {
+            var lineEnd = lineStart;
+            while( (lineEnd < length) && (text.charAt( lineEnd ) != '\n') && (text.charAt( lineEnd ) != '\r') ) ++lineEnd;
+            lineNumberRenderer.append( target, lineNumber++ );
+            tokens.render( target, lineStart, lineEnd );
+            target.append( '\n' );
+
+            lineStart = lineEnd;
+            if( (lineStart < length) && (text.charAt( lineStart ) == '\r') ) ++lineStart;
+            if( (lineStart < length) && (text.charAt( lineStart ) == '\n') ) ++lineStart;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  render()
+
+    /**
+     *  Renders the given file with line numbers to the given target. The
+     *  file is read twice: once to count the lines, and once to render
+     *  them; only one line is held in memory at a time.
+     *
+     *  @param  file    The file.
+     *  @param  charset The character set of the file.
+     *  @param  target  The target.
+     *  @return The number of lines.
+     *  @throws IOException Reading the file or writing to the target failed.
+     */
+    public static final int render( final Path file, final Charset charset, final Appendable target ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+
+        final var retValue = countLines( file, charset );
+        final var lineNumberRenderer = new LineNumberRenderer( retValue );
+        var lineNumber = 1;
+        try( final var reader = openReader( file, charset ) )
+        {
+            var line = reader.readLine();
+            while( nonNull( line ) )
+            {
+                lineNumberRenderer.append( target, lineNumber++ );
+                escapeHTML( target, line );
+                target.append( '\n' );
+                line = reader.readLine();
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  render()
+}
+//  class SourceRenderer
+
+/*
+ *  End of File
+ */
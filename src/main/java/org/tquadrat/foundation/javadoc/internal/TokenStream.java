@@ -0,0 +1,398 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.isNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.escapeHTML;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.CharBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary The tokens of a source text, as determined by
+ *  {@link JavaLexer}.}</p>
+ *  <p>Only the tokens that are highlighted are stored: keywords, literals,
+ *  comments and annotations; the text between them is rendered as is. The
+ *  tokens are stored in parallel arrays, ordered by their position in the
+ *  text, and they do not overlap.</p>
+ *  <p>A token may span several lines (a block comment or a text block, for
+ *  example); when a range of the text is
+ *  {@linkplain #render(Appendable, int, int) rendered},
+ *  such a token is cut at the range boundaries, so that each line can be
+ *  rendered on its own.</p>
+ *  <p>The token streams for the most recently used files are kept in a
+ *  cache; refer to
+ *  {@link #of(String, String)}.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TokenStream.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: TokenStream.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = INTERNAL, since = "0.1.0" )
+public final class TokenStream
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The kinds of tokens.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: TokenStream.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: TokenStream.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    public enum TokenKind
+    {
+            /*------------------*\
+        ====** Enum Declaration **=============================================
+            \*------------------*/
+        /**
+         *  An annotation.
+         */
+        ANNOTATION( "source-annotation" ),
+
+        /**
+         *  A comment.
+         */
+        COMMENT( "source-comment" ),
+
+        /**
+         *  A keyword.
+         */
+        KEYWORD( "source-keyword" ),
+
+        /**
+         *  One of the literals {@code true}, {@code false} or {@code null}.
+         */
+        LITERAL( "source-literal" ),
+
+        /**
+         *  A numeric literal.
+         */
+        NUMBER( "source-number" ),
+
+        /**
+         *  A String literal, a text block or a character literal.
+         */
+        STRING( "source-string" );
+
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The opening tag for the token.
+         */
+        private final String m_OpeningTag;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code TokenKind} instance.
+         *
+         *  @param  cssClass    The CSS class for the token.
+         */
+        private TokenKind( final String cssClass )
+        {
+            m_OpeningTag = "<span class=\"" + cssClass + "\">";
+        }   //  TokenKind()
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  Returns the opening tag for a token of this kind.
+         *
+         *  @return The opening tag.
+         */
+        public final String getOpeningTag() { return m_OpeningTag; }
+    }
+    //  enum TokenKind
+
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The closing tag for a token: {@value}.
+     */
+    private static final String CLOSING_TAG = "</span>";
+
+    /**
+     *  The number of token streams that are kept in the cache: {@value}.
+     */
+    public static final int TOKEN_CACHE_SIZE = 64;
+
+    /**
+     *  The token kinds.
+     */
+    private static final TokenKind [] TOKEN_KINDS = TokenKind.values();
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The number of tokens.
+     */
+    private final int m_Count;
+
+    /**
+     *  The end positions (exclusive) of the tokens.
+     */
+    private final int [] m_Ends;
+
+    /**
+     *  The kinds of the tokens, as the ordinal of the respective
+     *  {@link TokenKind}.
+     */
+    private final byte [] m_Kinds;
+
+    /**
+     *  The start positions of the tokens.
+     */
+    private final int [] m_Starts;
+
+    /**
+     *  The source text.
+     */
+    private final String m_Text;
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The cache for the token streams, with the file name as the key.
+     */
+    private static final Map<String,TokenStream> m_TokenCache = new LinkedHashMap<>( TOKEN_CACHE_SIZE, 0.75f, true )
+    {
+        /**
+         *  The serial version UID for objects of this class: {@value}.
+         *
+         *  @hidden
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        protected final boolean removeEldestEntry( final Map.Entry<String,TokenStream> eldest ) { return size() > TOKEN_CACHE_SIZE; }
+    };
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code TokenStream} instance.
+     *
+     *  @param  text    The source text.
+     *  @param  count   The number of tokens.
+     *  @param  starts  The start positions of the tokens.
+     *  @param  ends    The end positions of the tokens.
+     *  @param  kinds   The kinds of the tokens.
+     */
+    TokenStream( final String text, final int count, final int [] starts, final int [] ends, final byte [] kinds )
+    {
+        m_Text = text;
+        m_Count = count;
+        m_Starts = starts;
+        m_Ends = ends;
+        m_Kinds = kinds;
+    }   //  TokenStream()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Escapes the given range of the source text and writes it to the given
+     *  target.
+     *
+     *  @param  target  The target.
+     *  @param  from    The start of the range.
+     *  @param  to  The end of the range (exclusive).
+     *  @throws IOException Writing to the target failed.
+     */
+    private final void appendEscaped( final Appendable target, final int from, final int to ) throws IOException
+    {
+        if( from < to ) escapeHTML( target, CharBuffer.wrap( m_Text, from, to ) );
+    }   //  appendEscaped()
+
+    /**
+     *  Checks the given token index.
+     *
+     *  @param  index   The index.
+     *  @return The index.
+     *  @throws IndexOutOfBoundsException   The index is invalid.
+     */
+    private final int checkIndex( final int index )
+    {
+        if( (index < 0) || (index >= m_Count) ) throw new IndexOutOfBoundsException( index );
+
+        //---* Done *----------------------------------------------------------
+        return index;
+    }   //  checkIndex()
+
+    /**
+     *  Returns the end position (exclusive) of the token with the given
+     *  index.
+     *
+     *  @param  index   The index of the token.
+     *  @return The end position.
+     */
+    public final int end( final int index ) { return m_Ends [checkIndex( index )]; }
+
+    /**
+     *  Returns the index of the first token that ends after the given
+     *  position.
+     *
+     *  @param  position    The position.
+     *  @return The index of the token; the number of tokens if there is none.
+     */
+    private final int findFirstTokenAfter( final int position )
+    {
+        var low = 0;
+        var high = m_Count;
+        while( low < high )
+        {
+            final var middle = (low + high) >>> 1;
+            if( m_Ends [middle] <= position )
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return low;
+    }   //  findFirstTokenAfter()
+
+    /**
+     *  Returns the source text.
+     *
+     *  @return The source text.
+     */
+    public final String getText() { return m_Text; }
+
+    /**
+     *  Returns the kind of the token with the given index.
+     *
+     *  @param  index   The index of the token.
+     *  @return The kind of the token.
+     */
+    public final TokenKind kind( final int index ) { return TOKEN_KINDS [m_Kinds [checkIndex( index )]]; }
+
+    /**
+     *  Returns the token stream for the given source file. The token stream
+     *  is taken from the cache if it was already created for the same file
+     *  with the same contents; otherwise the contents are lexed, and the new
+     *  token stream is added to the cache.
+     *
+     *  @param  fileName    The name of the source file.
+     *  @param  contents    The contents of the source file.
+     *  @return The token stream.
+     */
+    public static final TokenStream of( final String fileName, final String contents )
+    {
+        requireNonNullArgument( fileName, "fileName" );
+        requireNonNullArgument( contents, "contents" );
+
+        TokenStream retValue;
+        synchronized( m_TokenCache )
+        {
+            retValue = m_TokenCache.get( fileName );
+        }
+        if( isNull( retValue ) || !retValue.m_Text.equals( contents ) )
+        {
+            retValue = JavaLexer.lex( contents );
+            synchronized( m_TokenCache )
+            {
+                m_TokenCache.put( fileName, retValue );
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  of()
+
+    /**
+     *  Renders the given range of the source text to the given target; the
+     *  text is escaped, and the tokens are wrapped into {@code <span>}
+     *  elements with the CSS class for the token kind.
+     *
+     *  @param  target  The target.
+     *  @param  from    The start of the range.
+     *  @param  to  The end of the range (exclusive).
+     *  @throws IOException Writing to the target failed.
+     */
+    public final void render( final Appendable target, final int from, final int to ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+        if( (from < 0) || (to > m_Text.length()) || (from > to) ) throw new IndexOutOfBoundsException( "Invalid range: " + from + " - " + to );
+
+        var position = from;
+        var index = findFirstTokenAfter( from );
+        RenderLoop: while( (index < m_Count) && (m_Starts [index] < to) )
+        {
+            final var start = max( m_Starts [index], from );
+            final var end = min( m_Ends [index], to );
+            appendEscaped( target, position, start );
+            target.append( TOKEN_KINDS [m_Kinds [index]].getOpeningTag() );
+            appendEscaped( target, start, end );
+            target.append( CLOSING_TAG );
+            position = end;
+            ++index;
+        }   //  RenderLoop:
+        appendEscaped( target, position, to );
+    }   //  render()
+
+    /**
+     *  Returns the number of tokens.
+     *
+     *  @return The number of tokens.
+     */
+    public final int size() { return m_Count; }
+
+    /**
+     *  Returns the start position of the token with the given index.
+     *
+     *  @param  index   The index of the token.
+     *  @return The start position.
+     */
+    public final int start( final int index ) { return m_Starts [checkIndex( index )]; }
+}
+//  class TokenStream
+
+/*
+ *  End of File
+ */
@@ -17,6 +17,9 @@
 
 package org.tquadrat.foundation.javadoc.internal;
 
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.file.StandardOpenOption.READ;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.apiguardian.api.API.Status.INTERNAL;
@@ -25,7 +28,12 @@ import static org.tquadrat.foundation.javadoc.internal.foundation.util.Entities.
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Enumeration;
@@ -136,6 +144,14 @@ public class ToolKit
     @API( status = STABLE, since = "0.0.5" )
     public static final int DEFAULT_BUFFER_SIZE = 8192;
 
+    /**
+     *  Files with at least this size in bytes will be memory mapped by
+     *  {@link #loadToString(Path, Charset)}
+     *  instead of being read into a byte array: {@value}.
+     */
+    @API( status = INTERNAL, since = "0.1.0" )
+    public static final long MEMORY_MAP_THRESHOLD = 1L << 20;
+
     /**
      *  An empty array of
      *  {@link String}
@@ -246,9 +262,11 @@ public class ToolKit
      *  Wherever possible, the method will return the respective HTML&nbsp;5
      *  entity; only when there is no matching entity, it will use the Unicode
      *  escape.</p>
+     *  <p>Text that does not contain any character that needs escaping is
+     *  returned as it is, without creating a copy.</p>
      *
      *  @param  str The {@code String} to escape, may be {@code null}.
-     *  @return A new escaped {@code String}, or {@code null} if the
+     *  @return The escaped {@code String}, or {@code null} if the
      *      argument was already {@code null}.
      *
      *  @since 0.0.5
@@ -291,6 +309,28 @@ public class ToolKit
         if( nonNull( str ) ) HTML50.escape( appendable, str );
     }   //  escapeHTML()
 
+    /**
+     *  Escapes the characters read from the given
+     *  {@link Reader}
+     *  using HTML entities and writes them to the given
+     *  {@link Writer}.
+     *  For details, refer to
+     *  {@link #escapeHTML(CharSequence)}.
+     *
+     *  @param  reader  The source for the text to escape.
+     *  @param  writer  The target for the escaped text.
+     *  @throws NullArgumentException   The reader or the writer is
+     *      {@code null}.
+     *  @throws IOException Problems on reading from the {@code reader} or on
+     *      writing to the {@code writer}.
+     *  @since 0.1.0
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static final void escapeHTML( final Reader reader, final Writer writer ) throws IOException
+    {
+        HTML50.escape( reader, writer );
+    }   //  escapeHTML()
+
     /**
      *  Tests if the given String is {@code null} or the empty String.
      *
@@ -480,6 +520,58 @@ public class ToolKit
         return retValue;
     }   //  loadToString()
 
+    /**
+     *  <p>{@summary Reads the complete content of the given file into a
+     *  {@link String},
+     *  decoding it with the given character set.}</p>
+     *  <p>The buffer for the contents is sized from the size of the file;
+     *  files with a size of at least
+     *  {@value #MEMORY_MAP_THRESHOLD}
+     *  bytes are memory mapped and decoded from the mapped buffer. Malformed
+     *  input and unmappable characters are replaced, as for
+     *  {@link String#String(byte[], Charset)}.</p>
+     *  <p>Obviously this method is feasible only for files with a limited
+     *  size.</p>
+     *
+     *  @param  file    The file.
+     *  @param  charset The character set of the file.
+     *  @return The content of the file.
+     *  @throws IOException Problems on reading the file.
+     */
+    @API( status = INTERNAL, since = "0.1.0" )
+    public static final String loadToString( final Path file, final Charset charset ) throws IOException
+    {
+        requireNonNullArgument( charset, "charset" );
+
+        final String retValue;
+        try( final var channel = FileChannel.open( requireNonNullArgument( file, "file" ), READ ) )
+        {
+            final var size = channel.size();
+            if( size > Integer.MAX_VALUE - 8 ) throw new IOException( "File too large: " + file );
+            if( size >= MEMORY_MAP_THRESHOLD )
+            {
+                final var mappedBuffer = channel.map( READ_ONLY, 0, size );
+                retValue = charset.newDecoder()
+                    .onMalformedInput( REPLACE )
+                    .onUnmappableCharacter( REPLACE )
+                    .decode( mappedBuffer )
+                    .toString();
+            }
+            else
+            {
+                final var buffer = ByteBuffer.allocate( (int) size );
+                ReadLoop: while( buffer.hasRemaining() )
+                {
+                    if( channel.read( buffer ) < 0 ) break ReadLoop;
+                }   //  ReadLoop:
+                retValue = new String( buffer.array(), 0, buffer.position(), charset );
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  loadToString()
+
     /**
      *  Determines the maximum length over all Strings provided in the given
      *  {@link Stream}.
@@ -20,10 +20,15 @@ package org.tquadrat.foundation.javadoc.internal.foundation.svg;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.javadoc.internal.foundation.svg.type.SVGNumber;
 import org.tquadrat.foundation.javadoc.internal.foundation.svg.type.SVGPreserveAspectRatio;
+import org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.EncodingWriter;
 import jakarta.activation.MimeType;
 
 /**
@@ -234,6 +239,29 @@ public interface SVG extends SVGElementWithChildren, AllowsConditionalProcessing
      */
     @SuppressWarnings( "unused" )
     public void setZoomAndPan( final boolean flag );
+
+    /**
+     *  Writes this {@code <svg>} element, pretty printed, to the given output
+     *  stream, using the given encoding. The characters are encoded directly
+     *  into the output buffer, without creating a String for the whole
+     *  element first; characters that cannot be encoded with the given
+     *  character set are written as numeric character references.<br>
+     *  <br>The output stream will be flushed, but not closed.
+     *
+     *  @param  outputStream    The output stream.
+     *  @param  encoding    The character set for the output.
+     *  @throws IOException Writing to the output stream failed.
+     *
+     *  @see EncodingWriter
+     *  @since 0.1.0
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public default void writeTo( final OutputStream outputStream, final Charset encoding ) throws IOException
+    {
+        final var writer = new EncodingWriter( outputStream, encoding );
+        writeTo( writer, 0, true );
+        writer.finish();
+    }   //  writeTo()
 }
 //  interface SVG
 
@@ -395,7 +395,7 @@ public class SVGElementImpl extends XMLElementAdapter implements SVGElement
      */
     public void setClipPath( final URI value )
     {
-        setAttribute( SVGATTRIBUTE_ClipPath, nonNull( value ) ? format( "url(%s)", value ) : null );
+        setAttribute( SVGATTRIBUTE_ClipPath, nonNull( value ) ? "url(" + value + ")" : null );
     }   //  setClipPath()
 
     /**
@@ -1019,7 +1019,7 @@ public class SVGElementImpl extends XMLElementAdapter implements SVGElement
      */
     public void setMarkerEnd( final URI value )
     {
-        setAttribute( SVGATTRIBUTE_MarkerEnd, nonNull( value ) ? format( "url(%s)", value ) : null );
+        setAttribute( SVGATTRIBUTE_MarkerEnd, nonNull( value ) ? "url(" + value + ")" : null );
     }   //  setMarkerStart()
 
     /**
@@ -1031,7 +1031,7 @@ public class SVGElementImpl extends XMLElementAdapter implements SVGElement
      */
     public void setMarkerMid( final URI value )
     {
-        setAttribute( SVGATTRIBUTE_MarkerMid, nonNull( value ) ? format( "url(%s)", value ) : null );
+        setAttribute( SVGATTRIBUTE_MarkerMid, nonNull( value ) ? "url(" + value + ")" : null );
     }   //  setMarkerStart()
 
     /**
@@ -1043,7 +1043,7 @@ public class SVGElementImpl extends XMLElementAdapter implements SVGElement
      */
     public void setMarkerStart( final URI value )
     {
-        setAttribute( SVGATTRIBUTE_MarkerStart, nonNull( value ) ? format( "url(%s)", value ) : null );
+        setAttribute( SVGATTRIBUTE_MarkerStart, nonNull( value ) ? "url(" + value + ")" : null );
     }   //  setMarkerStart()
 
     /**
@@ -1692,7 +1692,7 @@ public class SVGElementImpl extends XMLElementAdapter implements SVGElement
     @SuppressWarnings( "UseOfConcreteClass" )
     public void setViewBox( final SVGNumber x, final SVGNumber y, final SVGNumber width, final SVGNumber height )
     {
-        final var value = format( "%s,%s,%s,%s", requireNonNullArgument( x, "x" ), requireNonNullArgument( y, "y" ), requireNonNullArgument( width, "width" ), requireNonNullArgument( height, "height" ) );
+        final var value = requireNonNullArgument( x, "x" ) + "," + requireNonNullArgument( y, "y" ) + "," + requireNonNullArgument( width, "width" ) + "," + requireNonNullArgument( height, "height" );
         setAttribute( SVGATTRIBUTE_ViewBox, value );
     }   //  setViewBox()
 
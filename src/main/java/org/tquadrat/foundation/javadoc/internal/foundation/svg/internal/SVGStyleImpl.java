@@ -28,8 +28,9 @@ import static org.tquadrat.foundation.javadoc.internal.ToolKit.stream;
 import static org.tquadrat.foundation.javadoc.internal.foundation.svg.SVGUtils.SVGELEMENT_Style;
 import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLBuilderUtils.createXMLElement;
 import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLElement.Flags.VALIDATES_ATTRIBUTES;
-import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.repeat;
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.getFiller;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -176,14 +177,22 @@ public final class SVGStyleImpl extends SVGElementImpl implements SVGStyle
     @Override
     public final String toString( final int indentationLevel, final boolean prettyPrint )
     {
-        final String retValue;
+        return super.toString( indentationLevel, prettyPrint );
+    }   //  toString()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void writeTo( final Appendable target, final int indentationLevel, final boolean prettyPrint ) throws IOException
+    {
         if( m_StyleDefinitions.isEmpty() )
         {
-            retValue = super.toString( indentationLevel, prettyPrint );
+            super.writeTo( target, indentationLevel, prettyPrint );
         }
         else
         {
-            final var indentation = prettyPrint ? "\n" + repeat( indentationLevel + 1 ) : "\n";
+            final var indentation = prettyPrint ? getFiller( indentationLevel + 1, 0 ) : "\n";
             final var styleSheet = m_StyleDefinitions.stream().collect( joining( indentation, indentation, indentation ) );
 
             final var element = createXMLElement( getElementName() );
@@ -191,12 +200,9 @@ public final class SVGStyleImpl extends SVGElementImpl implements SVGStyle
             for( final var attribute : getAttributes().entrySet() ) element.setAttribute( attribute.getKey(), attribute.getValue() );
             element.addCDATA( styleSheet );
 
-            retValue = element.toString( indentationLevel, prettyPrint );
+            element.writeTo( target, indentationLevel, prettyPrint );
         }
-
-        //---* Done *----------------------------------------------------------
-        return retValue;
-    }   //  toString()
+    }   //  writeTo()
 }
 //  class SVGStyleImpl
 
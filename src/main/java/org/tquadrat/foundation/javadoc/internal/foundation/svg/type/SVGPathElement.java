@@ -17,7 +17,6 @@
 
 package org.tquadrat.foundation.javadoc.internal.foundation.svg.type;
 
-import static java.lang.String.format;
 import static java.util.Objects.hash;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.EMPTY_STRING;
@@ -242,7 +241,7 @@ public abstract sealed class SVGPathElement extends ValueBase
         @SuppressWarnings( "BooleanParameter" )
         public SVGArcTo( final boolean isAbsolute, final double rx, final double ry, final double rotation, final boolean largeArc, final boolean sweep, final double x, final double y )
         {
-            super( isAbsolute ? 'A' : 'a', format( "%s,%d,%d,%s", doubleToString( ',', rx, ry, rotation ), largeArc ? 1 : 0,sweep ?  1 : 0,  doubleToString( ',', x, y ) ) );
+            super( isAbsolute ? 'A' : 'a', doubleToString( ',', rx, ry, rotation ) + (largeArc ? ",1," : ",0,") + (sweep ? "1," : "0,") + doubleToString( ',', x, y ) );
         }   //  SVGArcTo()
 
         /**
@@ -699,7 +698,7 @@ public abstract sealed class SVGPathElement extends ValueBase
      *  {@inheritDoc}
      */
     @Override
-    public final String toString() { return format( "%c%s", m_Name, m_Parameters ); }
+    public final String toString() { return m_Name + m_Parameters; }
 
     /**
      *  Converts the given array of {@code SVGPathElement} instances into a
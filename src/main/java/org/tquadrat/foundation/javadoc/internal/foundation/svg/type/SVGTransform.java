@@ -17,7 +17,6 @@
 
 package org.tquadrat.foundation.javadoc.internal.foundation.svg.type;
 
-import static java.lang.String.format;
 import static java.util.Objects.hash;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyArgument;
@@ -454,7 +453,7 @@ public abstract sealed class SVGTransform extends ValueBase
      *  {@inheritDoc}
      */
     @Override
-    public final String toString() { return format( "%s(%s)", m_Name, m_Parameters ); }
+    public final String toString() { return m_Name + "(" + m_Parameters + ")"; }
 }
 //  class SVGTransform
 
@@ -17,32 +17,49 @@
 
 package org.tquadrat.foundation.javadoc.internal.foundation.util;
 
+import static java.lang.Character.MAX_CODE_POINT;
+import static java.lang.Character.isHighSurrogate;
+import static java.lang.Character.isLowSurrogate;
+import static java.lang.Character.toCodePoint;
 import static java.lang.String.format;
+import static java.util.Arrays.binarySearch;
 import static java.util.Arrays.stream;
 import static java.util.Objects.isNull;
+import static java.util.Objects.checkFromIndexSize;
 import static java.util.Objects.nonNull;
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.Stream.builder;
 import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.DEFAULT_BUFFER_SIZE;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.NULL_CHAR;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.isEmptyOrBlank;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmptyOrBlank;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyArgument;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
-import java.util.stream.Stream.Builder;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.javadoc.internal.ToolKit;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.javadoc.internal.foundation.exception.UnexpectedExceptionError;
+import org.tquadrat.foundation.javadoc.internal.foundation.lang.Lazy;
 
 /**
  *  <p>Provides HTML and XML entity utilities.</p>
@@ -78,14 +95,13 @@ public final class Entities
         ====** Methods **======================================================
             \*---------*/
         /**
-         *  Adds an entry to this entity map.<br>
-         *  <br>If the value is negative, only the name to value relation will
-         *  be stored.
+         *  Performs the given action for each entity that can be used for
+         *  escaping; these are the entities with a positive value.
          *
-         *  @param  name    The entity name.
-         *  @param  value   The entity value (the Unicode code).
+         *  @param  action  The action that takes the entity name and the
+         *      value (the Unicode code point).
          */
-        public void add( String name, Integer value );
+        public void forEachEscapable( ObjIntConsumer<String> action );
 
         /**
          *  Returns the entities.
@@ -98,28 +114,38 @@ public final class Entities
          *  Returns the name of the entity identified by the specified value.
          *
          *  @param  value   The value to locate.
-         *  @return An instance of
-         *      {@link Optional}
-         *      that holds the entity name that is associated with the
-         *      specified value.
+         *  @return The entity name that is associated with the specified
+         *      value, or {@code null} if there is none.
          */
-        public Optional<String> name( int value );
+        public String name( int value );
 
         /**
          *  Returns the value of the entity identified by the specified name.
          *
-         *  @param  name    The name of the entity to locate
-         *  @return An instance of
-         *      {@link Optional}
-         *      that holds the entity value associated with the specified name.
+         *  @param  name    The character sequence that holds the name of the
+         *      entity to locate.
+         *  @param  start   The index of the first character of the name.
+         *  @param  end The index after the last character of the name.
+         *  @return The entity value associated with the specified name, or -1
+         *      if there is none.
          */
-        public Optional<Integer> value( String name );
+        public int value( CharSequence name, int start, int end );
     }
     //  interface EntityMap
 
     /**
-     *  A simple implementation for the interface
-     *  {@link EntityMap}.
+     *  <p>{@summary An implementation for the interface
+     *  {@link EntityMap}
+     *  that works on primitive {@code int} values.}</p>
+     *  <p>The relation from the value to the name is stored in an open
+     *  addressing hash table with linear probing. For the relation from the
+     *  name to the value, a perfect hash function (&quot;hash and
+     *  displace&quot;) is calculated when the map is created: the names are
+     *  distributed to buckets, and for each bucket a seed is determined that
+     *  places all the names of that bucket into empty slots of the table. A
+     *  lookup therefore calculates two hashes and compares exactly one
+     *  candidate; it neither allocates a key object nor an
+     *  {@link Optional}.</p>
      *
      *  @author Alexander Day Chaffee - alex@purpletech.com
      *  @author Gary Gregory - ggregory@seagullsw.com
@@ -128,73 +154,299 @@ public final class Entities
      *  @since 0.0.5
      */
     @ClassVersion( sourceVersion = "$Id: Entities.java 1133 2024-05-10 21:43:08Z tquadrat $" )
-    private static class PrimitiveEntityMap implements EntityMap
+    private static final class PrimitiveEntityMap implements EntityMap
     {
+            /*-----------*\
+        ====** Constants **====================================================
+            \*-----------*/
+        /**
+         *  The maximum number of seeds that will be tried for a bucket before
+         *  the calculation of the perfect hash is given up: {@value}.
+         */
+        private static final int MAX_SEED = 1 << 20;
+
             /*------------*\
         ====** Attributes **===================================================
             \*------------*/
         /**
-         *  The map that holds the references from the name to the value.
+         *  The seeds for the buckets of the perfect hash.
+         */
+        private final int [] m_BucketSeeds;
+
+        /**
+         *  The names, stored at the slot determined by the perfect hash; an
+         *  entry is {@code null} for an empty slot.
+         */
+        private final String [] m_Names;
+
+        /**
+         *  The values for the names in
+         *  {@link #m_Names},
+         *  at the same slot.
+         */
+        private final int [] m_Values;
+
+        /**
+         *  The keys (the values of the entities) of the open addressing hash
+         *  table for the relation from the value to the name; 0 marks an
+         *  empty slot.
          */
-        private final Map<String,Integer> m_NameToValue = new TreeMap<>();
+        private final int [] m_ValueKeys;
 
         /**
-         *  The map that holds the references from the value to the name.
+         *  The entity names for the keys in
+         *  {@link #m_ValueKeys},
+         *  at the same slot.
          */
-        private final Map<Integer,String> m_ValueToName = new TreeMap<>();
+        private final String [] m_ValueNames;
 
             /*--------------*\
         ====** Constructors **=================================================
             \*--------------*/
         /**
-         *  Creates a new primitive entity map.
+         *  Creates a new primitive entity map.<br>
+         *  <br>If a value is negative, only the name to value relation will
+         *  be stored.
+         *
+         *  @param  names   The entity names.
+         *  @param  values  The entity values (the Unicode code points), at the
+         *      same index as the respective name.
          */
-        public PrimitiveEntityMap() { /* Does nothing but exist */ }
+        public PrimitiveEntityMap( final String [] names, final int [] values )
+        {
+            assert nonNull( names ) : "names is null";
+            assert nonNull( values ) : "values is null";
+            assert names.length == values.length : "names and values differ in length";
+
+            //---* The relation from the value to the name *-------------------
+            m_ValueKeys = new int [tableSize( names.length * 2 )];
+            m_ValueNames = new String [m_ValueKeys.length];
+            final var valueMask = m_ValueKeys.length - 1;
+            for( var i = 0; i < names.length; ++i )
+            {
+                assert isNotEmptyOrBlank( names [i] ) : "name is empty or null";
+                assert values [i] != 0 : "value is 0";
+
+                if( values [i] > 0 )
+                {
+                    var slot = mix( values [i] ) & valueMask;
+                    while( m_ValueKeys [slot] != 0 )
+                    {
+                        assert m_ValueKeys [slot] != values [i] : format( "Duplicate: %s, %s, %d", names [i], m_ValueNames [slot], values [i] );
+                        slot = (slot + 1) & valueMask;
+                    }
+                    m_ValueKeys [slot] = values [i];
+                    m_ValueNames [slot] = names [i];
+                }
+            }
+
+            //---* The relation from the name to the value *-------------------
+            m_Names = new String [tableSize( names.length )];
+            m_Values = new int [m_Names.length];
+            m_BucketSeeds = new int [Math.max( 1, m_Names.length >> 2 )];
+            calculatePerfectHash( names, values );
+        }   //  PrimitiveEntityMap()
 
             /*---------*\
         ====** Methods **======================================================
             \*---------*/
+        /**
+         *  Calculates the perfect hash for the given names and fills the
+         *  tables
+         *  {@link #m_Names},
+         *  {@link #m_Values},
+         *  and
+         *  {@link #m_BucketSeeds}.
+         *
+         *  @param  names   The entity names.
+         *  @param  values  The entity values.
+         */
+        @SuppressWarnings( "ProhibitedExceptionThrown" )
+        private final void calculatePerfectHash( final String [] names, final int [] values )
+        {
+            final var bucketMask = m_BucketSeeds.length - 1;
+            final var slotMask = m_Names.length - 1;
+
+            //---* Distribute the names to the buckets *-----------------------
+            final List<List<Integer>> buckets = new ArrayList<>( m_BucketSeeds.length );
+            for( var b = 0; b < m_BucketSeeds.length; ++b ) buckets.add( new ArrayList<>() );
+            for( var i = 0; i < names.length; ++i )
+            {
+                final var bucket = hash( names [i], 0, names [i].length(), 0 ) & bucketMask;
+                buckets.get( bucket ).add( Integer.valueOf( i ) );
+            }
+
+            //---* Place the largest buckets first *---------------------------
+            final var bucketOrder = IntStream.range( 0, buckets.size() )
+                .filter( b -> !buckets.get( b ).isEmpty() )
+                .boxed()
+                .sorted( (b1, b2) -> Integer.compare( buckets.get( b2 ).size(), buckets.get( b1 ).size() ) )
+                .mapToInt( Integer::intValue )
+                .toArray();
+
+            final var slots = new int [names.length];
+            BucketLoop: for( final var bucket : bucketOrder )
+            {
+                final var members = buckets.get( bucket );
+                SeedLoop: for( var seed = 1; seed < MAX_SEED; ++seed )
+                {
+                    for( var j = 0; j < members.size(); ++j )
+                    {
+                        final var name = names [members.get( j ).intValue()];
+                        slots [j] = hash( name, 0, name.length(), seed ) & slotMask;
+                        if( nonNull( m_Names [slots [j]] ) ) continue SeedLoop;
+                        for( var k = 0; k < j; ++k )
+                        {
+                            if( slots [k] == slots [j] ) continue SeedLoop;
+                        }
+                    }
+
+                    //---* The seed fits *-------------------------------------
+                    for( var j = 0; j < members.size(); ++j )
+                    {
+                        final var index = members.get( j ).intValue();
+                        m_Names [slots [j]] = names [index];
+                        m_Values [slots [j]] = Math.abs( values [index] );
+                    }
+                    m_BucketSeeds [bucket] = seed;
+                    continue BucketLoop;
+                }   //  SeedLoop:
+                throw new Error( "Cannot calculate the perfect hash for the entities" );
+            }   //  BucketLoop:
+        }   //  calculatePerfectHash()
+
         /**
          * {@inheritDoc}
          */
         @Override
-        public final void add( final String name, final Integer value )
+        public final void forEachEscapable( final ObjIntConsumer<String> action )
         {
-            assert isNotEmptyOrBlank( name ) : "name is empty or null";
-            assert nonNull( value ) : "value is null";
-            assert value.intValue() != 0 : "value is 0";
-
-            if( value.intValue() > 0 )
+            for( var slot = 0; slot < m_ValueKeys.length; ++slot )
             {
-                m_NameToValue.put( name, value );
-                final var previousName = m_ValueToName.put( value, name );
-                assert isNull( previousName ) : format( "Duplicate: %s, %s, %d", name, previousName, value );
+                if( m_ValueKeys [slot] != 0 ) action.accept( m_ValueNames [slot], m_ValueKeys [slot] );
             }
-            else
+        }   //  forEachEscapable()
+
+        /**
+         *  Calculates the hash for the given range of a character sequence,
+         *  using the given seed.
+         *
+         *  @param  s   The character sequence.
+         *  @param  start   The index of the first character.
+         *  @param  end The index after the last character.
+         *  @param  seed    The seed.
+         *  @return The hash.
+         */
+        @SuppressWarnings( "MagicNumber" )
+        private static final int hash( final CharSequence s, final int start, final int end, final int seed )
+        {
+            var retValue = 0x811C9DC5 ^ (seed * 0x9E3779B9);
+            for( var i = start; i < end; ++i )
             {
-                m_NameToValue.put( name, Integer.valueOf( -value.intValue() ) );
+                retValue = (retValue ^ s.charAt( i )) * 0x01000193;
             }
-        }   //  add()
+            retValue = mix( retValue );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  hash()
 
         /**
          * {@inheritDoc}
          */
         @Override
-        public final Stream<String> list() { return m_NameToValue.keySet().stream(); }
+        public final Stream<String> list()
+        {
+            return stream( m_Names )
+                .filter( Objects::nonNull )
+                .sorted();
+        }   //  list()
+
+        /**
+         *  Scrambles the bits of the given value.
+         *
+         *  @param  value   The value.
+         *  @return The scrambled value.
+         */
+        @SuppressWarnings( "MagicNumber" )
+        private static final int mix( final int value )
+        {
+            var retValue = value ^ (value >>> 16);
+            retValue *= 0x85EBCA6B;
+            retValue ^= retValue >>> 13;
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  mix()
 
         /**
          * {@inheritDoc}
          */
         @Override
-        public final Optional<String> name( final int value ) { return Optional.ofNullable( m_ValueToName.get( value ) ); }
+        public final String name( final int value )
+        {
+            String retValue = null;
+            if( value != 0 )
+            {
+                final var valueMask = m_ValueKeys.length - 1;
+                var slot = mix( value ) & valueMask;
+                SearchLoop: while( m_ValueKeys [slot] != 0 )
+                {
+                    if( m_ValueKeys [slot] == value )
+                    {
+                        retValue = m_ValueNames [slot];
+                        break SearchLoop;
+                    }
+                    slot = (slot + 1) & valueMask;
+                }   //  SearchLoop:
+            }
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  name()
+
+        /**
+         *  Returns the size for a hash table that can take the given number
+         *  of entries; this is a power of 2.
+         *
+         *  @param  entries The number of entries.
+         *  @return The table size.
+         */
+        @SuppressWarnings( "MagicNumber" )
+        private static final int tableSize( final int entries )
+        {
+            final var retValue = Math.max( 16, Integer.highestOneBit( Math.max( 1, entries - 1 ) ) << 1 );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  tableSize()
 
         /**
          * {@inheritDoc}
          */
         @Override
-        public final Optional<Integer> value( final String name )
+        public final int value( final CharSequence name, final int start, final int end )
         {
-            final var retValue = Optional.ofNullable( m_NameToValue.get( requireNotEmptyArgument( name, "name" ) ) );
+            var retValue = -1;
+            final var bucket = hash( name, start, end, 0 ) & (m_BucketSeeds.length - 1);
+            final var seed = m_BucketSeeds [bucket];
+            if( seed > 0 )
+            {
+                final var slot = hash( name, start, end, seed ) & (m_Names.length - 1);
+                final var candidate = m_Names [slot];
+                if( nonNull( candidate ) && (candidate.length() == end - start) )
+                {
+                    retValue = m_Values [slot];
+                    CompareLoop: for( var i = 0; i < candidate.length(); ++i )
+                    {
+                        if( candidate.charAt( i ) != name.charAt( start + i ) )
+                        {
+                            retValue = -1;
+                            break CompareLoop;
+                        }
+                    }   //  CompareLoop:
+                }
+            }
 
             //---* Done *------------------------------------------------------
             return retValue;
@@ -202,6 +454,162 @@ public final class Entities
     }
     //  class PrimitiveEntityMap
 
+    /**
+     *  <p>{@summary The precomputed table that is used by
+     *  {@link Entities#escape(CharSequence)}.}</p>
+     *  <p>The replacements for the characters of the Basic Multilingual Plane
+     *  are stored in a dense array that is indexed by the character itself;
+     *  the few entities for supplementary code points are kept in two sorted
+     *  parallel arrays that are searched binary.</p>
+     *  <p>Additionally, the ASCII characters that have an entity are kept in a
+     *  bitmap of two {@code long} words; this allows to check whether a text
+     *  needs escaping at all without touching the large array.</p>
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: Entities.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: Entities.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    private static final class EscapeTable
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The replacements for the characters of the Basic Multilingual
+         *  Plane; an entry is {@code null} if there is no entity for the
+         *  respective character.
+         */
+        private final String [] m_BMP = new String [Character.MAX_VALUE + 1];
+
+        /**
+         *  The bitmap for the ASCII characters from {@code U+0040} to
+         *  {@code U+007F} that have an entity.
+         */
+        private final long m_HighAsciiMask;
+
+        /**
+         *  The bitmap for the ASCII characters from {@code U+0000} to
+         *  {@code U+003F} that have an entity.
+         */
+        private final long m_LowAsciiMask;
+
+        /**
+         *  The supplementary code points that have an entity, in ascending
+         *  order.
+         */
+        private final int [] m_SupplementaryCodePoints;
+
+        /**
+         *  The replacements for the code points in
+         *  {@link #m_SupplementaryCodePoints},
+         *  at the same index.
+         */
+        private final String [] m_SupplementaryReplacements;
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code EscapeTable} instance from the given entity
+         *  map.
+         *
+         *  @param  entityMap   The entity map.
+         */
+        public EscapeTable( final EntityMap entityMap )
+        {
+            final Map<Integer,String> supplementary = new TreeMap<>();
+            entityMap.forEachEscapable( (name, value) ->
+            {
+                final var replacement = format( "&%s;", name );
+                if( value <= Character.MAX_VALUE )
+                {
+                    m_BMP [value] = replacement;
+                }
+                else
+                {
+                    supplementary.put( Integer.valueOf( value ), replacement );
+                }
+            } );
+
+            m_SupplementaryCodePoints = supplementary.keySet().stream()
+                .mapToInt( Integer::intValue )
+                .toArray();
+            m_SupplementaryReplacements = supplementary.values().toArray( String []::new );
+
+            var lowAsciiMask = 0L;
+            var highAsciiMask = 0L;
+            for( var c = 0; c < 0x80; ++c )
+            {
+                if( nonNull( m_BMP [c] ) )
+                {
+                    if( c < 0x40 )
+                    {
+                        lowAsciiMask |= 1L << c;
+                    }
+                    else
+                    {
+                        highAsciiMask |= 1L << c;
+                    }
+                }
+            }
+            m_LowAsciiMask = lowAsciiMask;
+            m_HighAsciiMask = highAsciiMask;
+        }   //  EscapeTable()
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  Returns the replacement for the given character from the Basic
+         *  Multilingual Plane.
+         *
+         *  @param  c   The character.
+         *  @return The replacement, or {@code null} if there is no entity for
+         *      the given character.
+         */
+        public final String replacement( final char c ) { return m_BMP [c]; }
+
+        /**
+         *  Checks whether the given character will be changed by escaping;
+         *  this is the case for all non-ASCII characters, and for those ASCII
+         *  characters that have an entity.
+         *
+         *  @param  c   The character.
+         *  @return {@code true} if the character has to be escaped,
+         *      {@code false} if it can be copied as it is.
+         */
+        @SuppressWarnings( "MagicNumber" )
+        public final boolean requiresEscape( final char c )
+        {
+            /*
+             * The shift operator uses only the lower six bits of the distance,
+             * so "1L << c" is the bit for "c % 64".
+             */
+            final var retValue = (c > 0x7F) || ((((c < 0x40) ? m_LowAsciiMask : m_HighAsciiMask) & (1L << c)) != 0);
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  requiresEscape()
+
+        /**
+         *  Returns the replacement for the given supplementary code point.
+         *
+         *  @param  codePoint   The code point.
+         *  @return The replacement, or {@code null} if there is no entity for
+         *      the given code point.
+         */
+        public final String supplementaryReplacement( final int codePoint )
+        {
+            final var index = binarySearch( m_SupplementaryCodePoints, codePoint );
+            final var retValue = index >= 0 ? m_SupplementaryReplacements [index] : null;
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  supplementaryReplacement()
+    }
+    //  class EscapeTable
+
         /*-----------*\
     ====** Constants **========================================================
         \*-----------*/
@@ -217,6 +625,29 @@ public final class Entities
      */
     public static final String BASIC_ENTITIES = "basic_entities.data";
 
+    /**
+     *  The magic number that starts a resource file with a compiled entity
+     *  set: {@value}.
+     */
+    private static final int COMPILED_ENTITIES_MAGIC = 0x54514531;
+
+    /**
+     *  <p>{@summary The suffix for the name of a resource file that holds a
+     *  compiled entity set: {@value}.}</p>
+     *  <p>These files are created by the Gradle task
+     *  {@code compileEntities} from the {@code *.data} files; each one holds
+     *  the complete set of entities for one of the constants of this class.
+     *  It starts with the magic number
+     *  {@value #COMPILED_ENTITIES_MAGIC},
+     *  followed by the number of entries; each entry is the entity name in
+     *  the format from
+     *  {@link java.io.DataOutput#writeUTF(String)}
+     *  and the value as an {@code int}.</p>
+     *  <p>If no compiled entity set is available, the {@code *.data} files
+     *  are parsed instead.</p>
+     */
+    private static final String COMPILED_ENTITIES_SUFFIX = ".entities";
+
     /**
      *  The name for the resource final that holds the entities that were
      *  introduced for HTML&nbsp;3.2: {@value}.
@@ -235,13 +666,23 @@ public final class Entities
      */
     public static final String HTML50_ENTITIES = "html50_entities.data";
 
+    /**
+     *  The digits for the hexadecimal numerical escapes.
+     */
+    private static final char [] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
     /**
-     *  The entity mapping.
+     *  The entity mapping; it will be loaded on first use.
+     */
+    private final Lazy<EntityMap> m_EntityMap;
+
+    /**
+     *  The escape table; it will be created on first use.
      */
-    private final EntityMap m_EntityMap;
+    private final Lazy<EscapeTable> m_EscapeTable;
 
         /*------------------------*\
     ====** Static Initialisations **===========================================
@@ -273,20 +714,24 @@ public final class Entities
 
     static
     {
+        /*
+         * The entities itself are loaded only when an instance is used for
+         * the first time.
+         */
         //---* Set the BASIC entities *----------------------------------------
-        BASIC = new Entities( BASIC_ENTITIES );
+        BASIC = new Entities( "basic", BASIC_ENTITIES );
 
         //---* Set the HTML 3.2 entities *-------------------------------------
-        HTML32 = new Entities( BASIC_ENTITIES, HTML32_ENTITIES );
+        HTML32 = new Entities( "html32", BASIC_ENTITIES, HTML32_ENTITIES );
 
         //---* Set the HTML 4.0 entities *-------------------------------------
-        HTML40 = new Entities( BASIC_ENTITIES, HTML32_ENTITIES, HTML40_ENTITIES );
+        HTML40 = new Entities( "html40", BASIC_ENTITIES, HTML32_ENTITIES, HTML40_ENTITIES );
 
         //---* Set the HTML 5.0 entities *-------------------------------------
-        HTML50 = new Entities( BASIC_ENTITIES, HTML32_ENTITIES, HTML40_ENTITIES, HTML50_ENTITIES );
+        HTML50 = new Entities( "html50", BASIC_ENTITIES, HTML32_ENTITIES, HTML40_ENTITIES, HTML50_ENTITIES );
 
         //---* Set the HTML XML entities *-------------------------------------
-        XML = new Entities( BASIC_ENTITIES, ADDITIONAL_XML_ENTITIES );
+        XML = new Entities( "xml", BASIC_ENTITIES, ADDITIONAL_XML_ENTITIES );
     }
 
         /*--------------*\
@@ -295,120 +740,158 @@ public final class Entities
     /**
      *  Creates a new {@code Entities} instance.
      *
+     *  @param  compiledName    The name of the compiled entity set, without
+     *      the suffix
+     *      {@value #COMPILED_ENTITIES_SUFFIX}.
      *  @param  resourceNames   The names of the resource files with the entity
-     *      definitions.
+     *      definitions; these are used if there is no compiled entity set.
      */
-    private Entities( final String... resourceNames )
+    private Entities( final String compiledName, final String... resourceNames )
     {
-        final var thisClass = getClass();
-        final var packageName = thisClass.getPackageName().replace( '.', '/' );
-        final var resourceURLs = stream( resourceNames )
-            .map( n ->
-            {
-                final var resourceName = format( "/%s/%s", packageName, n );
-                final var resourceURL = thisClass.getResource( resourceName );
-                assert nonNull( resourceURL ) : format( "URL is null for %s", resourceName );
-                return resourceURL;
-            } )
-            .toArray( URL []::new );
-
-        m_EntityMap = new PrimitiveEntityMap();
-        for( final var resourceURL : resourceURLs )
-        {
-            loadEntities( m_EntityMap, resourceURL );
-        }
+        m_EntityMap = Lazy.use( () -> loadEntityMap( compiledName, resourceNames ) );
+        m_EscapeTable = Lazy.use( () -> new EscapeTable( m_EntityMap.get() ) );
     }   //  Entities()
 
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
     /**
-     *  Underlying unescape method that allows the optimisation of not starting
-     *  from the 0 index again.
+     *  <p>{@summary The underlying escape method.}</p>
+     *  <p>Runs of characters that need no escaping are written in bulk to the
+     *  target; only the characters that have to be replaced are looked up in
+     *  the
+     *  {@linkplain EscapeTable escape table}.
+     *  ASCII characters without an entity are copied, all other characters
+     *  without an entity are written in the numerical escape format. For a
+     *  supplementary code point without an entity, both surrogates are
+     *  escaped separately.</p>
      *
-     *  @param  buffer  The buffer to write the results to.
-     *  @param  s   The source {@code String} to unescape.
-     *  @param  firstAmp    The index of the first ampersand in the source.
-     *  @throws IOException Problems on writing to the {@code buffer}.
+     *  @param  appendable  The target for the escaped text.
+     *  @param  str The text to escape.
+     *  @param  begin   The index of the first character that may need
+     *      escaping; the characters before are copied unchanged.
+     *  @throws IOException Problems on writing to the {@code appendable}.
      */
     @SuppressWarnings( "MagicNumber" )
-    private void doUnescape( final Appendable buffer, final CharSequence s, final int firstAmp ) throws IOException
+    private void doEscape( final Appendable appendable, final CharSequence str, final int begin ) throws IOException
     {
-        assert nonNull( buffer ) : "buffer is null";
-        assert nonNull( s ) : "s is null";
-        assert firstAmp >= 0 : "firstAmp is less than 0";
+        assert nonNull( appendable ) : "appendable is null";
+        assert nonNull( str ) : "str is null";
+        assert (begin >= 0) && (begin <= str.length()) : "invalid begin";
 
-        buffer.append( s, 0, firstAmp );
-        final var str = s.toString();
+        final var escapeTable = m_EscapeTable.get();
         final var len = str.length();
-        char c, isHexChar;
-        int nextIndex, semiColonIndex, ampersandIndex, entityContentLen;
-        Optional<Integer> entityValue;
-        ScanLoop: for( var i = firstAmp; i < len; ++i )
+        var start = 0;
+        char c;
+        String replacement;
+        ScanLoop: for( var i = begin; i < len; ++i )
         {
             c = str.charAt( i );
-            if( c == '&' )
+            replacement = escapeTable.replacement( c );
+            if( isNull( replacement ) && (c <= 0x7F) ) continue ScanLoop;
+
+            //---* Flush the unchanged characters *----------------------------
+            if( start < i ) appendable.append( str, start, i );
+
+            if( nonNull( replacement ) )
             {
-                nextIndex = i + 1;
-                semiColonIndex = str.indexOf( ';', nextIndex );
-                if( semiColonIndex == -1 )
+                appendable.append( replacement );
+            }
+            else if( isHighSurrogate( c ) && (i + 1 < len) && isLowSurrogate( str.charAt( i + 1 ) ) )
+            {
+                final var low = str.charAt( i + 1 );
+                replacement = escapeTable.supplementaryReplacement( toCodePoint( c, low ) );
+                if( nonNull( replacement ) )
                 {
-                    buffer.append( c );
-                    continue ScanLoop;
+                    appendable.append( replacement );
                 }
-                ampersandIndex = str.indexOf( '&', i + 1 );
-                if( (ampersandIndex != -1) && (ampersandIndex < semiColonIndex) )
+                else
                 {
-                    //---* The text looks like "&...&...;" *-------------------
-                    buffer.append( c );
-                    continue ScanLoop;
+                    appendNumericalEscape( appendable, c );
+                    appendNumericalEscape( appendable, low );
                 }
-                final var entityContent = str.substring( nextIndex, semiColonIndex );
-                entityValue = Optional.empty();
-                entityContentLen = entityContent.length();
-                if( entityContentLen > 0 )
-                {
-                    if( entityContent.charAt( 0 ) == '#' )
-                    {
-                        /*
-                         * Escaped value content is an integer (decimal or
-                         * hexadecimal)
-                         */
-                        if( entityContentLen > 1 )
-                        {
-                            isHexChar = entityContent.charAt( 1 );
-                            try
-                            {
-                                final var value = switch( isHexChar )
-                                {
-                                    case 'X', 'x' -> Integer.parseInt( entityContent.substring( 2 ), 0x10 );
-                                    default -> Integer.parseInt( entityContent.substring( 1 ), 10 );
-                                };
-                                entityValue = value > 0xFFFFFF ? Optional.empty() : Optional.of( Integer.valueOf( value ) );
-                            }
-                            catch( @SuppressWarnings( "unused" ) final NumberFormatException e )
-                            {
-                                entityValue = Optional.empty();
-                            }
-                        }
-                    }
-                    else
-                    {
-                        //---* Escaped value content is an entity name *-------
-                        entityValue = entityValue( entityContent );
-                    }
-                }
-                buffer.append( entityValue.map( v -> Character.toString( v.intValue() ) ).orElseGet( () -> format( "&%s;", entityContent ) ) );
-
-                //---* Move  the index up to the semi-colon *------------------
                 //noinspection AssignmentToForLoopParameter
-                i = semiColonIndex;
+                ++i;
+            }
+            else
+            {
+                appendNumericalEscape( appendable, c );
+            }
+            start = i + 1;
+        }   //  ScanLoop:
+
+        //---* Flush the remaining characters *--------------------------------
+        if( start < len ) appendable.append( str, start, len );
+    }   //  doEscape()
+
+    /**
+     *  <p>{@summary The underlying unescape method.}</p>
+     *  <p>This is a state machine that looks at each character of the input
+     *  at most twice: plain text is copied in runs to the target. When an
+     *  ampersand is found, the following characters are scanned up to the
+     *  next semicolon or ampersand. Only in the first case, the characters in
+     *  between are treated as an entity reference; otherwise the ampersand is
+     *  taken literally, and the scan continues from the second ampersand.</p>
+     *  <p>Entity references that cannot be resolved stay in the current run
+     *  and are copied verbatim, together with the surrounding text.</p>
+     *
+     *  @param  appendable  The target for the results.
+     *  @param  s   The source to unescape.
+     *  @param  begin   The index of the first character to unescape.
+     *  @param  end The index after the last character to unescape.
+     *  @throws IOException Problems on writing to the {@code appendable}.
+     */
+    private void doUnescape( final Appendable appendable, final CharSequence s, final int begin, final int end ) throws IOException
+    {
+        assert nonNull( appendable ) : "appendable is null";
+        assert nonNull( s ) : "s is null";
+        assert (begin >= 0) && (begin <= end) && (end <= s.length()) : "invalid range";
+
+        EntityMap entityMap = null;
+        var runStart = begin;
+        var i = begin;
+        int j, codePoint;
+        char c;
+        ScanLoop: while( i < end )
+        {
+            if( s.charAt( i ) != '&' )
+            {
+                ++i;
+                continue ScanLoop;
+            }
+
+            //---* Look for the end of the entity reference *------------------
+            j = i + 1;
+            c = NULL_CHAR;
+            while( (j < end) && ((c = s.charAt( j )) != ';') && (c != '&') ) ++j;
+            if( (j == end) || (c == '&') )
+            {
+                //---* The ampersand is taken literally *----------------------
+                i = j;
+                continue ScanLoop;
+            }
+
+            //---* The text looks like "&...;" *-------------------------------
+            if( (j > i + 1) && (s.charAt( i + 1 ) == '#') )
+            {
+                codePoint = parseNumericReference( s, i + 2, j );
             }
             else
             {
-                buffer.append( c );
+                if( isNull( entityMap ) ) entityMap = m_EntityMap.get();
+                codePoint = entityMap.value( s, i + 1, j );
+            }
+            if( codePoint >= 0 )
+            {
+                if( runStart < i ) appendable.append( s, runStart, i );
+                appendCodePoint( appendable, codePoint );
+                runStart = j + 1;
             }
+            i = j + 1;
         }   //  ScanLoop:
+
+        //---* Flush the remaining characters *--------------------------------
+        if( runStart < end ) appendable.append( s, runStart, end );
     }   //  doUnescape()
 
     /**
@@ -420,7 +903,7 @@ public final class Entities
      *      that holds the entity name that is associated with the specified
      *      value.
      */
-    public final Optional<String> entityName( final int value ) { return m_EntityMap.name( value ); }
+    public final Optional<String> entityName( final int value ) { return Optional.ofNullable( m_EntityMap.get().name( value ) ); }
 
     /**
      *  Returns the value of the entity identified by the specified name.
@@ -430,7 +913,32 @@ public final class Entities
      *      {@link Optional}
      *      that holds the entity value associated with the specified name.
      */
-    public final Optional<Integer> entityValue( final String name ) { return m_EntityMap.value( name ); }
+    public final Optional<Integer> entityValue( final String name )
+    {
+        final var value = entityValueOrMinus1( requireNotEmptyArgument( name, "name" ) );
+        final Optional<Integer> retValue = value >= 0 ? Optional.of( Integer.valueOf( value ) ) : Optional.empty();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  entityValue()
+
+    /**
+     *  Returns the value of the entity identified by the specified name.
+     *  Different from
+     *  {@link #entityValue(String)},
+     *  this method does not allocate any object.
+     *
+     *  @param  name    The name to locate.
+     *  @return The value that is associated with the specified name, or -1 if
+     *      there is no entity with that name.
+     */
+    public final int entityValueOrMinus1( final CharSequence name )
+    {
+        final var retValue = m_EntityMap.get().value( requireNonNullArgument( name, "name" ), 0, name.length() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  entityValueOrMinus1()
 
     /**
      *  Escapes the characters in a {@code String}.<br>
@@ -438,14 +946,44 @@ public final class Entities
      *  {@code addEntity( "foo", "0xA1" )}, a call to
      *  {@code escape( "\u00A1" )} will return {@code "&foo;"}.
      *
+     *  <br>If the given text does not contain any character that needs
+     *  escaping (see
+     *  {@link #needsEscaping(CharSequence)}),
+     *  the result of its
+     *  {@link Object#toString() toString()}
+     *  method will be returned; for a {@code String}, this is the argument
+     *  itself.
+     *
      *  @param  str The {@code String} to escape.
-     *  @return A new escaped {@code String}.
+     *  @return The escaped {@code String}.
      */
     public final String escape( final CharSequence str )
     {
-        final var retValue = requireNonNullArgument( str, "str" ).codePoints()
-            .mapToObj( c -> entityName( c ).map( n -> format( "&%s;", n ) ).orElseGet( () -> c > 0x7F ? formatCodePoint( c ) : Character.toString( (char) c ) ) )
-            .collect( joining() );
+        final var begin = indexOfEscapable( requireNonNullArgument( str, "str" ) );
+        final String retValue;
+        if( begin < 0 )
+        {
+            //---* Nothing to escape *-----------------------------------------
+            retValue = str.toString();
+        }
+        else
+        {
+            final var len = str.length();
+            final var buffer = new StringBuilder( len + (len >> 3) + 16 );
+            try
+            {
+                doEscape( buffer, str, begin );
+            }
+            catch( final IOException e )
+            {
+                /*
+                 * Operations on a StringBuilder should not cause an
+                 * IOException.
+                 */
+                throw new UnexpectedExceptionError( e );
+            }
+            retValue = buffer.toString();
+        }
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -468,27 +1006,124 @@ public final class Entities
      */
     public final void escape( final Appendable appendable, final CharSequence str ) throws IOException
     {
-        requireNonNullArgument( appendable, "appendable" ).append( escape( requireNonNullArgument( str, "str" ) ) );
+        doEscape( requireNonNullArgument( appendable, "appendable" ), requireNonNullArgument( str, "str" ), 0 );
     }   //  escape()
 
     /**
-     *  Converts a code point into the numerical HTML escape format.
+     *  <p>{@summary Escapes the characters read from the given
+     *  {@link Reader}
+     *  and writes the result to the given
+     *  {@link Writer}.}</p>
+     *  <p>The input is processed in chunks of
+     *  {@value ToolKit#DEFAULT_BUFFER_SIZE}
+     *  characters, so the complete text will never be held in memory. A high
+     *  surrogate at the end of a chunk will be carried over to the next one,
+     *  so that surrogate pairs are escaped as for
+     *  {@link #escape(CharSequence)}.</p>
+     *  <p>Neither the reader nor the writer will be closed by this
+     *  method.</p>
      *
+     *  @param  reader  The source for the text to escape.
+     *  @param  writer  The target for the escaped text.
+     *  @throws IOException Problems on reading from the {@code reader} or on
+     *      writing to the {@code writer}.
+     *  @see #escape(CharSequence)
+     */
+    public final void escape( final Reader reader, final Writer writer ) throws IOException
+    {
+        requireNonNullArgument( reader, "reader" );
+        requireNonNullArgument( writer, "writer" );
+
+        final var buffer = new char [DEFAULT_BUFFER_SIZE];
+        var offset = 0;
+        var charsRead = reader.read( buffer, offset, buffer.length - offset );
+        while( charsRead >= 0 )
+        {
+            var end = offset + charsRead;
+            if( end > 0 )
+            {
+                //---* Keep a trailing high surrogate for the next chunk *-----
+                final var carry = isHighSurrogate( buffer [end - 1] );
+                if( carry ) --end;
+                doEscape( writer, CharBuffer.wrap( buffer, 0, end ), 0 );
+                if( carry ) buffer [0] = buffer [end];
+                offset = carry ? 1 : 0;
+            }
+            charsRead = reader.read( buffer, offset, buffer.length - offset );
+        }
+
+        //---* Flush a dangling high surrogate *-------------------------------
+        if( offset > 0 ) doEscape( writer, CharBuffer.wrap( buffer, 0, offset ), 0 );
+    }   //  escape()
+
+    /**
+     *  Writes the given code point to the given
+     *  {@link Appendable}.
+     *
+     *  @param  appendable  The target for the code point.
      *  @param  codePoint   The code point.
-     *  @return The HTML escaped code point.
+     *  @throws IOException Problems on writing to the {@code appendable}.
+     *  @throws IllegalArgumentException    The given code point is invalid.
      */
-    private static final String formatCodePoint( final int codePoint )
+    private static final void appendCodePoint( final Appendable appendable, final int codePoint ) throws IOException
     {
-        final Builder<String> builder = builder();
-        for( final var c : Character.toChars( codePoint ) )
+        if( (codePoint >= 0) && (codePoint <= Character.MAX_VALUE) )
+        {
+            appendable.append( (char) codePoint );
+        }
+        else
         {
-            builder.add( format( "&#x%X;", (int) c ) );
+            appendable.append( Character.toString( codePoint ) );
         }
-        final var retValue = builder.build().collect( joining() );
+    }   //  appendCodePoint()
+
+    /**
+     *  Writes the given character in the numerical HTML escape format to the
+     *  given
+     *  {@link Appendable}.
+     *
+     *  @param  appendable  The target for the escape sequence.
+     *  @param  c   The character.
+     *  @throws IOException Problems on writing to the {@code appendable}.
+     */
+    @SuppressWarnings( "MagicNumber" )
+    private static final void appendNumericalEscape( final Appendable appendable, final char c ) throws IOException
+    {
+        appendable.append( "&#x" );
+        var shift = 12;
+        while( (shift > 0) && (((c >> shift) & 0xF) == 0) ) shift -= 4;
+        for( ; shift >= 0; shift -= 4 )
+        {
+            appendable.append( HEX_DIGITS [(c >> shift) & 0xF] );
+        }
+        appendable.append( ';' );
+    }   //  appendNumericalEscape()
+
+    /**
+     *  Returns the index of the first character in the given text that will
+     *  be changed by escaping.
+     *
+     *  @param  str The text.
+     *  @return The index of the first character that needs escaping, or -1
+     *      if the text can be used as it is.
+     */
+    private final int indexOfEscapable( final CharSequence str )
+    {
+        final var escapeTable = m_EscapeTable.get();
+        final var len = str.length();
+        var retValue = -1;
+        ScanLoop: for( var i = 0; i < len; ++i )
+        {
+            if( escapeTable.requiresEscape( str.charAt( i ) ) )
+            {
+                retValue = i;
+                break ScanLoop;
+            }
+        }   //  ScanLoop:
 
         //---* Done *----------------------------------------------------------
         return retValue;
-    }   //  formatCodePoint()
+    }   //  indexOfEscapable()
 
     /**
      *  Returns a list of all known entities.
@@ -499,7 +1134,7 @@ public final class Entities
     @SuppressWarnings( "unused" )
     public final String [] listEntities()
     {
-        final var retValue = m_EntityMap.list()
+        final var retValue = m_EntityMap.get().list()
             .sorted()
             .map( e ->
             {
@@ -518,15 +1153,52 @@ public final class Entities
         return retValue;
     }   //  listEntities()
 
+    /**
+     *  Reads a compiled entity set from the resource identified by the given
+     *  URL.
+     *
+     *  @param  resourceURL The URL for the resource.
+     *  @return The entity map.
+     *
+     *  @see #COMPILED_ENTITIES_SUFFIX
+     */
+    @SuppressWarnings( "ProhibitedExceptionThrown" )
+    private static EntityMap loadCompiledEntities( final URL resourceURL )
+    {
+        assert nonNull( resourceURL ) : "resourceURL is null";
+
+        try( final var inputStream = new DataInputStream( new BufferedInputStream( resourceURL.openStream() ) ) )
+        {
+            if( inputStream.readInt() != COMPILED_ENTITIES_MAGIC ) throw new Error( "Invalid compiled entities: " + resourceURL );
+            final var count = inputStream.readInt();
+            final var names = new String [count];
+            final var values = new int [count];
+            for( var i = 0; i < count; ++i )
+            {
+                names [i] = inputStream.readUTF();
+                values [i] = inputStream.readInt();
+            }
+            final var retValue = new PrimitiveEntityMap( names, values );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }
+        catch( final IOException e )
+        {
+            throw new Error( "Failed to read resource " + resourceURL, e );
+        }
+    }   //  loadCompiledEntities()
+
     /**
      *  Load the entities from the resource identified by the given URL to the
-     *  given target entity map.
+     *  given target map.
      *
-     *  @param  entityMap   The map that is the target for the entities.
+     *  @param  entityMap   The map that is the target for the entities; it
+     *      takes the entity names and their values.
      *  @param  resourceURL The URL for the resource.
      */
     @SuppressWarnings( "ProhibitedExceptionThrown" )
-    private static void loadEntities( final EntityMap entityMap, final URL resourceURL )
+    private static void loadEntities( final Map<String,Integer> entityMap, final URL resourceURL )
     {
         assert nonNull( entityMap ) : "entityMap is null";
         assert nonNull( resourceURL ) : "resourceURL is null";
@@ -544,15 +1216,72 @@ public final class Entities
         }
     }   //  loadEntities()
 
+    /**
+     *  Loads the entity map, either from the compiled entity set with the
+     *  given name or, if that does not exist, from the given resource files.
+     *
+     *  @param  compiledName    The name of the compiled entity set, without
+     *      the suffix
+     *      {@value #COMPILED_ENTITIES_SUFFIX}.
+     *  @param  resourceNames   The names of the resource files with the entity
+     *      definitions.
+     *  @return The entity map.
+     */
+    private static EntityMap loadEntityMap( final String compiledName, final String... resourceNames )
+    {
+        final EntityMap retValue;
+        final var compiledURL = resourceURL( compiledName + COMPILED_ENTITIES_SUFFIX );
+        if( nonNull( compiledURL ) )
+        {
+            retValue = loadCompiledEntities( compiledURL );
+        }
+        else
+        {
+            final Map<String,Integer> entities = new LinkedHashMap<>();
+            for( final var resourceName : resourceNames )
+            {
+                final var resourceURL = resourceURL( resourceName );
+                assert nonNull( resourceURL ) : format( "URL is null for %s", resourceName );
+                loadEntities( entities, resourceURL );
+            }
+            retValue = new PrimitiveEntityMap( entities.keySet().toArray( String []::new ), entities.values().stream().mapToInt( Integer::intValue ).toArray() );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  loadEntityMap()
+
+    /**
+     *  <p>{@summary Checks whether the given text contains any character that
+     *  would be changed by
+     *  {@link #escape(CharSequence)}.}
+     *  These are all characters outside the ASCII range, and those ASCII
+     *  characters that have an entity in this set of entities.</p>
+     *  <p>The check does not allocate any memory; it can be used to avoid
+     *  the creation of a new {@code String} for text that can be used as it
+     *  is.</p>
+     *
+     *  @param  str The text to check.
+     *  @return {@code true} if the text has to be escaped, {@code false} if
+     *      it can be used as it is.
+     */
+    public final boolean needsEscaping( final CharSequence str )
+    {
+        final var retValue = indexOfEscapable( requireNonNullArgument( str, "str" ) ) >= 0;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  needsEscaping()
+
     /**
      *  Parses the given input line for an entity name and the related code
-     *  point, and adds both to the given entity map.
+     *  point, and adds both to the given map.
      *
      *  @param  entityMap   The map that is the target for the entities.
      *  @param  inputLine   The input line.
      */
     @SuppressWarnings( "ProhibitedExceptionThrown" )
-    private static void parseAndAdd( final EntityMap entityMap, final String inputLine )
+    private static void parseAndAdd( final Map<String,Integer> entityMap, final String inputLine )
     {
         //---* Strip the comment *---------------------------------------------
         var pos = inputLine.indexOf( "#" );
@@ -566,7 +1295,7 @@ public final class Entities
         try
         {
             final var codePoint = Integer.valueOf( value );
-            entityMap.add( entityName, codePoint );
+            entityMap.put( entityName, codePoint );
         }
         catch( final NumberFormatException e )
         {
@@ -575,23 +1304,93 @@ public final class Entities
     }   //  parseAndAdd()
 
     /**
-     *  Unescapes the entities in a {@code String}.<br>
+     *  <p>{@summary Parses the body of a numerical entity reference (the part
+     *  after &quot;{@code &#}&quot;) without creating a {@code String}.}</p>
+     *  <p>A leading {@code x} or {@code X} selects hexadecimal digits. The
+     *  number itself is parsed as
+     *  {@link Integer#parseInt(CharSequence, int, int, int)}
+     *  would do.</p>
+     *
+     *  @param  s   The character sequence that holds the reference.
+     *  @param  start   The index of the first character after the
+     *      {@code #}.
+     *  @param  end The index of the terminating semicolon.
+     *  @return The code point, or -1 if the reference is invalid or does not
+     *      denote a valid code point.
+     */
+    @SuppressWarnings( "MagicNumber" )
+    private static final int parseNumericReference( final CharSequence s, final int start, final int end )
+    {
+        var i = start;
+        var radix = 10;
+        if( (i < end) && ((s.charAt( i ) == 'x') || (s.charAt( i ) == 'X')) )
+        {
+            radix = 0x10;
+            ++i;
+        }
+        final var isNegative = (i < end) && (s.charAt( i ) == '-');
+        if( isNegative || ((i < end) && (s.charAt( i ) == '+')) ) ++i;
+
+        var retValue = i < end ? 0 : -1;
+        int digit;
+        ParseLoop: while( i < end )
+        {
+            digit = Character.digit( s.charAt( i++ ), radix );
+            retValue = digit < 0 ? -1 : retValue * radix + digit;
+            if( (retValue < 0) || (retValue > MAX_CODE_POINT) )
+            {
+                retValue = -1;
+                break ParseLoop;
+            }
+        }   //  ParseLoop:
+
+        //---* "-0" is the only valid negative number *------------------------
+        if( isNegative && (retValue != 0) ) retValue = -1;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  parseNumericReference()
+
+    /**
+     *  Returns the URL for the resource with the given name from the package
+     *  of this class.
+     *
+     *  @param  resourceName    The name of the resource.
+     *  @return The URL, or {@code null} if there is no such resource.
+     */
+    private static URL resourceURL( final String resourceName )
+    {
+        final var packageName = Entities.class.getPackageName().replace( '.', '/' );
+        final var retValue = Entities.class.getResource( format( "/%s/%s", packageName, resourceName ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  resourceURL()
+
+    /**
+     *  <p>{@summary Unescapes the entities in a {@code String}.}<br>
      *  <br>For example, if you have called {@code addEntity( "foo", 0xA1 )},
-     *  a call to {@code unescape( "&foo;")} will return {@code "\u00A1"}.
+     *  a call to {@code unescape( "&foo;")} will return {@code "\u00A1"}.</p>
+     *  <p>Unknown entities and numerical references that do not denote a
+     *  valid code point are left alone.</p>
      *
      *  @param  str The {@code String} to escape.
      *  @return A new escaped {@code String}.
      */
     public final String unescape( final CharSequence str )
     {
-        var retValue = requireNonNullArgument( str, "str" ).toString();
-        final var firstAmp = retValue.indexOf( '&' );
-        if( firstAmp >= 0 )
+        final var len = requireNonNullArgument( str, "str" ).length();
+        var firstAmp = 0;
+        while( (firstAmp < len) && (str.charAt( firstAmp ) != '&') ) ++firstAmp;
+
+        final String retValue;
+        if( firstAmp < len )
         {
-            final var buffer = new StringBuilder( str.length() * 2 );
+            final var buffer = new StringBuilder( len );
             try
             {
-                doUnescape( buffer, str, firstAmp );
+                buffer.append( str, 0, firstAmp );
+                doUnescape( buffer, str, firstAmp, len );
             }
             catch( final IOException e )
             {
@@ -603,6 +1402,10 @@ public final class Entities
             }
             retValue = buffer.toString();
         }
+        else
+        {
+            retValue = str.toString();
+        }
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -624,15 +1427,33 @@ public final class Entities
      */
     public final void unescape( final Appendable appendable, final CharSequence str ) throws IOException
     {
-        final var firstAmp = requireNonNullArgument( str, "str" ).toString().indexOf( "&" );
-        if( firstAmp >= 0 )
-        {
-            doUnescape( requireNonNullArgument( appendable, "appendable" ), str, firstAmp );
-        }
-        else
-        {
-            requireNonNullArgument( appendable, "appendable" ).append( str );
-        }
+        requireNonNullArgument( appendable, "appendable" );
+        doUnescape( appendable, requireNonNullArgument( str, "str" ), 0, str.length() );
+    }   //  unescape()
+
+    /**
+     *  Unescapes the escaped entities in the given range of the
+     *  {@code char} array and writes the result to the
+     *  {@link Appendable}
+     *  passed.
+     *
+     *  @param  appendable  The {@code Appendable} to write the results to.
+     *  @param  chars   The source to unescape.
+     *  @param  offset  The index of the first character to unescape.
+     *  @param  length  The number of characters to unescape.
+     *  @throws IOException when {@code Appendable} passed throws the exception
+     *      from calls to the
+     *      {@link Appendable#append(char)}
+     *      method.
+     *  @throws IndexOutOfBoundsException   The range is not within the
+     *      bounds of the array.
+     *  @see #unescape(CharSequence)
+     */
+    public final void unescape( final Appendable appendable, final char [] chars, final int offset, final int length ) throws IOException
+    {
+        requireNonNullArgument( appendable, "appendable" );
+        checkFromIndexSize( offset, length, requireNonNullArgument( chars, "chars" ).length );
+        doUnescape( appendable, CharBuffer.wrap( chars ), offset, offset + length );
     }   //  unescape()
 }
 //  class Entities
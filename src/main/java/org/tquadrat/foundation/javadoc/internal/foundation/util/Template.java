@@ -18,28 +18,29 @@
 package org.tquadrat.foundation.javadoc.internal.foundation.util;
 
 import static java.lang.String.format;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
-import static java.util.regex.Pattern.compile;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmptyOrBlank;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
 
+import java.io.IOException;
 import java.io.Serial;
 import java.io.Serializable;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
-import org.tquadrat.foundation.javadoc.internal.foundation.exception.ImpossibleExceptionError;
 
 /**
  *  <p>{@summary An instance of this class is basically a wrapper around a
@@ -57,6 +58,15 @@ import org.tquadrat.foundation.javadoc.internal.foundation.exception.ImpossibleE
  *  <p>The prefix character is part of the name.</p>
  *  <p>Finally, there is the single underscore that is allowed as a special
  *  variable.</p>
+ *  <p>The template text will be split into literal text and variables only
+ *  once, on the first call to one of the
+ *  {@code replaceVariable()}
+ *  methods or to
+ *  {@link #compile()};
+ *  later calls will only concatenate the literal text and the replacement
+ *  values. Templates that are used repeatedly should be obtained through
+ *  {@link #compile(CharSequence)},
+ *  that keeps a limited number of compiled templates in a cache.</p>
  *
  *  @author Thomas Thrien - thomas.thrien@tquadrat.org
  *  @version $Id: Template.java 1133 2024-05-10 21:43:08Z tquadrat $
@@ -67,12 +77,171 @@ import org.tquadrat.foundation.javadoc.internal.foundation.exception.ImpossibleE
 @API( status = STABLE, since = "0.1.0" )
 public class Template implements Serializable
 {
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  <p>{@summary The template text, split into literal text and
+     *  variables.}</p>
+     *  <p>The literal text before the first variable is at index 0 of
+     *  {@link #literals()},
+     *  the literal text after the variable at index <i>n</i> of
+     *  {@link #variables()}
+     *  is at index <i>n</i>+1. A variable that occurs more than once in the
+     *  template has the same slot in
+     *  {@link #names()}
+     *  for each occurrence, so that its value has to be retrieved only
+     *  once.</p>
+     *
+     *  @param  literals    The literal text between the variables.
+     *  @param  variables   The indexes of the variables in {@code names}, in
+     *      the sequence of their occurrence.
+     *  @param  names   The names of the variables, without duplicates.
+     *  @param  minimumLength   The length of the literal text.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: Template.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: Template.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    private record Segments( String [] literals, int [] variables, String [] names, int minimumLength )
+    {
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  Splits the given text into literal text and variables.
+         *
+         *  @param  text    The template text.
+         *  @return The segments of the template text.
+         */
+        public static final Segments split( final CharSequence text )
+        {
+            assert nonNull( text ) : "text is null";
+
+            final List<String> literals = new ArrayList<>();
+            final List<Integer> variables = new ArrayList<>();
+            final Map<String,Integer> names = new LinkedHashMap<>();
+            final var len = text.length();
+            var minimumLength = 0;
+            var last = 0;
+            var i = 0;
+            while( i < len )
+            {
+                final var end = scanVariable( text, i );
+                if( end < 0 )
+                {
+                    i = ~end;
+                    continue;
+                }
+                final var literal = text.subSequence( last, i ).toString();
+                literals.add( literal );
+                minimumLength += literal.length();
+                final var name = text.subSequence( i + 2, end - 1 ).toString();
+                variables.add( names.computeIfAbsent( name, k -> Integer.valueOf( names.size() ) ) );
+                last = end;
+                i = end;
+            }
+            final var tail = text.subSequence( last, text.length() ).toString();
+            literals.add( tail );
+            minimumLength += tail.length();
+
+            final var retValue = new Segments( literals.toArray( String []::new ), variables.stream().mapToInt( Integer::intValue ).toArray(), names.keySet().toArray( String []::new ), minimumLength );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  split()
+
+        /**
+         *  Concatenates the literal text and the values for the variables.
+         *
+         *  @param  retriever   The function that will retrieve the replacement
+         *      values for the given variable names; it is called only once for
+         *      each variable name.
+         *  @return The resulting text.
+         */
+        public final String render( final Function<? super String, Optional<String>> retriever )
+        {
+            assert nonNull( retriever ) : "retriever is null";
+
+            final String retValue;
+            if( variables.length == 0 )
+            {
+                retValue = literals [0];
+            }
+            else
+            {
+                //---* Retrieve the values *-----------------------------------
+                final var values = new String [names.length];
+                var length = minimumLength;
+                for( var i = 0; i < names.length; ++i )
+                {
+                    final var name = names [i];
+                    values [i] = retriever.apply( name ).orElseGet( () -> format( VARIABLE_TEMPLATE, name ) );
+                    length += values [i].length();
+                }
+
+                //---* Concatenate the text *----------------------------------
+                final var buffer = new StringBuilder( length );
+                buffer.append( literals [0] );
+                for( var i = 0; i < variables.length; ++i )
+                {
+                    buffer.append( values [variables [i]] )
+                        .append( literals [i + 1] );
+                }
+                retValue = buffer.toString();
+            }
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  render()
+
+        /**
+         *  Writes the literal text and the values for the variables to the
+         *  given target. The value for a variable is resolved when the
+         *  variable occurs for the first time.
+         *
+         *  @param  appendable  The target.
+         *  @param  resolver    The resolver for the variable values; it is
+         *      called only once for each variable name.
+         *  @throws IOException Problems on writing to the target.
+         */
+        public final void render( final Appendable appendable, final VariableResolver resolver ) throws IOException
+        {
+            assert nonNull( appendable ) : "appendable is null";
+            assert nonNull( resolver ) : "resolver is null";
+
+            appendable.append( literals [0] );
+            if( variables.length > 0 )
+            {
+                final var values = new String [names.length];
+                for( var i = 0; i < variables.length; ++i )
+                {
+                    final var slot = variables [i];
+                    var value = values [slot];
+                    if( isNull( value ) )
+                    {
+                        final var name = names [slot];
+                        value = resolver.resolve( name ).orElseGet( () -> format( VARIABLE_TEMPLATE, name ) );
+                        values [slot] = value;
+                    }
+                    appendable.append( value )
+                        .append( literals [i + 1] );
+                }
+            }
+        }   //  render()
+    }
+    //  record Segments
+
         /*-----------*\
     ====** Constants **========================================================
         \*-----------*/
     /**
      *  The regular expression to identify a variable in a char sequence:
-     *  {@value}.
+     *  {@value}.<br>
+     *  <br>The methods of this class do not use this regular expression
+     *  itself, but a scanner that recognises exactly the same variables.
      *
      *  @see #findVariables(CharSequence)
      *  @see #findVariables()
@@ -108,6 +277,13 @@ public class Template implements Serializable
     @API( status = STABLE, since = "0.1.0" )
     public static final String VARIABLE_TEMPLATE = "${%1$s}";
 
+    /**
+     *  The maximum number of compiled templates that are kept by
+     *  {@link #compile(CharSequence)}:
+     *  {@value}.
+     */
+    private static final int TEMPLATE_CACHE_SIZE = 256;
+
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
@@ -118,20 +294,16 @@ public class Template implements Serializable
      */
     private final String m_TemplateText;
 
-        /*------------------------*\
-    ====** Static Initialisations **===========================================
-        \*------------------------*/
     /**
-     *  The pattern that is used to identify a variable in a char sequence.
-     *
-     *  @see #replaceVariable(CharSequence, Map...)
-     *  @see #replaceVariable(Map...)
-     *  @see #findVariables(CharSequence)
-     *  @see #findVariables()
-     *  @see #VARIABLE_PATTERN
+     *  The template text, split into literal text and variables; will be
+     *  {@code null} until the template was compiled.
      */
-    private static final Pattern m_VariablePattern;
+    @SuppressWarnings( "TransientFieldNotInitialized" )
+    private transient volatile Segments m_Segments;
 
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
     /**
      *  The serial version UID for objects of this class: {@value}.
      *
@@ -140,17 +312,36 @@ public class Template implements Serializable
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     *  The cache for the compiled templates, with the template text as the
+     *  key; the least recently used entry will be removed when the cache
+     *  exceeds
+     *  {@value #TEMPLATE_CACHE_SIZE}
+     *  entries.
+     *
+     *  @see #compile(CharSequence)
+     */
+    private static final Map<String,Template> m_TemplateCache;
+
     static
     {
-        //---* The regex patterns *--------------------------------------------
-        try
-        {
-            m_VariablePattern = compile( VARIABLE_PATTERN );
-        }
-        catch( final PatternSyntaxException e )
+        //---* The template cache *--------------------------------------------
+        m_TemplateCache = new LinkedHashMap<>( TEMPLATE_CACHE_SIZE, 0.75f, true )
         {
-            throw new ImpossibleExceptionError( "The patterns are constant values that have been tested", e );
-        }
+            /**
+             *  The serial version UID for objects of this class: {@value}.
+             *
+             *  @hidden
+             */
+            @Serial
+            private static final long serialVersionUID = 1L;
+
+            /**
+             *  {@inheritDoc}
+             */
+            @Override
+            protected final boolean removeEldestEntry( final Map.Entry<String,Template> eldest ) { return size() > TEMPLATE_CACHE_SIZE; }
+        };
     }
 
         /*--------------*\
@@ -171,41 +362,60 @@ public class Template implements Serializable
     ====** Methods **==========================================================
         \*---------*/
     /**
-     *  Escapes backslash ('\') and dollar sign ('$') for regex replacements.
-     *
-     *  @param  s   The source string.
-     *  @return The string with the escaped characters.
+     *  Splits the template text into literal text and variables, so that
+     *  subsequent calls to the
+     *  {@code replaceVariable()}
+     *  methods need to concatenate only the literal text and the replacement
+     *  values.
      *
-     *  @see java.util.regex.Matcher#appendReplacement(StringBuffer,String)
+     *  @return This instance.
      *
      *  @since 0.1.0
      */
-    @API( status = INTERNAL, since = "0.1.0" )
-    private static String escapeRegexReplacement( final CharSequence s )
+    @API( status = STABLE, since = "0.1.0" )
+    public final Template compile()
     {
-        assert nonNull( s ) : "s is null";
+        getSegments();
 
-        //---* Escape the backslashes and dollar signs *-------------------
-        final var len = s.length();
-        final var retValue = new StringBuilder( (len * 12) / 10 );
-        char c;
-        EscapeLoop: for( var i = 0; i < len; ++i )
+        //---* Done *----------------------------------------------------------
+        return this;
+    }   //  compile()
+
+    /**
+     *  Returns a compiled template for the given template text. The
+     *  templates are cached, so that a template text that was already used
+     *  before does not need to be split again.
+     *
+     *  @param  templateText    The template text, containing variable in the
+     *      form <code>${&lt;<i>name</i>&gt;}</code>.
+     *  @return The compiled template.
+     *
+     *  @see #compile()
+     *
+     *  @since 0.1.0
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static final Template compile( final CharSequence templateText )
+    {
+        final var key = requireNonNullArgument( templateText, "templateText" ).toString();
+        Template retValue;
+        synchronized( m_TemplateCache )
         {
-            c = s.charAt( i );
-            switch( c )
+            retValue = m_TemplateCache.get( key );
+        }
+        if( isNull( retValue ) )
+        {
+            retValue = new Template( key ).compile();
+            synchronized( m_TemplateCache )
             {
-                case '\\':
-                case '$':
-                    retValue.append( '\\' ); // The fall through is intended here!
-                    //$FALL-THROUGH$
-                default: // Do nothing ...
+                final var other = m_TemplateCache.putIfAbsent( key, retValue );
+                if( nonNull( other ) ) retValue = other;
             }
-            retValue.append( c );
-        }   //  EscapeLoop:
+        }
 
         //---* Done *----------------------------------------------------------
-        return retValue.toString();
-    }   //  escapeRegexReplacement()
+        return retValue;
+    }   //  compile()
 
     /**
      *  Collects all the variables of the form
@@ -236,12 +446,20 @@ public class Template implements Serializable
         final Collection<String> buffer = new HashSet<>();
         if( nonNull( text ) )
         {
-            final var matcher = m_VariablePattern.matcher( text );
-            String found;
-            while( matcher.find() )
+            final var len = text.length();
+            var i = 0;
+            while( i < len )
             {
-                found = matcher.group( 1 );
-                buffer.add( found );
+                final var end = scanVariable( text, i );
+                if( end < 0 )
+                {
+                    i = ~end;
+                }
+                else
+                {
+                    buffer.add( text.subSequence( i + 2, end - 1 ).toString() );
+                    i = end;
+                }
             }
         }
         final var retValue = Set.copyOf( buffer );
@@ -278,6 +496,28 @@ public class Template implements Serializable
         return retValue;
     }   //  findVariables()
 
+    /**
+     *  Returns the template text, split into literal text and variables.
+     *
+     *  @return The segments.
+     */
+    private final Segments getSegments()
+    {
+        var retValue = m_Segments;
+        if( isNull( retValue ) )
+        {
+            /*
+             * Splitting the text is idempotent, so it does not matter if two
+             * threads do it at the same time.
+             */
+            retValue = Segments.split( m_TemplateText );
+            m_Segments = retValue;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getSegments()
+
     /**
      *  Checks whether the adjusted template contains the variable of
      *  the form <code>${<i>&lt;name&gt;</i>}</code> (matching the pattern
@@ -319,7 +559,18 @@ public class Template implements Serializable
     @API( status = STABLE, since = "0.1.0" )
     public static final boolean hasVariables( final CharSequence s )
     {
-        final var retValue = isNotEmptyOrBlank( s ) && m_VariablePattern.matcher( s ).find();
+        var retValue = false;
+        if( isNotEmptyOrBlank( s ) )
+        {
+            final var len = s.length();
+            var i = 0;
+            while( !retValue && (i < len) )
+            {
+                final var end = scanVariable( s, i );
+                retValue = end >= 0;
+                i = ~end;
+            }
+        }
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -355,12 +606,7 @@ public class Template implements Serializable
     @API( status = STABLE, since = "0.1.0" )
     public static final boolean isValidVariableName( final CharSequence name )
     {
-        var retValue = isNotEmptyOrBlank( requireNonNullArgument( name, "name" ) );
-        if( retValue )
-        {
-            final var text = format( VARIABLE_TEMPLATE, name );
-            retValue = m_VariablePattern.matcher( text ).matches();
-        }
+        final var retValue = isNotEmptyOrBlank( requireNonNullArgument( name, "name" ) ) && isVariableName( name, 0, name.length() );
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -382,12 +628,134 @@ public class Template implements Serializable
     @API( status = STABLE, since = "0.1.0" )
     public static final boolean isVariable( final CharSequence s )
     {
-        final var retValue = isNotEmptyOrBlank( s ) && m_VariablePattern.matcher( s ).matches();
+        var retValue = isNotEmptyOrBlank( s );
+        if( retValue )
+        {
+            final var len = s.length();
+            retValue = (len > 3)
+                && (s.charAt( 0 ) == '$')
+                && (s.charAt( 1 ) == '{')
+                && (s.charAt( len - 1 ) == '}')
+                && isVariableName( s, 2, len - 1 );
+        }
 
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  isVariable()
 
+    /**
+     *  Checks whether the given character is one of the line terminators that
+     *  are not allowed in a variable name. These are the characters that are
+     *  not matched by the dot ('.') in the
+     *  {@linkplain #VARIABLE_PATTERN regular expression}.
+     *
+     *  @param  c   The character to check.
+     *  @return {@code true} if the character is a line terminator,
+     *      {@code false} otherwise.
+     */
+    @SuppressWarnings( "MagicNumber" )
+    private static final boolean isLineTerminator( final char c )
+    {
+        final var retValue = switch( c )
+        {
+            case '\n', '\r', '\u0085', '\u2028', '\u2029' -> true;
+            default -> false;
+        };
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isLineTerminator()
+
+    /**
+     *  Checks whether the given character is one of the prefix characters for
+     *  a variable name.
+     *
+     *  @param  c   The character to check.
+     *  @return {@code true} if the character is a prefix character,
+     *      {@code false} otherwise.
+     */
+    private static final boolean isVariablePrefix( final char c )
+    {
+        final var retValue = switch( c )
+        {
+            case '~', '/', '=', '%', ':', '&' -> true;
+            default -> false;
+        };
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isVariablePrefix()
+
+    /**
+     *  Checks whether the given range of the given text is a valid variable
+     *  name, as defined by
+     *  {@link #VARIABLE_PATTERN}.
+     *
+     *  @param  text    The text.
+     *  @param  start   The index of the first character of the name.
+     *  @param  end The index after the last character of the name.
+     *  @return {@code true} if the range holds a valid variable name,
+     *      {@code false} otherwise.
+     */
+    private static final boolean isVariableName( final CharSequence text, final int start, final int end )
+    {
+        assert nonNull( text ) : "text is null";
+        assert (start >= 0) && (start <= end) && (end <= text.length()) : "invalid range";
+
+        var retValue = false;
+        if( (end - start == 1) && (text.charAt( start ) == '_') )
+        {
+            retValue = true;
+        }
+        else
+        {
+            var i = start;
+            if( (i < end) && isVariablePrefix( text.charAt( i ) ) ) ++i;
+            if( i < end )
+            {
+                final var codePoint = Character.codePointAt( text, i );
+                retValue = Character.isAlphabetic( codePoint );
+                i += Character.charCount( codePoint );
+                ScanLoop: for( ; retValue && (i < end); ++i )
+                {
+                    retValue = !isLineTerminator( text.charAt( i ) );
+                }   //  ScanLoop:
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isVariableName()
+
+    /**
+     *  <p>{@summary Writes the adjusted template to the given
+     *  {@link Writer},
+     *  after replacing the variables of the form
+     *  <code>${&lt;<i>name</i>&gt;}</code> with the values provided by the
+     *  given resolver.}</p>
+     *  <p>The result is written piece by piece; it will never be held in
+     *  memory as a whole. The resolver will be called only once for each
+     *  variable name, when the variable occurs for the first time.</p>
+     *  <p>If the resolver does not provide a value for a variable, the
+     *  variable will not be replaced at all. If the value contains a variable
+     *  itself, this will not be replaced.</p>
+     *
+     *  @param  writer  The target for the result.
+     *  @param  resolver    The resolver for the variable values; usually a
+     *      chain built with
+     *      {@link VariableResolver#orElse(VariableResolver)}.
+     *  @throws IOException Problems on writing to the {@code writer}.
+     *
+     *  @see #replaceVariable(Function)
+     *
+     *  @since 0.1.0
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public final void render( final Writer writer, final VariableResolver resolver ) throws IOException
+    {
+        getSegments().render( requireNonNullArgument( writer, "writer" ), requireNonNullArgument( resolver, "resolver" ) );
+    }   //  render()
+
     /**
      *  Replaces the variables of the form <code>${&lt;<i>name</i>&gt;}</code>
      *  in the given String with values from the given maps. The method will
@@ -459,7 +827,9 @@ public class Template implements Serializable
     @SafeVarargs
     public final String replaceVariable( final Map<String,?>... sources )
     {
-        final var retValue = replaceVariable( m_TemplateText, sources );
+        requireNonNullArgument( sources, "sources" );
+
+        final var retValue = replaceVariable( variable -> retrieveVariableValue( variable, sources ) );
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -498,8 +868,7 @@ public class Template implements Serializable
      */
     public final String replaceVariable( final Function<? super String, Optional<String>> retriever )
     {
-
-        final var retValue = replaceVariable( m_TemplateText, retriever );
+        final var retValue = getSegments().render( requireNonNullArgument( retriever, "retriever" ) );
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -543,22 +912,7 @@ public class Template implements Serializable
     {
         requireNonNullArgument( retriever, "retriever" );
 
-        final Map<String,String> cache = new HashMap<>();
-
-        String retValue = null;
-        if( nonNull( text ) )
-        {
-            final var matcher = m_VariablePattern.matcher( text );
-            final var buffer = new StringBuilder();
-            while( matcher.find() )
-            {
-                final var variable = matcher.group( 0 );
-                final var replacement = cache.computeIfAbsent( variable, v -> escapeRegexReplacement( retriever.apply( matcher.group( 1 ) ).orElse( v ) ) );
-                matcher.appendReplacement( buffer, replacement );
-            }
-            matcher.appendTail( buffer );
-            retValue = buffer.toString();
-        }
+        final var retValue = nonNull( text ) ? Segments.split( text ).render( retriever ) : null;
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -599,6 +953,75 @@ public class Template implements Serializable
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  retrieveVariableValue()
+
+    /**
+     *  <p>{@summary Checks whether there is a variable of the form
+     *  <code>${&lt;<i>name</i>&gt;}</code> at the given position of the given
+     *  text.} The result is the same as for a match of
+     *  {@link #VARIABLE_PATTERN}
+     *  at this position, but no
+     *  {@link java.util.regex.Matcher}
+     *  is required.</p>
+     *  <p>If there is a variable, the return value is the index after its
+     *  closing brace; the name of the variable starts at {@code start + 2}
+     *  and ends before {@code end - 1}.</p>
+     *  <p>Otherwise the return value is the bitwise complement of the index
+     *  where the search for the next variable should continue. This index is
+     *  always greater than {@code start}, and there can be no variable before
+     *  it, so the text will be scanned only once.</p>
+     *
+     *  @param  text    The text.
+     *  @param  start   The index where the variable would start.
+     *  @return The index after the variable, or the complement of the index
+     *      for the next try.
+     */
+    @SuppressWarnings( "MagicNumber" )
+    private static final int scanVariable( final CharSequence text, final int start )
+    {
+        assert nonNull( text ) : "text is null";
+
+        final var len = text.length();
+        var retValue = ~(start + 1);
+        if( (start + 3 < len) && (text.charAt( start ) == '$') && (text.charAt( start + 1 ) == '{') )
+        {
+            var i = start + 2;
+            if( (text.charAt( i ) == '_') && (text.charAt( i + 1 ) == '}') )
+            {
+                //---* The special variable *----------------------------------
+                retValue = i + 2;
+            }
+            else
+            {
+                if( isVariablePrefix( text.charAt( i ) ) ) ++i;
+                if( i < len )
+                {
+                    final var codePoint = Character.codePointAt( text, i );
+                    if( Character.isAlphabetic( codePoint ) )
+                    {
+                        /*
+                         * The name ends with the first closing brace; a line
+                         * terminator before means that there is no variable
+                         * that starts before the line terminator.
+                         */
+                        ScanLoop: for( i += Character.charCount( codePoint ); i < len; ++i )
+                        {
+                            final var c = text.charAt( i );
+                            if( c == '}' )
+                            {
+                                retValue = i + 1;
+                                break ScanLoop;
+                            }
+                            if( isLineTerminator( c ) ) break ScanLoop;
+                        }   //  ScanLoop:
+                        if( retValue < 0 ) retValue = ~i;
+                    }
+                }
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  scanVariable()
 }
 //  class Template
 
@@ -0,0 +1,209 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal.foundation.util;
+
+import static java.lang.System.getProperty;
+import static java.lang.System.getenv;
+import static java.util.Objects.nonNull;
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyArgument;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary Provides the values for the variables in a
+ *  {@link Template}.}</p>
+ *  <p>Resolvers can be chained with
+ *  {@link #orElse(VariableResolver)};
+ *  the first resolver in the chain that provides a value for a variable
+ *  wins. The factory methods of this interface create resolvers for
+ *  {@linkplain #of(Map) maps},
+ *  {@linkplain #ofSystemProperties(String) system properties},
+ *  {@linkplain #ofEnvironment() environment variables}
+ *  and
+ *  {@linkplain #of(String, Supplier) lazily computed values}.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: VariableResolver.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ *
+ *  @see Template#render(java.io.Writer, VariableResolver)
+ */
+@ClassVersion( sourceVersion = "$Id: VariableResolver.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = STABLE, since = "0.1.0" )
+@FunctionalInterface
+public interface VariableResolver
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Returns a resolver that provides the values from the given map; the
+     *  values are converted by calling their
+     *  {@link Object#toString() toString()}
+     *  method.
+     *
+     *  @param  map The map with the values.
+     *  @return The new resolver.
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static VariableResolver of( final Map<String,?> map )
+    {
+        requireNonNullArgument( map, "map" );
+
+        final VariableResolver retValue = name ->
+        {
+            final var value = map.get( name );
+            return nonNull( value ) ? Optional.of( value.toString() ) : Optional.empty();
+        };
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  of()
+
+    /**
+     *  Returns a resolver that provides the value for a single variable; the
+     *  value is obtained from the given supplier only when the variable is
+     *  requested.
+     *
+     *  @param  name    The name of the variable.
+     *  @param  supplier    The supplier for the value; if it returns
+     *      {@code null}, the variable is not resolved.
+     *  @return The new resolver.
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static VariableResolver of( final String name, final Supplier<?> supplier )
+    {
+        requireNotEmptyArgument( name, "name" );
+        requireNonNullArgument( supplier, "supplier" );
+
+        final VariableResolver retValue = n ->
+        {
+            Optional<String> result = Optional.empty();
+            if( name.equals( n ) )
+            {
+                final var value = supplier.get();
+                if( nonNull( value ) ) result = Optional.of( value.toString() );
+            }
+            return result;
+        };
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  of()
+
+    /**
+     *  Returns a resolver that provides the values of the environment
+     *  variables.
+     *
+     *  @return The new resolver.
+     *
+     *  @see System#getenv(String)
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static VariableResolver ofEnvironment()
+    {
+        final VariableResolver retValue = name -> Optional.ofNullable( getenv( name ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  ofEnvironment()
+
+    /**
+     *  Returns a resolver that provides the values of the system properties,
+     *  using the variable name as the key.
+     *
+     *  @return The new resolver.
+     *
+     *  @see System#getProperty(String)
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static VariableResolver ofSystemProperties()
+    {
+        final VariableResolver retValue = name -> Optional.ofNullable( getProperty( name ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  ofSystemProperties()
+
+    /**
+     *  Returns a resolver that provides the values of the system properties
+     *  with the given prefix; the key for a variable is the prefix, followed
+     *  by a dot ('.') and the variable name.
+     *
+     *  @param  prefix  The prefix for the keys.
+     *  @return The new resolver.
+     *
+     *  @see System#getProperty(String)
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public static VariableResolver ofSystemProperties( final String prefix )
+    {
+        requireNotEmptyArgument( prefix, "prefix" );
+
+        final var keyPrefix = prefix + '.';
+        final VariableResolver retValue = name -> Optional.ofNullable( getProperty( keyPrefix + name ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  ofSystemProperties()
+
+    /**
+     *  Returns a resolver that asks this resolver first, and the given one
+     *  only if this resolver does not provide a value.
+     *
+     *  @param  other   The next resolver in the chain.
+     *  @return The new resolver.
+     */
+    public default VariableResolver orElse( final VariableResolver other )
+    {
+        requireNonNullArgument( other, "other" );
+
+        final VariableResolver retValue = name ->
+        {
+            final var result = resolve( name );
+            return result.isPresent() ? result : other.resolve( name );
+        };
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  orElse()
+
+    /**
+     *  Returns the value for the variable with the given name.
+     *
+     *  @param  name    The name of the variable, without the surrounding
+     *      &quot;${&hellip;}&quot;.
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the value; empty if this resolver does not know the
+     *      variable.
+     */
+    public Optional<String> resolve( final String name );
+}
+//  interface VariableResolver
+
+/*
+ *  End of File
+ */
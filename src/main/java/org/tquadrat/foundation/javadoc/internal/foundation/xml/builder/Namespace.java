@@ -17,7 +17,6 @@
 
 package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder;
 
-import static java.lang.String.format;
 import static java.util.Objects.hash;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
@@ -214,8 +213,8 @@ public final class Namespace implements Serializable, Comparable<Namespace>
     public final String toString()
     {
         final var retValue = m_Prefix
-            .map( p -> format( "%s:%s=\"%s\"", KEYWORD, p, m_Identifier.toString() ) )
-            .orElseGet( () -> format( "%s=\"%s\"", KEYWORD, m_Identifier.toString() ) );
+            .map( p -> KEYWORD + ':' + p + "=\"" + m_Identifier + '"' )
+            .orElseGet( () -> KEYWORD + "=\"" + m_Identifier + '"' );
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -734,9 +734,11 @@ public final class XMLBuilderUtils
      *  <p>becomes:</p>
      *  <p><code>&amp;quot;bread&amp;quot; &amp;amp;
      *  &amp;quot;butter&amp;quot;</code>.</p>
+     *  <p>Text that does not contain any character that needs escaping is
+     *  returned as it is, without creating a copy.</p>
      *
      *  @param  str The {@code String} to escape, may be null.
-     *  @return A new escaped {@code String}, or {@code null} if the
+     *  @return The escaped {@code String}, or {@code null} if the
      *      argument was already {@code null}.
      *
      *  @see #unescapeXML(CharSequence)
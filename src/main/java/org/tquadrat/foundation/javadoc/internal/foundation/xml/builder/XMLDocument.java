@@ -23,8 +23,11 @@ import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyArgument;
 import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLBuilderUtils.getNMTokenValidator;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -34,6 +37,7 @@ import java.util.Optional;
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.Document;
+import org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.EncodingWriter;
 
 /**
  *  The definition for an XML document.
@@ -584,6 +588,31 @@ public interface XMLDocument extends Document<XMLElement>
         //---* Done *----------------------------------------------------------
         return this;
     }   //  setNamespace()
+
+    /**
+     *  <p>{@summary Writes this document, pretty printed, to the given output
+     *  stream, using the given encoding.} The characters are encoded directly
+     *  into the output buffer, without creating a String for the whole
+     *  document first; characters that cannot be encoded with the given
+     *  character set are written as numeric character references.</p>
+     *  <p>The given encoding should match the one that is declared in the
+     *  XML header of the document.</p>
+     *  <p>The output stream will be flushed, but not closed.</p>
+     *
+     *  @param  outputStream    The output stream.
+     *  @param  encoding    The character set for the output.
+     *  @throws IOException Writing to the output stream failed.
+     *
+     *  @see EncodingWriter
+     *  @since 0.1.0
+     */
+    @API( status = STABLE, since = "0.1.0" )
+    public default void writeTo( final OutputStream outputStream, final Charset encoding ) throws IOException
+    {
+        final var writer = new EncodingWriter( outputStream, encoding );
+        writeTo( writer, true );
+        writer.finish();
+    }   //  writeTo()
 }
 //  interface XMLDocument
 
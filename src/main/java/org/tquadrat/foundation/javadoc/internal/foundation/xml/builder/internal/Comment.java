@@ -20,13 +20,11 @@ package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.internal
 import static java.lang.String.format;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.CHAR_HYPHEN;
-import static org.tquadrat.foundation.javadoc.internal.ToolKit.EMPTY_STRING;
-import static org.tquadrat.foundation.javadoc.internal.ToolKit.isEmpty;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.isEmptyOrBlank;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
-import static org.tquadrat.foundation.javadoc.internal.ToolKit.splitString;
-import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.repeat;
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.writeFiller;
 
+import java.io.IOException;
 import java.util.Optional;
 
 import org.apiguardian.api.API;
@@ -114,58 +112,95 @@ public class Comment implements Element
      *  {@inheritDoc}
      */
     @Override
-    public final String toString( final int indentationLevel, final boolean prettyPrint )
+    public final String toString() { return toString( 0, true ); }
+
+    /**
+     *  Writes the line of the comment text between the given positions to
+     *  the given target, without leading and trailing whitespace.
+     *
+     *  @param  target  The target.
+     *  @param  start   The start of the line.
+     *  @param  end The end of the line (exclusive).
+     *  @throws IOException Writing to the target failed.
+     */
+    private final void writeLine( final Appendable target, final int start, final int end ) throws IOException
     {
-        final var filler1 = prettyPrint ? "\n" + repeat( indentationLevel ) : EMPTY_STRING;
-        final String retValue;
-        if( isEmptyOrBlank( m_Text ) )
-        {
-            retValue = format( "%s<!-- -->", filler1 );
-        }
-        else
+        //---* Trim the line *-------------------------------------------------
+        var from = start;
+        var to = end;
+        while( (from < to) && (m_Text.charAt( from ) <= ' ') ) ++from;
+        while( (to > from) && (m_Text.charAt( to - 1 ) <= ' ') ) --to;
+
+        //---* Write the line *------------------------------------------------
+        var position = from;
+        for( var i = from; i < to; ++i )
         {
-            final var filler2 = isEmpty( filler1 ) ? " " : filler1;
-            final var buffer = new StringBuilder( m_Text.length() * 2 );
-            char c;
-            for( var i = 0; i < m_Text.length(); ++i )
+            if( m_Text.charAt( i ) == '\u002D' )
             {
-                c = m_Text.charAt( i );
-                if( c == '\u002D' )
-                {
-                    /*
-                     * A hyphen or minus sign (\u002D) in the comment text may
-                     * cause an issue when the resulting document is parsed.
-                     * Therefore, we replace it by another character that looks
-                     * similar, but is not interpreted by XML parsers.
-                     */
-                    buffer.append( HYPHEN_REPLACEMENT );
-                }
-                else
-                {
-                    buffer.append( c );
-                }
+                /*
+                 * A hyphen or minus sign (\u002D) in the comment text may
+                 * cause an issue when the resulting document is parsed.
+                 * Therefore, we replace it by another character that looks
+                 * similar, but is not interpreted by XML parsers.
+                 */
+                target.append( m_Text, position, i ).append( HYPHEN_REPLACEMENT );
+                position = i + 1;
             }
-
-            final var lines = splitString( buffer, '\n' );
-            buffer.setLength( 0 );
-            buffer.append( filler1 ).append( "<!--" );
-            for( final var line : lines )
-            {
-                buffer.append( filler2 ).append( line.trim() );
-            }
-            buffer.append( filler2 ).append( "-->" );
-            retValue = buffer.toString();
         }
+        target.append( m_Text, position, to );
+    }   //  writeLine()
 
-        //---* Done *----------------------------------------------------------
-        return retValue;
-    }   //  toString()
+    /**
+     *  Writes the separator between the lines of the comment to the given
+     *  target; this is a line break with the indentation when pretty
+     *  printing, a single blank otherwise.
+     *
+     *  @param  target  The target.
+     *  @param  indentationLevel    The indentation level.
+     *  @param  prettyPrint The pretty print flag.
+     *  @throws IOException Writing to the target failed.
+     */
+    private static final void writeSeparator( final Appendable target, final int indentationLevel, final boolean prettyPrint ) throws IOException
+    {
+        if( prettyPrint )
+        {
+            writeFiller( target, true, indentationLevel, 0 );
+        }
+        else
+        {
+            target.append( ' ' );
+        }
+    }   //  writeSeparator()
 
     /**
      *  {@inheritDoc}
      */
     @Override
-    public final String toString() { return toString( 0, true ); }
+    public final void writeTo( final Appendable target, final int indentationLevel, final boolean prettyPrint ) throws IOException
+    {
+        writeFiller( target, prettyPrint, indentationLevel, 0 );
+        if( isEmptyOrBlank( m_Text ) )
+        {
+            target.append( "<!-- -->" );
+        }
+        else
+        {
+            target.append( "<!--" );
+            var start = 0;
+            final var length = m_Text.length();
+            LineLoop: for( var end = 0; end <= length; ++end )
+            {
+                if( (end == length) || (m_Text.charAt( end ) == '\n') )
+                {
+                    writeSeparator( target, indentationLevel, prettyPrint );
+                    writeLine( target, start, end );
+                    start = end + 1;
+                }
+            }   //  LineLoop:
+            writeSeparator( target, indentationLevel, prettyPrint );
+            target.append( "-->" );
+        }
+    }   //  writeTo()
 }
 //  class Comment
 
@@ -21,13 +21,13 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static org.apiguardian.api.API.Status.INTERNAL;
-import static org.tquadrat.foundation.javadoc.internal.ToolKit.EMPTY_STRING;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmpty;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyArgument;
 import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLBuilderUtils.getElementNameValidator;
-import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.repeat;
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.writeFiller;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Map;
@@ -179,6 +179,12 @@ public class DocType implements Element
     @Override
     public final <E extends Element> void setParent( final E parent ) { m_Parent = requireNonNullArgument( parent, "parent" ); }
 
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final String toString() { return toString( 0, true ); }
+
     /**
      *  {@inheritDoc}
      *
@@ -186,31 +192,22 @@ public class DocType implements Element
      *  @param  prettyPrint Ignored.
      */
     @Override
-    public final String toString( final int indentationLevel, final boolean prettyPrint )
+    public final void writeTo( final Appendable target, final int indentationLevel, final boolean prettyPrint ) throws IOException
     {
         //---* Calculate the indentation *-------------------------------------
-        final var filler = prettyPrint ? "\n" + repeat( indentationLevel ) : EMPTY_STRING;
+        writeFiller( target, prettyPrint, indentationLevel, 0 );
 
-        final var retValue = new StringBuilder( filler ).append( "<!DOCTYPE " ).append( m_ElementName );
+        target.append( "<!DOCTYPE " ).append( m_ElementName );
         if( isPublic() )
         {
-            retValue.append( " PUBLIC \"" ).append( m_DTDName ).append( "\" \"" ).append( m_URI.toString() );
+            target.append( " PUBLIC \"" ).append( m_DTDName ).append( "\" \"" ).append( m_URI.toString() );
         }
         else
         {
-            retValue.append( " SYSTEM \"" ).append( m_URI.toString() );
+            target.append( " SYSTEM \"" ).append( m_URI.toString() );
         }
-        retValue.append( "\"" ).append( ">" );
-
-        //---* Done *----------------------------------------------------------
-        return retValue.toString();
-    }   //  toString()
-
-    /**
-     *  {@inheritDoc}
-     */
-    @Override
-    public final String toString() { return toString( 0, true ); }
+        target.append( "\">" );
+    }   //  writeTo()
 }
 //  class DocType
 
@@ -17,23 +17,22 @@
 
 package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.internal;
 
-import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static org.apiguardian.api.API.Status.INTERNAL;
-import static org.tquadrat.foundation.javadoc.internal.ToolKit.EMPTY_STRING;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmpty;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyArgument;
 import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLBuilderUtils.getElementNameValidator;
 import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.repeat;
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.writeFiller;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.StringJoiner;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
@@ -207,47 +206,43 @@ public final class ProcessingInstructionImpl implements ProcessingInstruction
      *  {@inheritDoc}
      */
     @Override
-    public final String toString( final int indentationLevel, final boolean prettyPrint )
+    public final String toString() { return toString( 0, true ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void writeTo( final Appendable target, final int indentationLevel, final boolean prettyPrint ) throws IOException
     {
-        final var text = new StringBuilder( 256 );
+        //---* Calculate the indentation *-------------------------------------
+        if( prettyPrint && (indentationLevel > 0) ) target.append( repeat( indentationLevel ) );
 
-        //---* Determine the filler *------------------------------------------
-        final var filler = prettyPrint ? "\n" + repeat( indentationLevel, m_ElementName.length() + 2 ) : EMPTY_STRING;
+        //---* Render the element *--------------------------------------------
+        target.append( "<?" ).append( m_ElementName );
+        final var additionalBlanks = m_ElementName.length() + 2;
+        var isFirst = true;
 
         //---* Add the data *--------------------------------------------------
-        if( !m_Data.isEmpty() )
+        for( final var data : m_Data )
         {
-            final var joiner = new StringJoiner( filler + " ", " ", EMPTY_STRING );
-            for( final var data : m_Data ) joiner.add( data );
-            text.append( joiner );
+            if( !isFirst ) writeFiller( target, prettyPrint, indentationLevel, additionalBlanks );
+            target.append( ' ' ).append( data );
+            isFirst = false;
         }
 
         //---* Add the attributes *--------------------------------------------
-        getAttributes().forEach( (k,v) ->
+        for( final var attribute : getAttributes().entrySet() )
         {
-            if( !text.isEmpty() ) text.append( filler );
-            text.append( ' ' )
-                .append( k )
-                .append( "='")
-                .append( v )
+            if( !isFirst ) writeFiller( target, prettyPrint, indentationLevel, additionalBlanks );
+            target.append( ' ' )
+                .append( attribute.getKey() )
+                .append( "='" )
+                .append( attribute.getValue() )
                 .append( '\'' );
-        } );
-
-        //---* Calculate the indentation *-------------------------------------
-        final var indentation = prettyPrint && (indentationLevel > 0) ? repeat( indentationLevel ) : EMPTY_STRING;
-
-        //---* Render the element *--------------------------------------------
-        final var retValue = format( "%3$s<?%1$s%2$s?>", m_ElementName, text, indentation );
-
-        //---* Done *----------------------------------------------------------
-        return retValue;
-    }   //  toString()
-
-    /**
-     *  {@inheritDoc}
-     */
-    @Override
-    public final String toString() { return toString( 0, true ); }
+            isFirst = false;
+        }
+        target.append( "?>" );
+    }   //  writeTo()
 }
 //  class ProcessingInstruction
 
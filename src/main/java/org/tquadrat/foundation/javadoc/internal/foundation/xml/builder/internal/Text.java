@@ -17,12 +17,11 @@
 
 package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.internal;
 
-import static java.lang.String.format;
 import static org.apiguardian.api.API.Status.INTERNAL;
-import static org.tquadrat.foundation.javadoc.internal.ToolKit.EMPTY_STRING;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
-import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.repeat;
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.writeFiller;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -131,9 +130,14 @@ public class Text implements Element
      *  {@inheritDoc}
      */
     @Override
-    public final String toString( final int indentationLevel, final boolean prettyPrint )
+    public final String toString() { return toString( 0, true ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void writeTo( final Appendable target, final int indentationLevel, final boolean prettyPrint ) throws IOException
     {
-        final String retValue;
         if( m_IsBlock )
         {
             //---* Calculate the indentation *---------------------------------
@@ -141,26 +145,13 @@ public class Text implements Element
              * If the direct parent is an inline element, the block is false.
              */
             final var parent = getParent();
-            final var block = parent.map( element -> element.isBlock() && isBlock() ).orElseGet( this::isBlock );
-            final var filler = (prettyPrint && block) ? "\n" + repeat( indentationLevel ) : EMPTY_STRING;
-
-            //---* Render the text *-------------------------------------------
-            retValue = format( "%2$s%1$s", m_EscapeFunction.apply( m_Text ), filler );
+            final var block = parent.map( element -> element.isBlock() && isBlock() ).orElseGet( this::isBlock ).booleanValue();
+            writeFiller( target, prettyPrint && block, indentationLevel, 0 );
         }
-        else
-        {
-            retValue = m_EscapeFunction.apply( m_Text );
-        }
-
-        //---* Done *----------------------------------------------------------
-        return retValue;
-    }   //  toString()
 
-    /**
-     *  {@inheritDoc}
-     */
-    @Override
-    public final String toString() { return toString( 0, true ); }
+        //---* Render the text *-----------------------------------------------
+        target.append( m_EscapeFunction.apply( m_Text ) );
+    }   //  writeTo()
 }
 //  class TextElement
 
@@ -19,12 +19,18 @@ package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi;
 
 import static java.lang.Integer.signum;
 import static java.lang.String.format;
-import static java.util.Collections.unmodifiableSortedMap;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.emptyMap;
 import static java.util.Comparator.naturalOrder;
 import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.XMLATTRIBUTE_Id;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.XMLATTRIBUTE_Language;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.EMPTY_String_ARRAY;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.NOT_FOUND;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.XMLATTRIBUTE_Whitespace;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmptyOrBlank;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.listBasedComparator;
@@ -33,15 +39,19 @@ import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyAr
 import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.XMLBuilderUtils.getAttributeNameValidator;
 import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.composeAttributesString;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.javadoc.internal.ToolKit;
@@ -55,6 +65,16 @@ import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersi
  *  parser processing them.</p>
  *  <p>This class provides a specific comparator for each named element that
  *  can be configured by the user.</p>
+ *  <p>The attributes are stored as name/value pairs in arrays that are kept
+ *  in that sequence: a new attribute is inserted at its position when it is
+ *  added, and the attributes are sorted again only when the sort order is
+ *  changed. For a sequence that was registered with
+ *  {@link #registerSequence(String...)},
+ *  the rank of each attribute name is stored with the pair, so that no
+ *  comparator is needed for the names that are in that sequence.
+ *  {@link #getAttributes()}
+ *  returns a view on these arrays; serialising the attributes neither copies
+ *  nor sorts them.</p>
  *
  *  @author Thomas Thrien - thomas.thrien@tquadrat.org
  *  @version $Id: AttributeSupport.java 1133 2024-05-10 21:43:08Z tquadrat $
@@ -64,6 +84,118 @@ import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersi
 @API( status = MAINTAINED, since = "0.0.5" )
 public final class AttributeSupport extends NamespaceSupport
 {
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  An unmodifiable view on the attributes of the owning element; the
+     *  entries are returned in the sort order for the attributes. Changes to
+     *  the attributes are reflected by the view.
+     *
+     *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: AttributeSupport.java 1133 2024-05-10 21:43:08Z tquadrat $
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: AttributeSupport.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    private final class AttributesView extends AbstractMap<String,String>
+    {
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The entries.
+         */
+        private final Set<Entry<String,String>> m_EntrySet = new AbstractSet<>()
+        {
+            /**
+             *  {@inheritDoc}
+             */
+            @Override
+            public final Iterator<Entry<String,String>> iterator()
+            {
+                return new Iterator<>()
+                {
+                    /**
+                     *  The index of the next entry.
+                     */
+                    private int m_Index = 0;
+
+                    /**
+                     *  {@inheritDoc}
+                     */
+                    @Override
+                    public final boolean hasNext() { return m_Index < m_AttributeCount; }
+
+                    /**
+                     *  {@inheritDoc}
+                     */
+                    @Override
+                    public final Entry<String,String> next()
+                    {
+                        if( !hasNext() ) throw new NoSuchElementException();
+                        final Entry<String,String> retValue = new SimpleImmutableEntry<>( m_Names [m_Index], m_Values [m_Index] );
+                        ++m_Index;
+
+                        //---* Done *------------------------------------------
+                        return retValue;
+                    }   //  next()
+                };
+            }   //  iterator()
+
+            /**
+             *  {@inheritDoc}
+             */
+            @Override
+            public final int size() { return m_AttributeCount; }
+        };
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final boolean containsKey( final Object key ) { return indexOf( key ) != NOT_FOUND; }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final Set<Entry<String,String>> entrySet() { return m_EntrySet; }
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final void forEach( final BiConsumer<? super String,? super String> action )
+        {
+            requireNonNull( action );
+            for( var i = 0; i < m_AttributeCount; ++i ) action.accept( m_Names [i], m_Values [i] );
+        }   //  forEach()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final String get( final Object key )
+        {
+            final var index = indexOf( key );
+            final var retValue = index == NOT_FOUND ? null : m_Values [index];
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  get()
+
+        /**
+         *  {@inheritDoc}
+         */
+        @Override
+        public final int size() { return m_AttributeCount; }
+    }
+    //  class AttributesView
+
         /*-----------*\
     ====** Constants **========================================================
         \*-----------*/
@@ -106,13 +238,30 @@ public final class AttributeSupport extends NamespaceSupport
         return retValue;
     };
 
+    /**
+     *  The initial capacity for the arrays that hold the attributes:
+     *  {@value}.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     *  The rank for attribute names that are not in the registered sequence:
+     *  {@value}.
+     */
+    private static final int NOT_RANKED = Integer.MAX_VALUE;
+
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
     /**
-     *  The attributes for the element.
+     *  The number of attributes.
+     */
+    private int m_AttributeCount = 0;
+
+    /**
+     *  The view on the attributes.
      */
-    private final Map<String,String> m_Attributes = new HashMap<>();
+    private final Map<String,String> m_AttributesView = new AttributesView();
 
     /**
      *  Flag that indicates whether the validity of attributes should be
@@ -126,11 +275,39 @@ public final class AttributeSupport extends NamespaceSupport
      */
     private Comparator<String> m_Comparator;
 
+    /**
+     *  The names of the attributes, in the sort order for the attributes.
+     */
+    private String [] m_Names = EMPTY_String_ARRAY;
+
+    /**
+     *  The ranks of the attributes; the rank for an attribute is stored at
+     *  the same index as its name.
+     */
+    private int [] m_Ranks = new int [0];
+
+    /**
+     *  The ranks for the attribute names in the registered sequence.
+     */
+    private Map<String,Integer> m_Sequence = emptyMap();
+
+    /**
+     *  The comparator for the attribute names that are not in the registered
+     *  sequence.
+     */
+    private Comparator<String> m_UnrankedOrder;
+
     /**
      *  The valid attributes for owning element.
      */
     private final Collection<String> m_ValidAttributes;
 
+    /**
+     *  The values of the attributes; the value for an attribute is stored at
+     *  the same index as its name.
+     */
+    private String [] m_Values = EMPTY_String_ARRAY;
+
         /*--------------*\
     ====** Constructors **=====================================================
         \*--------------*/
@@ -237,6 +414,51 @@ public final class AttributeSupport extends NamespaceSupport
      */
     public final boolean checksIfValid() { return m_CheckValid; }
 
+    /**
+     *  Compares two attributes according to their ranks and names. The
+     *  comparator for the unranked names is called only when both attributes
+     *  are not in the registered sequence.
+     *
+     *  @param  rank1   The rank of the first attribute.
+     *  @param  name1   The name of the first attribute.
+     *  @param  rank2   The rank of the second attribute.
+     *  @param  name2   The name of the second attribute.
+     *  @return A negative integer, zero, or a positive integer as the first
+     *      attribute is less than, equal to, or greater than the second.
+     */
+    private final int compare( final int rank1, final String name1, final int rank2, final String name2 )
+    {
+        final var retValue = rank1 != rank2
+            ? Integer.compare( rank1, rank2 )
+            : rank1 == NOT_RANKED ? m_UnrankedOrder.compare( name1, name2 ) : 0;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compare()
+
+    /**
+     *  Determines the position for an attribute with the given rank and name
+     *  within the first {@code end} attributes. The search starts at the end,
+     *  as attributes are usually added in their sort order.
+     *
+     *  @param  rank    The rank of the attribute.
+     *  @param  name    The name of the attribute.
+     *  @param  end The number of attributes to search.
+     *  @return The position for the attribute.
+     */
+    private final int findPosition( final int rank, final String name, final int end )
+    {
+        var retValue = end;
+        SearchLoop: while( retValue > 0 )
+        {
+            if( compare( m_Ranks [retValue - 1], m_Names [retValue - 1], rank, name ) <= 0 ) break SearchLoop;
+            --retValue;
+        }   //  SearchLoop:
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  findPosition()
+
     /**
      *  Returns the value for the attribute with the given name.
      *
@@ -247,33 +469,98 @@ public final class AttributeSupport extends NamespaceSupport
      */
     public final Optional<String> getAttribute( final String name )
     {
-        final var retValue = Optional.ofNullable( m_Attributes.get( requireNotEmptyArgument( name, "name" ) ) );
+        final var index = indexOf( requireNotEmptyArgument( name, "name" ) );
+        final var retValue = index == NOT_FOUND ? Optional.<String>empty() : Optional.of( m_Values [index] );
 
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  getAttribute()
 
     /**
-     *  Provides read access to the attributes.
+     *  Provides read access to the attributes. The returned map is an
+     *  unmodifiable view on the attributes that returns them in their sort
+     *  order; it reflects any later modification of the attributes.
      *
      *  @return A reference to the attributes.
      */
-    public final Map<String,String> getAttributes()
+    public final Map<String,String> getAttributes() { return m_AttributesView; }
+
+    /**
+     *  Returns the attribute sort order.
+     *
+     *  @return The comparator that determines the attribute's sequence.
+     */
+    public final Comparator<String> getSortOrder() { return m_Comparator; }
+
+    /**
+     *  Returns the index of the attribute with the given name.
+     *
+     *  @param  name    The name of the attribute.
+     *  @return The index of the attribute, or
+     *      {@link ToolKit#NOT_FOUND}
+     *      if there is no attribute with the given name.
+     */
+    private final int indexOf( final Object name )
     {
-        final SortedMap<String,String> map = new TreeMap<>( m_Comparator );
-        map.putAll( m_Attributes );
-        final var retValue =  unmodifiableSortedMap( map );
+        var retValue = NOT_FOUND;
+        SearchLoop: for( var i = 0; i < m_AttributeCount; ++i )
+        {
+            if( m_Names [i].equals( name ) )
+            {
+                retValue = i;
+                break SearchLoop;
+            }
+        }   //  SearchLoop:
 
         //---* Done *----------------------------------------------------------
         return retValue;
-    }   //  getAttributes()
+    }   //  indexOf()
 
     /**
-     *  Returns the attribute sort order.
+     *  Inserts a new attribute at its position in the sort order.
      *
-     *  @return The comparator that determines the attribute's sequence.
+     *  @param  name    The name of the attribute.
+     *  @param  value   The value of the attribute.
      */
-    public final Comparator<String> getSortOrder() { return m_Comparator; }
+    private final void insertAttribute( final String name, final String value )
+    {
+        if( m_AttributeCount == m_Names.length )
+        {
+            final var capacity = m_AttributeCount == 0 ? INITIAL_CAPACITY : m_AttributeCount * 2;
+            m_Names = copyOf( m_Names, capacity );
+            m_Values = copyOf( m_Values, capacity );
+            m_Ranks = copyOf( m_Ranks, capacity );
+        }
+
+        final var rank = rankOf( name );
+        final var position = findPosition( rank, name, m_AttributeCount );
+        final var count = m_AttributeCount - position;
+        arraycopy( m_Names, position, m_Names, position + 1, count );
+        arraycopy( m_Values, position, m_Values, position + 1, count );
+        arraycopy( m_Ranks, position, m_Ranks, position + 1, count );
+        m_Names [position] = name;
+        m_Values [position] = value;
+        m_Ranks [position] = rank;
+        ++m_AttributeCount;
+    }   //  insertAttribute()
+
+    /**
+     *  Returns the rank of the given attribute name in the registered
+     *  sequence.
+     *
+     *  @param  name    The name of the attribute.
+     *  @return The rank, or
+     *      {@link #NOT_RANKED}
+     *      if the name is not in the registered sequence.
+     */
+    private final int rankOf( final String name )
+    {
+        final var rank = m_Sequence.get( name );
+        final var retValue = nonNull( rank ) ? rank.intValue() : NOT_RANKED;
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  rankOf()
 
     /**
      *  <p>{@summary Registers the valid attributes for the owning
@@ -311,11 +598,37 @@ public final class AttributeSupport extends NamespaceSupport
     {
         if( requireNonNullArgument( attributes, "attributes" ).length > 0 )
         {
-            final Comparator<String> comparator = listBasedComparator( s -> s, naturalOrder(), attributes );
-            setSortOrder( comparator );
+            /*
+             * The comparator is kept for getSortOrder() only; the attributes
+             * are sorted by their ranks, with the names that are not in the
+             * sequence at the end, in their natural order. Like with the
+             * comparator, the last occurrence of a name determines its rank.
+             */
+            m_Comparator = listBasedComparator( s -> s, naturalOrder(), attributes );
+            final var sequence = new HashMap<String,Integer>( attributes.length * 4 / 3 + 1 );
+            for( var i = 0; i < attributes.length; ++i ) sequence.put( attributes [i], Integer.valueOf( i ) );
+            m_Sequence = sequence;
+            m_UnrankedOrder = naturalOrder();
+            sortAttributes();
         }
     }   //  registerSequence()
 
+    /**
+     *  Removes the attribute at the given index.
+     *
+     *  @param  index   The index of the attribute.
+     */
+    private final void removeAttribute( final int index )
+    {
+        final var count = m_AttributeCount - index - 1;
+        arraycopy( m_Names, index + 1, m_Names, index, count );
+        arraycopy( m_Values, index + 1, m_Values, index, count );
+        arraycopy( m_Ranks, index + 1, m_Ranks, index, count );
+        --m_AttributeCount;
+        m_Names [m_AttributeCount] = null;
+        m_Values [m_AttributeCount] = null;
+    }   //  removeAttribute()
+
     /**
      *  Returns the list of the registered attributes.
      *
@@ -349,26 +662,30 @@ public final class AttributeSupport extends NamespaceSupport
         if( !checkValid( name ) ) throw new IllegalArgumentException( format( "Invalid attribute name: %s", name ) );
 
         //---* Get the current value for the given name *----------------------
-        final var retValue = Optional.ofNullable( m_Attributes.get( name ) );
+        final var index = indexOf( name );
+        final var retValue = index == NOT_FOUND ? Optional.<String>empty() : Optional.of( m_Values [index] );
 
         if( nonNull( value ) )
         {
             //---* Set the new value *-----------------------------------------
-            if( retValue.isEmpty() || append.isEmpty() )
+            if( index == NOT_FOUND )
+            {
+                insertAttribute( name, value.toString() );
+            }
+            else if( append.isEmpty() )
             {
-                m_Attributes.put( name, value.toString() );
+                m_Values [index] = value.toString();
             }
             else
             {
-                final var oldValue = retValue.get();
-                final var newValue = isNotEmptyOrBlank( oldValue ) ? format( "%1$s%3$s%2$s", oldValue, value, append.get() ) : value.toString();
-                m_Attributes.replace( name, newValue );
+                final var oldValue = m_Values [index];
+                m_Values [index] = isNotEmptyOrBlank( oldValue ) ? oldValue + append.get() + value : value.toString();
             }
         }
-        else
+        else if( index != NOT_FOUND )
         {
             //---* Remove the value *------------------------------------------
-            m_Attributes.remove( name );
+            removeAttribute( index );
         }
 
         //---* Done *----------------------------------------------------------
@@ -384,8 +701,37 @@ public final class AttributeSupport extends NamespaceSupport
     public final void setSortOrder( final Comparator<String> sortOrder )
     {
         m_Comparator = requireNonNullArgument( sortOrder, "sortOrder" );
+        m_Sequence = emptyMap();
+        m_UnrankedOrder = sortOrder;
+        sortAttributes();
     }   //  setSortOrder()
 
+    /**
+     *  Sorts the attributes again after the sort order was changed; this is
+     *  an insertion sort, as there are usually only a few attributes.
+     */
+    private final void sortAttributes()
+    {
+        for( var i = 0; i < m_AttributeCount; ++i ) m_Ranks [i] = rankOf( m_Names [i] );
+        for( var i = 1; i < m_AttributeCount; ++i )
+        {
+            final var name = m_Names [i];
+            final var value = m_Values [i];
+            final var rank = m_Ranks [i];
+            final var position = findPosition( rank, name, i );
+            if( position < i )
+            {
+                final var count = i - position;
+                arraycopy( m_Names, position, m_Names, position + 1, count );
+                arraycopy( m_Values, position, m_Values, position + 1, count );
+                arraycopy( m_Ranks, position, m_Ranks, position + 1, count );
+                m_Names [position] = name;
+                m_Values [position] = value;
+                m_Ranks [position] = rank;
+            }
+        }
+    }   //  sortAttributes()
+
     /**
      *  Returns the attributes and their values, together with the namespaces,
      *  as a single formatted string.
@@ -19,7 +19,9 @@ package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi;
 
 import static org.apiguardian.api.API.Status.MAINTAINED;
 import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.composeDocumentString;
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.writeDocument;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -111,6 +113,8 @@ public interface Document<E extends Element>
      *
      *  @param  prettyPrint The pretty print flag.
      *  @return The String representation.
+     *
+     *  @see #writeTo(Appendable, boolean)
      */
     public default String toString( final boolean prettyPrint )
     {
@@ -119,6 +123,18 @@ public interface Document<E extends Element>
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  toString()
+
+    /**
+     *  Writes this document to the given target.
+     *
+     *  @param  target  The target.
+     *  @param  prettyPrint The pretty print flag.
+     *  @throws IOException Writing to the target failed.
+     */
+    public default void writeTo( final Appendable target, final boolean prettyPrint ) throws IOException
+    {
+        writeDocument( target, prettyPrint, this );
+    }   //  writeTo()
 }
 //  interface Document
 
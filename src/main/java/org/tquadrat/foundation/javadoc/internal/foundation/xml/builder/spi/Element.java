@@ -22,14 +22,16 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyArgument;
-import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.composeElementString;
+import static org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi.SGMLPrinter.writeElement;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.javadoc.internal.foundation.exception.UnexpectedExceptionError;
 import org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.Namespace;
 
 /**
@@ -141,7 +143,13 @@ public interface Element
     public <E extends Element> void setParent( final E parent );
 
     /**
-     *  Returns a String representation for this element instance.
+     *  <p>{@summary Returns a String representation for this element
+     *  instance.}</p>
+     *  <p>This is a thin wrapper around
+     *  {@link #writeTo(Appendable, int, boolean)};
+     *  implementations that need a special output format should override that
+     *  method instead of this one, as the children of an element are written
+     *  through it.</p>
      *
      *  @param  indentationLevel    The indentation level.
      *  @param  prettyPrint The pretty print flag.
@@ -149,11 +157,34 @@ public interface Element
      */
     public default String toString( final int indentationLevel, final boolean prettyPrint )
     {
-        final var retValue = composeElementString( indentationLevel, prettyPrint, this, true );
+        final var buffer = new StringBuilder( 1024 );
+        try
+        {
+            writeTo( buffer, indentationLevel, prettyPrint );
+        }
+        catch( final IOException e )
+        {
+            throw new UnexpectedExceptionError( e );
+        }
+        final var retValue = buffer.toString();
 
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  toString()
+
+    /**
+     *  Writes this element, together with its attributes and its children,
+     *  to the given target.
+     *
+     *  @param  target  The target.
+     *  @param  indentationLevel    The indentation level.
+     *  @param  prettyPrint The pretty print flag.
+     *  @throws IOException Writing to the target failed.
+     */
+    public default void writeTo( final Appendable target, final int indentationLevel, final boolean prettyPrint ) throws IOException
+    {
+        writeElement( target, indentationLevel, prettyPrint, this, true );
+    }   //  writeTo()
 }
 //  interface Element
 
@@ -0,0 +1,345 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi;
+
+import static java.lang.Math.min;
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.charset.CodingErrorAction.REPORT;
+import static java.util.Locale.ROOT;
+import static java.util.Objects.checkFromIndexSize;
+import static java.util.Objects.checkFromToIndex;
+import static java.util.Objects.isNull;
+import static org.apiguardian.api.API.Status.MAINTAINED;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary A buffered
+ *  {@link Writer}
+ *  for SGML output that encodes the characters directly into a byte buffer;
+ *  that buffer is written to the target
+ *  {@link OutputStream}
+ *  each time it is full.}</p>
+ *  <p>Characters that cannot be encoded with the target character set are
+ *  written as numeric character references ({@code &#x…;}), instead of being
+ *  replaced by a question mark as an
+ *  {@link OutputStreamWriter}
+ *  would do. Keep in mind that character references are not resolved inside
+ *  comments and {@code CDATA} sections.</p>
+ *  <p>{@link #finish()}
+ *  completes the encoding and flushes the output without closing the output
+ *  stream, while
+ *  {@link #close()}
+ *  closes it, too.</p>
+ *  <p>Instances of this class are not thread-safe.</p>
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: EncodingWriter.java 1133 2024-05-10 21:43:08Z tquadrat $
+ *  @since 0.1.0
+ */
+@ClassVersion( sourceVersion = "$Id: EncodingWriter.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@API( status = MAINTAINED, since = "0.1.0" )
+public final class EncodingWriter extends Writer
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The size of the buffers: {@value}.
+     */
+    public static final int BUFFER_SIZE = 8192;
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The buffer for the encoded bytes.
+     */
+    private final ByteBuffer m_Bytes;
+
+    /**
+     *  The buffer for the characters that are not yet encoded.
+     */
+    private final CharBuffer m_Chars;
+
+    /**
+     *  The encoder.
+     */
+    private final CharsetEncoder m_Encoder;
+
+    /**
+     *  The flag that indicates whether the output was already
+     *  {@linkplain #finish() finished}.
+     */
+    private boolean m_IsFinished = false;
+
+    /**
+     *  The target output stream.
+     */
+    private final OutputStream m_OutputStream;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new {@code EncodingWriter} instance.
+     *
+     *  @param  outputStream    The target output stream.
+     *  @param  encoding    The character set for the output.
+     */
+    public EncodingWriter( final OutputStream outputStream, final Charset encoding )
+    {
+        m_OutputStream = requireNonNullArgument( outputStream, "outputStream" );
+        m_Encoder = requireNonNullArgument( encoding, "encoding" ).newEncoder()
+            .onMalformedInput( REPLACE )
+            .onUnmappableCharacter( REPORT );
+        m_Chars = CharBuffer.allocate( BUFFER_SIZE );
+        m_Bytes = ByteBuffer.allocate( BUFFER_SIZE );
+    }   //  EncodingWriter()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final EncodingWriter append( final CharSequence csq ) throws IOException
+    {
+        final var sequence = isNull( csq ) ? "null" : csq;
+        final var retValue = append( sequence, 0, sequence.length() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  append()
+
+    /**
+     *  {@inheritDoc}<br>
+     *  <br>Unlike the implementation in
+     *  {@link Writer},
+     *  this one does not create a String from the given character sequence.
+     */
+    @Override
+    public final EncodingWriter append( final CharSequence csq, final int start, final int end ) throws IOException
+    {
+        final var sequence = isNull( csq ) ? "null" : csq;
+        checkFromToIndex( start, end, sequence.length() );
+        if( sequence instanceof final String string )
+        {
+            write( string, start, end - start );
+        }
+        else
+        {
+            ensureOpen();
+            for( var i = start; i < end; ++i )
+            {
+                if( !m_Chars.hasRemaining() ) encodeChars( false );
+                m_Chars.put( sequence.charAt( i ) );
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return this;
+    }   //  append()
+
+    /**
+     *  {@inheritDoc}<br>
+     *  <br>Finishes the output, if that was not done before, and closes the
+     *  output stream.
+     */
+    @Override
+    public final void close() throws IOException
+    {
+        try
+        {
+            if( !m_IsFinished ) finish();
+        }
+        finally
+        {
+            m_OutputStream.close();
+        }
+    }   //  close()
+
+    /**
+     *  Encodes the buffered characters into the byte buffer; the byte buffer
+     *  is written to the output stream each time it is full.
+     *
+     *  @param  endOfInput  {@code true} if no more characters will follow,
+     *      {@code false} otherwise.
+     *  @throws IOException Writing to the output stream failed.
+     */
+    private final void encodeChars( final boolean endOfInput ) throws IOException
+    {
+        m_Chars.flip();
+        EncodeLoop: while( true )
+        {
+            final var result = m_Encoder.encode( m_Chars, m_Bytes, endOfInput );
+            if( result.isUnderflow() ) break EncodeLoop;
+            if( result.isOverflow() )
+            {
+                writeBytes();
+            }
+            else
+            {
+                writeCharacterReference( result.length(), endOfInput );
+            }
+        }   //  EncodeLoop:
+
+        /*
+         * A high surrogate at the end of the buffer remains there until the
+         * matching low surrogate was written.
+         */
+        m_Chars.compact();
+    }   //  encodeChars()
+
+    /**
+     *  Checks whether this writer is still open.
+     *
+     *  @throws IOException The writer was already finished or closed.
+     */
+    private final void ensureOpen() throws IOException
+    {
+        if( m_IsFinished ) throw new IOException( "Writer already finished" );
+    }   //  ensureOpen()
+
+    /**
+     *  Encodes the remaining characters and writes all bytes to the output
+     *  stream, then flushes that, but without closing it. No more
+     *  characters can be written after this method was called.
+     *
+     *  @throws IOException Writing to the output stream failed.
+     */
+    public final void finish() throws IOException
+    {
+        ensureOpen();
+        encodeChars( true );
+        while( m_Encoder.flush( m_Bytes ).isOverflow() ) writeBytes();
+        writeBytes();
+        m_OutputStream.flush();
+        m_IsFinished = true;
+    }   //  finish()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void flush() throws IOException
+    {
+        ensureOpen();
+        encodeChars( false );
+        writeBytes();
+        m_OutputStream.flush();
+    }   //  flush()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void write( final int c ) throws IOException
+    {
+        ensureOpen();
+        if( !m_Chars.hasRemaining() ) encodeChars( false );
+        m_Chars.put( (char) c );
+    }   //  write()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void write( final char [] buffer, final int offset, final int length ) throws IOException
+    {
+        checkFromIndexSize( offset, length, requireNonNullArgument( buffer, "buffer" ).length );
+        ensureOpen();
+        var position = offset;
+        final var end = offset + length;
+        while( position < end )
+        {
+            if( !m_Chars.hasRemaining() ) encodeChars( false );
+            final var count = min( end - position, m_Chars.remaining() );
+            m_Chars.put( buffer, position, count );
+            position += count;
+        }
+    }   //  write()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final void write( final String string, final int offset, final int length ) throws IOException
+    {
+        checkFromIndexSize( offset, length, requireNonNullArgument( string, "string" ).length() );
+        ensureOpen();
+        var position = offset;
+        final var end = offset + length;
+        while( position < end )
+        {
+            if( !m_Chars.hasRemaining() ) encodeChars( false );
+            final var count = min( end - position, m_Chars.remaining() );
+            m_Chars.put( string, position, position + count );
+            position += count;
+        }
+    }   //  write()
+
+    /**
+     *  Writes the contents of the byte buffer to the output stream and
+     *  clears the buffer.
+     *
+     *  @throws IOException Writing to the output stream failed.
+     */
+    private final void writeBytes() throws IOException
+    {
+        m_Bytes.flip();
+        if( m_Bytes.hasRemaining() ) m_OutputStream.write( m_Bytes.array(), m_Bytes.arrayOffset() + m_Bytes.position(), m_Bytes.remaining() );
+        m_Bytes.clear();
+    }   //  writeBytes()
+
+    /**
+     *  Replaces the character at the current position of the character
+     *  buffer, that cannot be encoded with the target character set, by a
+     *  numeric character reference.
+     *
+     *  @param  length  The number of {@code char}s for the character; 2 for
+     *      a surrogate pair, 1 otherwise.
+     *  @param  endOfInput  {@code true} if no more characters will follow,
+     *      {@code false} otherwise.
+     *  @throws IOException Writing to the output stream failed.
+     */
+    private final void writeCharacterReference( final int length, final boolean endOfInput ) throws IOException
+    {
+        final var codePoint = Character.codePointAt( m_Chars, 0 );
+        m_Chars.position( m_Chars.position() + length );
+        final var reference = CharBuffer.wrap( "&#x" + Integer.toHexString( codePoint ).toUpperCase( ROOT ) + ";" );
+        while( m_Encoder.encode( reference, m_Bytes, endOfInput ).isOverflow() ) writeBytes();
+    }   //  writeCharacterReference()
+}
+//  class EncodingWriter
+
+/*
+ *  End of File
+ */
@@ -17,14 +17,15 @@
 
 package org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.spi;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.Math.max;
-import static java.lang.String.format;
+import static java.lang.Math.min;
 import static java.util.Objects.nonNull;
 import static org.apiguardian.api.API.Status.MAINTAINED;
-import static org.tquadrat.foundation.javadoc.internal.ToolKit.EMPTY_STRING;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNonNullArgument;
 import static org.tquadrat.foundation.javadoc.internal.ToolKit.requireNotEmptyArgument;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 
@@ -32,10 +33,22 @@ import org.apiguardian.api.API;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.javadoc.internal.foundation.annotation.UtilityClass;
 import org.tquadrat.foundation.javadoc.internal.foundation.exception.PrivateConstructorForStaticClassCalledError;
+import org.tquadrat.foundation.javadoc.internal.foundation.exception.UnexpectedExceptionError;
 import org.tquadrat.foundation.javadoc.internal.foundation.xml.builder.Namespace;
 
 /**
- *  Helper method for the conversion of SGML elements into a String.
+ *  <p>{@summary Helper methods for the conversion of SGML elements into a
+ *  String.}</p>
+ *  <p>The {@code write…()} methods write the output directly to an
+ *  {@link Appendable};
+ *  the {@code compose…()} methods are thin wrappers around them that collect
+ *  the output into a String.</p>
+ *  <p>The blanks for the indentation and the fillers (a line break, followed
+ *  by the indentation) used for pretty printing are precomputed for all
+ *  indentation levels up to the depth that is configured by the
+ *  {@linkplain System#getProperty(String) system property}
+ *  {@value #PROPERTY_INDENTATION_CACHE_DEPTH},
+ *  so they are not created again for each element or attribute.</p>
  *
  *  @author Thomas Thrien - thomas.thrien@tquadrat.org
  *  @version $Id: SGMLPrinter.java 976 2022-01-06 11:39:58Z tquadrat $
@@ -49,11 +62,80 @@ public final class SGMLPrinter
         /*-----------*\
     ====** Constants **========================================================
         \*-----------*/
+    /**
+     *  The number of additional blanks that is covered by the indentation
+     *  cache: {@value}. Additional blanks are used to align the attributes
+     *  of an element below each other, so this is the maximum length of an
+     *  element name, plus one, for which the attribute alignment is taken
+     *  from the cache.
+     */
+    private static final int CACHED_ADDITIONAL_BLANKS = 48;
+
+    /**
+     *  The default for the maximum indentation level that is covered by the
+     *  indentation cache: {@value}.
+     */
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final int DEFAULT_INDENTATION_CACHE_DEPTH = 16;
+
+    /**
+     *  The upper limit for the maximum indentation level that is covered by
+     *  the indentation cache: {@value}. A larger value for the system
+     *  property
+     *  {@value #PROPERTY_INDENTATION_CACHE_DEPTH}
+     *  is reduced to this limit; deeper indentations are still possible, but
+     *  their blanks are created on demand.
+     */
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final int MAX_INDENTATION_CACHE_DEPTH = 256;
+
+    /**
+     *  The name of the system property that holds the maximum indentation
+     *  level that is covered by the indentation cache: {@value}. It will be
+     *  set on the {@code javadoc} command line like this:
+     *  &quot;<code>-J-Dorg.tquadrat.foundation.xml.indentation.depth=&hellip;</code>&quot;.
+     *  If not set,
+     *  {@value #DEFAULT_INDENTATION_CACHE_DEPTH}
+     *  is assumed; negative values are taken as 0, values above
+     *  {@value #MAX_INDENTATION_CACHE_DEPTH}
+     *  are reduced to that limit.
+     */
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final String PROPERTY_INDENTATION_CACHE_DEPTH = "org.tquadrat.foundation.xml.indentation.depth";
+
     /**
      *  The tabulator size for pretty printing: {@value}
      */
     public static final int TAB_SIZE = 4;
 
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The cached indentations; the index is the number of blanks.
+     */
+    private static final String [] m_Blanks;
+
+    /**
+     *  The cached fillers: a line break, followed by the indentation; the
+     *  index is the number of blanks.
+     */
+    private static final String [] m_Fillers;
+
+    static
+    {
+        final var depth = min( MAX_INDENTATION_CACHE_DEPTH, max( 0, getInteger( PROPERTY_INDENTATION_CACHE_DEPTH, DEFAULT_INDENTATION_CACHE_DEPTH ).intValue() ) );
+        final var size = depth * TAB_SIZE + CACHED_ADDITIONAL_BLANKS + 1;
+        m_Blanks = new String [size];
+        m_Fillers = new String [size];
+        final var blanks = " ".repeat( size - 1 );
+        for( var i = 0; i < size; ++i )
+        {
+            m_Blanks [i] = blanks.substring( 0, i );
+            m_Fillers [i] = "\n" + m_Blanks [i];
+        }
+    }
+
         /*--------------*\
     ====** Constructors **=====================================================
         \*--------------*/
@@ -75,44 +157,22 @@ public final class SGMLPrinter
      *  @param  attributes  The attributes.
      *  @param  namespaces  The namespaces.
      *  @return The attributes string.
+     *
+     *  @see #writeAttributes(Appendable, int, boolean, String, Map, Collection)
      */
     @API( status = MAINTAINED, since = "0.0.5" )
     public static final String composeAttributesString( final int indentationLevel, final boolean prettyPrint, final String elementName, final Map<String,String> attributes, final Collection<Namespace> namespaces )
     {
-        requireNotEmptyArgument( elementName, "elementName" );
-        requireNonNullArgument( attributes, "attributes" );
-        requireNonNullArgument( namespaces, "namespaces" );
-
-        var retValue = EMPTY_STRING;
-        if( !attributes.isEmpty() || !namespaces.isEmpty() )
+        final var buffer = new StringBuilder();
+        try
         {
-            //---* Determine the filler *--------------------------------------
-            final var filler = prettyPrint ? "\n" + repeat( indentationLevel, elementName.length() + 1 ) : EMPTY_STRING;
-
-            //---* Create the buffer *-----------------------------------------
-            final var len = (filler.length() + 16) * attributes.size() + (filler.length() + 16) * namespaces.size();
-            final var buffer = new StringBuilder( len );
-
-            //---* Add the namespaces *----------------------------------------
-            for( final var namespace : namespaces )
-            {
-                if( !buffer.isEmpty() ) buffer.append( filler );
-                buffer.append( " " ).append( namespace.toString() );
-            }
-
-            //---* Add the attributes *----------------------------------------
-            attributes.forEach( (k,v) ->
-            {
-                if( !buffer.isEmpty() ) buffer.append( filler );
-                buffer.append( ' ' )
-                    .append( k )
-                    .append( "='")
-                    .append( v )
-                    .append( '\'' );
-            });
-
-            retValue = buffer.toString();
+            writeAttributes( buffer, indentationLevel, prettyPrint, elementName, attributes, namespaces );
+        }
+        catch( final IOException e )
+        {
+            throw new UnexpectedExceptionError( e );
         }
+        final var retValue = buffer.toString();
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -126,50 +186,22 @@ public final class SGMLPrinter
      *  @param  parent  The parent element.
      *  @param  children    The children.
      *  @return The children string.
+     *
+     *  @see #writeChildren(Appendable, int, boolean, Element, Collection)
      */
     @API( status = MAINTAINED, since = "0.0.5" )
     public static final String composeChildrenString( final int indentationLevel, final boolean prettyPrint, final Element parent, final Collection<? extends Element> children )
     {
-        requireNonNullArgument( parent, "parent" );
-
-        var retValue = EMPTY_STRING;
-        if( !requireNonNullArgument( children, "children" ).isEmpty() )
+        final var buffer = new StringBuilder( 1024 );
+        try
         {
-            //---* Calculate the indentation *---------------------------------
-            /*
-             * If the direct parent is an inline element, the block is false.
-             */
-            final var grandParent = parent.getParent();
-            final var block = grandParent.map( element -> element.isBlock() && parent.isBlock() ).orElseGet( parent::isBlock ).booleanValue();
-            var filler = (prettyPrint && block) && (indentationLevel > 0) ? "\n" + repeat( indentationLevel ) : EMPTY_STRING;
-
-            //---* Render the children *---------------------------------------
-            final var buffer = new StringBuilder( 1024 );
-
-            final var newIndentationLevel = block ? indentationLevel + 1 : indentationLevel;
-            Element lastChild = null;
-            for( final var child : children )
-            {
-                buffer.append( child.toString( newIndentationLevel, prettyPrint ) );
-                lastChild = child;
-            }
-            if( nonNull( lastChild ) && lastChild.isBlock() )
-            {
-                if( prettyPrint && block && (indentationLevel == 0) )
-                {
-                    buffer.append( "\n" );
-                }
-                else
-                {
-                    if( (block != parent.isBlock()) && prettyPrint && (indentationLevel > 0) )
-                    {
-                        filler = "\n" + repeat( indentationLevel - 1 );
-                    }
-                    buffer.append( filler );
-                }
-            }
-            retValue = buffer.toString();
+            writeChildren( buffer, indentationLevel, prettyPrint, parent, children );
         }
+        catch( final IOException e )
+        {
+            throw new UnexpectedExceptionError( e );
+        }
+        final var retValue = buffer.toString();
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -181,35 +213,29 @@ public final class SGMLPrinter
      *  @param  prettyPrint The pretty print flag.
      *  @param  document    The document.
      *  @return The element string.
+     *
+     *  @see #writeDocument(Appendable, boolean, Document)
      */
-    @SuppressWarnings( "Convert2streamapi" )
     @API( status = MAINTAINED, since = "0.0.5" )
     public static final String composeDocumentString( final boolean prettyPrint, final Document<? extends Element> document )
     {
-        final var retValue = new StringBuilder();
-        for( final var child : requireNonNullArgument( document, "document" ).getChildren() )
+        final var buffer = new StringBuilder( 1024 );
+        try
+        {
+            writeDocument( buffer, prettyPrint, document );
+        }
+        catch( final IOException e )
         {
-            retValue.append( child.toString( 0, prettyPrint ) );
+            throw new UnexpectedExceptionError( e );
         }
+        final var retValue = buffer.toString();
 
         //---* Done *----------------------------------------------------------
-        return retValue.toString();
-    }   //  composeElementString()
+        return retValue;
+    }   //  composeDocumentString()
 
     /**
-     *  <p>{@summary Returns the given element as a single formatted
-     *  string.}</p>
-     *  <p>The argument {@code selfClosing} exists for some HTML elements
-     *  like {@code <script>}; in pure XML, all elements are self-closing when
-     *  empty, while other flavours may define elements that always need a
-     *  closing tag. Therefore</p>
-     *  <pre><code>  &hellip;
-     *  &lt;script/&gt;
-     *  &hellip;</code></pre>
-     *  <p>is valid in pure XML, but not in HTML where it has to be</p>
-     *  <pre><code>  &hellip;
-     *  &lt;script&gt;&lt;/script&gt;
-     *  &hellip;</code></pre>
+     *  Returns the given element as a single formatted string.
      *
      *  @param  indentationLevel    The indentation level.
      *  @param  prettyPrint The pretty print flag.
@@ -217,44 +243,23 @@ public final class SGMLPrinter
      *  @param  selfClosing {@code true} if an empty element is self-closing or
      *      {@code false} if an empty element still needs a closing tag.
      *  @return The element string.
+     *
+     *  @see #writeElement(Appendable, int, boolean, Element, boolean)
      */
     @SuppressWarnings( "BooleanParameter" )
     @API( status = MAINTAINED, since = "0.0.5" )
     public static final String composeElementString( final int indentationLevel, final boolean prettyPrint, final Element element, final boolean selfClosing )
     {
-        String retValue;
-
-        //---* Calculate the indentation *-------------------------------------
-        /*
-         * If the direct parent is an inline element, the block is false.
-         */
-        final var parent = requireNonNullArgument( element, "element" ).getParent();
-        final var block = parent.map( value -> value.isBlock() && element.isBlock() ).orElseGet( element::isBlock ).booleanValue();
-        final var filler = (prettyPrint && block) ? "\n" + repeat( indentationLevel ) : EMPTY_STRING;
-
-        //---* Render the element *--------------------------------------------
-        final var elementName = element.getElementName();
-        if( !selfClosing || element.hasChildren() )
+        final var buffer = new StringBuilder( 1024 );
+        try
         {
-            final var buffer = new StringBuilder( 1024 );
-
-            //---* The opening tag *-------------------------------------------
-            buffer.append( format( "%3$s<%1$s%2$s>", elementName, composeAttributesString( indentationLevel, prettyPrint, elementName, element.getAttributes(), element.getNamespaces() ), filler ) );
-
-            //---* The children *----------------------------------------------
-            if( element.hasChildren() )
-            {
-                buffer.append( composeChildrenString( indentationLevel, prettyPrint, element, element.getChildren() ) );
-            }
-
-            //---* The closing tag *-------------------------------------------
-            buffer.append( format( "</%1$s>", elementName ) );
-            retValue = buffer.toString();
+            writeElement( buffer, indentationLevel, prettyPrint, element, selfClosing );
         }
-        else
+        catch( final IOException e )
         {
-            retValue = format( "%3$s<%1$s%2$s/>", elementName, composeAttributesString( indentationLevel, prettyPrint, elementName, element.getAttributes(), element.getNamespaces() ), filler );
+            throw new UnexpectedExceptionError( e );
         }
+        final var retValue = buffer.toString();
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -268,35 +273,51 @@ public final class SGMLPrinter
      *  @param  elementName The name of the owning element.
      *  @param  namespaces  The namespaces.
      *  @return The namespaces string.
+     *
+     *  @see #writeNamespaces(Appendable, int, boolean, String, Collection)
      */
     @API( status = MAINTAINED, since = "0.0.5" )
     public static final String composeNamespaceString( final int indentationLevel, final boolean prettyPrint, final String elementName, final Collection<Namespace> namespaces )
     {
-        requireNotEmptyArgument( elementName, "elementName" );
-
-        var retValue = EMPTY_STRING;
-        if( !requireNonNullArgument( namespaces, "namespaces" ).isEmpty() )
+        final var buffer = new StringBuilder();
+        try
         {
-            //---* Determine the filler *--------------------------------------
-            final var filler = prettyPrint ? "\n" + repeat( indentationLevel, elementName.length() + 1 ) : EMPTY_STRING;
-
-            //---* Create the buffer *-----------------------------------------
-            final var len = (filler.length() + 16) * namespaces.size();
-            final var buffer = new StringBuilder( len );
-
-            //---* Add the namespaces *----------------------------------------
-            for( final var namespace : namespaces )
-            {
-                if( !buffer.isEmpty() ) buffer.append( filler );
-                buffer.append( " " ).append( namespace.toString() );
-            }
-            retValue = buffer.toString();
+            writeNamespaces( buffer, indentationLevel, prettyPrint, elementName, namespaces );
+        }
+        catch( final IOException e )
+        {
+            throw new UnexpectedExceptionError( e );
         }
+        final var retValue = buffer.toString();
 
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  composeNamespaceString()
 
+    /**
+     *  <p>{@summary Returns the filler for pretty printing: a line break,
+     *  followed by the blanks for the given indentation level,
+     *  multiplied by the
+     *  {@link #TAB_SIZE}
+     *  (= {@value #TAB_SIZE}), plus the given number of additional
+     *  blanks.}</p>
+     *  <p>Negative values for either the indentation level or the number of
+     *  additional blanks are treated as 0.</p>
+     *
+     *  @param  indentationLevel    The indentation level.
+     *  @param  additionalBlanks    The number of additional blanks.
+     *  @return The filler.
+     */
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final String getFiller( final int indentationLevel, final int additionalBlanks )
+    {
+        final var count = max( 0, indentationLevel ) * TAB_SIZE + max( 0, additionalBlanks );
+        final var retValue = count < m_Fillers.length ? m_Fillers [count] : "\n" + " ".repeat( count );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getFiller()
+
     /**
      *  <p>{@summary Returns a String, consisting only of blanks, with the
      *  length that is determined by the given indentation level, multiplied
@@ -315,7 +336,7 @@ public final class SGMLPrinter
     public static final String repeat( final int indentationLevel, final int additionalBlanks )
     {
         final var count = max( 0, indentationLevel ) * TAB_SIZE + max( 0, additionalBlanks );
-        final var retValue = count > 0 ? " ".repeat( count ) : EMPTY_STRING;
+        final var retValue = count < m_Blanks.length ? m_Blanks [count] : " ".repeat( count );
 
         //---* Done *----------------------------------------------------------
         return retValue;
@@ -336,9 +357,221 @@ public final class SGMLPrinter
     {
         return repeat( indentationLevel, 0 );
     }   //  repeat()
+
+    /**
+     *  Writes the attributes and their values, together with the namespaces,
+     *  to the given target.
+     *
+     *  @param  target  The target.
+     *  @param  indentationLevel    The indentation level.
+     *  @param  prettyPrint The pretty print flag.
+     *  @param  elementName The name of the owning element.
+     *  @param  attributes  The attributes.
+     *  @param  namespaces  The namespaces.
+     *  @throws IOException Writing to the target failed.
+     */
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final void writeAttributes( final Appendable target, final int indentationLevel, final boolean prettyPrint, final String elementName, final Map<String,String> attributes, final Collection<Namespace> namespaces ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+        requireNotEmptyArgument( elementName, "elementName" );
+        requireNonNullArgument( attributes, "attributes" );
+        requireNonNullArgument( namespaces, "namespaces" );
+
+        //---* Add the namespaces *--------------------------------------------
+        var isFirst = true;
+        for( final var namespace : namespaces )
+        {
+            if( !isFirst ) writeFiller( target, prettyPrint, indentationLevel, elementName.length() + 1 );
+            target.append( ' ' ).append( namespace.toString() );
+            isFirst = false;
+        }
+
+        //---* Add the attributes *--------------------------------------------
+        for( final var attribute : attributes.entrySet() )
+        {
+            if( !isFirst ) writeFiller( target, prettyPrint, indentationLevel, elementName.length() + 1 );
+            target.append( ' ' )
+                .append( attribute.getKey() )
+                .append( "='" )
+                .append( attribute.getValue() )
+                .append( '\'' );
+            isFirst = false;
+        }
+    }   //  writeAttributes()
+
+    /**
+     *  Writes the children to the given target.
+     *
+     *  @param  target  The target.
+     *  @param  indentationLevel    The indentation level.
+     *  @param  prettyPrint The pretty print flag.
+     *  @param  parent  The parent element.
+     *  @param  children    The children.
+     *  @throws IOException Writing to the target failed.
+     */
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final void writeChildren( final Appendable target, final int indentationLevel, final boolean prettyPrint, final Element parent, final Collection<? extends Element> children ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+        requireNonNullArgument( parent, "parent" );
+
+        if( !requireNonNullArgument( children, "children" ).isEmpty() )
+        {
+            //---* Calculate the indentation *---------------------------------
+            /*
+             * If the direct parent is an inline element, the block is false.
+             */
+            final var grandParent = parent.getParent();
+            final var block = grandParent.map( element -> element.isBlock() && parent.isBlock() ).orElseGet( parent::isBlock ).booleanValue();
+
+            //---* Render the children *---------------------------------------
+            final var newIndentationLevel = block ? indentationLevel + 1 : indentationLevel;
+            Element lastChild = null;
+            for( final var child : children )
+            {
+                child.writeTo( target, newIndentationLevel, prettyPrint );
+                lastChild = child;
+            }
+            if( nonNull( lastChild ) && lastChild.isBlock() && prettyPrint )
+            {
+                if( block && (indentationLevel == 0) )
+                {
+                    target.append( '\n' );
+                }
+                else if( indentationLevel > 0 )
+                {
+                    if( block != parent.isBlock() )
+                    {
+                        writeFiller( target, true, indentationLevel - 1, 0 );
+                    }
+                    else
+                    {
+                        writeFiller( target, block, indentationLevel, 0 );
+                    }
+                }
+            }
+        }
+    }   //  writeChildren()
+
+    /**
+     *  Writes the given document to the given target.
+     *
+     *  @param  target  The target.
+     *  @param  prettyPrint The pretty print flag.
+     *  @param  document    The document.
+     *  @throws IOException Writing to the target failed.
+     */
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final void writeDocument( final Appendable target, final boolean prettyPrint, final Document<? extends Element> document ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+        for( final var child : requireNonNullArgument( document, "document" ).getChildren() )
+        {
+            child.writeTo( target, 0, prettyPrint );
+        }
+    }   //  writeDocument()
+
+    /**
+     *  <p>{@summary Writes the given element to the given target.}</p>
+     *  <p>The argument {@code selfClosing} exists for some HTML elements
+     *  like {@code <script>}; in pure XML, all elements are self-closing when
+     *  empty, while other flavours may define elements that always need a
+     *  closing tag. Therefore</p>
+     *  <pre><code>  &hellip;
+     *  &lt;script/&gt;
+     *  &hellip;</code></pre>
+     *  <p>is valid in pure XML, but not in HTML where it has to be</p>
+     *  <pre><code>  &hellip;
+     *  &lt;script&gt;&lt;/script&gt;
+     *  &hellip;</code></pre>
+     *
+     *  @param  target  The target.
+     *  @param  indentationLevel    The indentation level.
+     *  @param  prettyPrint The pretty print flag.
+     *  @param  element The element.
+     *  @param  selfClosing {@code true} if an empty element is self-closing or
+     *      {@code false} if an empty element still needs a closing tag.
+     *  @throws IOException Writing to the target failed.
+     */
+    @SuppressWarnings( "BooleanParameter" )
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final void writeElement( final Appendable target, final int indentationLevel, final boolean prettyPrint, final Element element, final boolean selfClosing ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+
+        //---* Calculate the indentation *-------------------------------------
+        /*
+         * If the direct parent is an inline element, the block is false.
+         */
+        final var parent = requireNonNullArgument( element, "element" ).getParent();
+        final var block = parent.map( value -> value.isBlock() && element.isBlock() ).orElseGet( element::isBlock ).booleanValue();
+        writeFiller( target, prettyPrint && block, indentationLevel, 0 );
+
+        //---* Render the element *--------------------------------------------
+        final var elementName = element.getElementName();
+        target.append( '<' ).append( elementName );
+        writeAttributes( target, indentationLevel, prettyPrint, elementName, element.getAttributes(), element.getNamespaces() );
+        final var hasChildren = element.hasChildren();
+        if( !selfClosing || hasChildren )
+        {
+            target.append( '>' );
+            if( hasChildren ) writeChildren( target, indentationLevel, prettyPrint, element, element.getChildren() );
+            target.append( "</" ).append( elementName ).append( '>' );
+        }
+        else
+        {
+            target.append( "/>" );
+        }
+    }   //  writeElement()
+
+    /**
+     *  Writes a line break, followed by the indentation for the given
+     *  indentation level plus the given number of additional blanks, to the
+     *  given target, but only if the given flag is {@code true}.
+     *
+     *  @param  target  The target.
+     *  @param  prettyPrint {@code true} if the filler should be written,
+     *      {@code false} if not.
+     *  @param  indentationLevel    The indentation level.
+     *  @param  additionalBlanks    The number of additional blanks.
+     *  @throws IOException Writing to the target failed.
+     *
+     *  @see #getFiller(int, int)
+     */
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final void writeFiller( final Appendable target, final boolean prettyPrint, final int indentationLevel, final int additionalBlanks ) throws IOException
+    {
+        if( prettyPrint ) target.append( getFiller( indentationLevel, additionalBlanks ) );
+    }   //  writeFiller()
+
+    /**
+     *  Writes the namespaces to the given target.
+     *
+     *  @param  target  The target.
+     *  @param  indentationLevel    The indentation level.
+     *  @param  prettyPrint The pretty print flag.
+     *  @param  elementName The name of the owning element.
+     *  @param  namespaces  The namespaces.
+     *  @throws IOException Writing to the target failed.
+     */
+    @API( status = MAINTAINED, since = "0.1.0" )
+    public static final void writeNamespaces( final Appendable target, final int indentationLevel, final boolean prettyPrint, final String elementName, final Collection<Namespace> namespaces ) throws IOException
+    {
+        requireNonNullArgument( target, "target" );
+        requireNotEmptyArgument( elementName, "elementName" );
+
+        var isFirst = true;
+        for( final var namespace : requireNonNullArgument( namespaces, "namespaces" ) )
+        {
+            if( !isFirst ) writeFiller( target, prettyPrint, indentationLevel, elementName.length() + 1 );
+            target.append( ' ' ).append( namespace.toString() );
+            isFirst = false;
+        }
+    }   //  writeNamespaces()
 }
 //  class SGMLPrinter
 
 /*
  *  End of File
- */
\ No newline at end of file
+ */
@@ -43,6 +43,8 @@ import javax.lang.model.element.Name;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -376,6 +378,22 @@ public class UMLDocument
      */
     @Override
     public final String toString() { return m_Root.toString(); }
+
+    /**
+     *  Writes the SVG for the UML diagram to the given output stream; the
+     *  output is the same as that from
+     *  {@link #toString()},
+     *  but it is encoded while it is written.
+     *
+     *  @param  outputStream    The output stream; it will be flushed, but
+     *      not closed.
+     *  @param  encoding    The character set for the output.
+     *  @throws IOException Writing to the output stream failed.
+     */
+    public final void writeTo( final OutputStream outputStream, final Charset encoding ) throws IOException
+    {
+        m_Root.writeTo( outputStream, encoding );
+    }   //  writeTo()
 }
 //  class UMLDocument
 
@@ -0,0 +1,102 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.javadoc.internal.RenderManifest.MANIFEST_FILE_NAME;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  Tests the incremental mode of
+ *  {@link CreateSourceHTML#executeBatch(Path, java.util.Collection, Path, java.nio.charset.Charset, int, boolean)}
+ *  for runs that cover only a part of the source tree.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ */
+@ClassVersion( sourceVersion = "$Id: TestCreateSourceHTMLIncremental.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.javadoc.TestCreateSourceHTMLIncremental" )
+public class TestCreateSourceHTMLIncremental extends TestBaseClass
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  An incremental run with a partial file list must neither delete the
+     *  output for the source files that were not listed, nor drop them from
+     *  the manifest; only the output for a deleted source file is removed.
+     *
+     *  @param  tempDir The temporary folder.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testPartialFileList( @TempDir final Path tempDir ) throws Exception
+    {
+        skipThreadTest();
+
+        final var sourceRoot = tempDir.resolve( "src" );
+        final var outputRoot = tempDir.resolve( "out" );
+        Files.createDirectories( sourceRoot );
+        Files.writeString( sourceRoot.resolve( "A.java" ), "public class A {}\n", UTF_8 );
+        Files.writeString( sourceRoot.resolve( "B.java" ), "public class B {}\n", UTF_8 );
+        final var outputA = outputRoot.resolve( "A.java.html" );
+        final var outputB = outputRoot.resolve( "B.java.html" );
+        final var manifestFile = outputRoot.resolve( MANIFEST_FILE_NAME );
+
+        //---* Full run *------------------------------------------------------
+        var result = CreateSourceHTML.executeBatch( sourceRoot, "**.java", outputRoot, UTF_8, 1, true );
+        assertEquals( 2, result.fileCount() );
+        assertTrue( Files.isRegularFile( outputA ) );
+        assertTrue( Files.isRegularFile( outputB ) );
+
+        //---* Partial run *---------------------------------------------------
+        result = CreateSourceHTML.executeBatch( sourceRoot, List.of( Path.of( "A.java" ) ), outputRoot, UTF_8, 1, true );
+        assertEquals( 0, result.deletedCount() );
+        assertEquals( 1, result.skippedCount() );
+        assertTrue( Files.isRegularFile( outputB ) );
+        assertTrue( Files.readString( manifestFile, UTF_8 ).contains( "\tB.java\n" ) );
+
+        //---* The unchanged file is still up to date *------------------------
+        result = CreateSourceHTML.executeBatch( sourceRoot, List.of( Path.of( "B.java" ) ), outputRoot, UTF_8, 1, true );
+        assertEquals( 1, result.skippedCount() );
+
+        //---* Partial run after the deletion of a source file *---------------
+        Files.delete( sourceRoot.resolve( "B.java" ) );
+        result = CreateSourceHTML.executeBatch( sourceRoot, List.of( Path.of( "A.java" ) ), outputRoot, UTF_8, 1, true );
+        assertEquals( 1, result.deletedCount() );
+        assertFalse( Files.exists( outputB ) );
+        assertTrue( Files.isRegularFile( outputA ) );
+        assertFalse( Files.readString( manifestFile, UTF_8 ).contains( "B.java" ) );
+    }   //  testPartialFileList()
+}
+//  class TestCreateSourceHTMLIncremental
+
+/*
+ *  End of File
+ */
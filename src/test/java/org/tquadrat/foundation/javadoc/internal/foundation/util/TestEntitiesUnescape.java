@@ -0,0 +1,252 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal.foundation.util;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.tquadrat.foundation.javadoc.internal.foundation.util.Entities.HTML50;
+import static org.tquadrat.foundation.javadoc.internal.foundation.util.Entities.XML;
+
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  Checks the single pass implementation of
+ *  {@link Entities#unescape(CharSequence)}
+ *  against the former implementation, using generated input.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ */
+@ClassVersion( sourceVersion = "$Id: TestEntitiesUnescape.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.javadoc.internal.foundation.util.TestEntitiesUnescape" )
+public class TestEntitiesUnescape extends TestBaseClass
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The fragments for the generated input.
+     */
+    private static final String [] FRAGMENTS =
+        { "&", ";", "#", "x", "&amp;", "&lt;", "&gt;", "&quot;", "&apos;", "&nbsp;",
+          "&eacute;", "&Ascr;", "&AMP;", "&Tab;", "&euro;", "&unknown;", "&;", "&#;",
+          "&#x;", "&#65;", "&#x41;", "&#X1D49C;", "&#0;", "&#+66;", "&#-0;",
+          "&#xFFFFFFFF;", "&#99999999999;", "&#12a;", "amp", "lt", "a=b", "?q=1",
+          " ", "text", "ä", "𝒜" };
+
+    /**
+     *  The number of generated inputs per test: {@value}.
+     */
+    private static final int SAMPLE_COUNT = 50_000;
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Creates a random input text from the
+     *  {@linkplain #FRAGMENTS fragments}.
+     *
+     *  @param  random  The source for randomness.
+     *  @return The input text.
+     */
+    private static String createInput( final Random random )
+    {
+        final var retValue = new StringBuilder();
+        final var count = random.nextInt( 12 );
+        for( var i = 0; i < count; ++i )
+        {
+            retValue.append( FRAGMENTS [random.nextInt( FRAGMENTS.length )] );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue.toString();
+    }   //  createInput()
+
+    /**
+     *  The former implementation of
+     *  {@link Entities#unescape(CharSequence)};
+     *  it serves as the reference.<br>
+     *  <br>It threw an
+     *  {@link IllegalArgumentException}
+     *  for numerical references to invalid code points; those are now left
+     *  alone, as any other unknown entity. This implementation does the same,
+     *  so that the results can be compared.
+     *
+     *  @param  entities    The entities.
+     *  @param  str The text to unescape.
+     *  @return The unescaped text.
+     */
+    @SuppressWarnings( {"MagicNumber", "OverlyComplexMethod"} )
+    private static String legacyUnescape( final Entities entities, final String str )
+    {
+        final var firstAmp = str.indexOf( '&' );
+        if( firstAmp < 0 ) return str;
+
+        final var buffer = new StringBuilder( str.length() * 2 );
+        buffer.append( str, 0, firstAmp );
+        final var len = str.length();
+        ScanLoop: for( var i = firstAmp; i < len; ++i )
+        {
+            final var c = str.charAt( i );
+            if( c == '&' )
+            {
+                final var nextIndex = i + 1;
+                final var semiColonIndex = str.indexOf( ';', nextIndex );
+                if( semiColonIndex == -1 )
+                {
+                    buffer.append( c );
+                    continue ScanLoop;
+                }
+                final var ampersandIndex = str.indexOf( '&', i + 1 );
+                if( (ampersandIndex != -1) && (ampersandIndex < semiColonIndex) )
+                {
+                    buffer.append( c );
+                    continue ScanLoop;
+                }
+                final var entityContent = str.substring( nextIndex, semiColonIndex );
+                Optional<Integer> entityValue = Optional.empty();
+                if( !entityContent.isEmpty() )
+                {
+                    if( entityContent.charAt( 0 ) == '#' )
+                    {
+                        if( entityContent.length() > 1 )
+                        {
+                            try
+                            {
+                                final var value = switch( entityContent.charAt( 1 ) )
+                                {
+                                    case 'X', 'x' -> Integer.parseInt( entityContent.substring( 2 ), 0x10 );
+                                    default -> Integer.parseInt( entityContent.substring( 1 ), 10 );
+                                };
+                                entityValue = Character.isValidCodePoint( value ) ? Optional.of( Integer.valueOf( value ) ) : Optional.empty();
+                            }
+                            catch( @SuppressWarnings( "unused" ) final NumberFormatException e )
+                            {
+                                entityValue = Optional.empty();
+                            }
+                        }
+                    }
+                    else
+                    {
+                        entityValue = entities.entityValue( entityContent );
+                    }
+                }
+                buffer.append( entityValue.map( v -> Character.toString( v.intValue() ) ).orElseGet( () -> format( "&%s;", entityContent ) ) );
+                //noinspection AssignmentToForLoopParameter
+                i = semiColonIndex;
+            }
+            else
+            {
+                buffer.append( c );
+            }
+        }   //  ScanLoop:
+
+        //---* Done *----------------------------------------------------------
+        return buffer.toString();
+    }   //  legacyUnescape()
+
+    /**
+     *  Compares the results of the new implementation with those of the
+     *  former one, for generated input.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testAgainstFormerImplementation() throws Exception
+    {
+        skipThreadTest();
+
+        final var random = new Random( 20260101L );
+        for( final var entities : new Entities [] {HTML50, XML} )
+        {
+            for( var i = 0; i < SAMPLE_COUNT; ++i )
+            {
+                final var input = createInput( random );
+                final var expected = legacyUnescape( entities, input );
+                assertEquals( expected, entities.unescape( input ), input );
+
+                final var buffer = new StringBuilder();
+                entities.unescape( buffer, new StringBuilder( input ) );
+                assertEquals( expected, buffer.toString(), input );
+
+                final var chars = ("--" + input + "--").toCharArray();
+                buffer.setLength( 0 );
+                entities.unescape( buffer, chars, 2, input.length() );
+                assertEquals( expected, buffer.toString(), input );
+            }
+        }
+    }   //  testAgainstFormerImplementation()
+
+    /**
+     *  Checks that unescaping reverts escaping.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testRoundTrip() throws Exception
+    {
+        skipThreadTest();
+
+        final var random = new Random( 20260102L );
+        for( var i = 0; i < SAMPLE_COUNT; ++i )
+        {
+            final var input = new StringBuilder();
+            final var count = random.nextInt( 16 );
+            for( var j = 0; j < count; ++j )
+            {
+                input.appendCodePoint( switch( random.nextInt( 4 ) )
+                {
+                    case 0 -> random.nextInt( 0x80 );
+                    case 1 -> random.nextInt( 0x100 );
+                    case 2 -> random.nextInt( 0xD800 );
+                    default -> 0x1D49C + random.nextInt( 0x100 );
+                } );
+            }
+            final var text = input.toString();
+            assertEquals( text, HTML50.unescape( HTML50.escape( text ) ), text );
+            assertEquals( text, XML.unescape( XML.escape( text ) ), text );
+        }
+    }   //  testRoundTrip()
+
+    /**
+     *  Some explicit cases.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testUnescape() throws Exception
+    {
+        skipThreadTest();
+
+        assertEquals( "<a href=\"x?a=1&b=2&c=3\">", HTML50.unescape( "&lt;a href=&quot;x?a=1&b=2&c=3&quot;&gt;" ) );
+        assertEquals( "&&&&&&&&&&é", HTML50.unescape( "&&&&&&&&&&&eacute;" ) );
+        assertEquals( "&unknown; & &#x110000; &#-1;", HTML50.unescape( "&unknown; &amp; &#x110000; &#-1;" ) );
+        assertEquals( "𝒜𝒜", HTML50.unescape( "&Ascr;&#x1D49C;" ) );
+        assertEquals( "&Ascr;", XML.unescape( "&Ascr;" ) );
+    }   //  testUnescape()
+}
+//  class TestEntitiesUnescape
+
+/*
+ *  End of File
+ */
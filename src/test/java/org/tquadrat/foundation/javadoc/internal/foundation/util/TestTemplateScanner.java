@@ -0,0 +1,166 @@
+/*
+ * ============================================================================
+ * Copyright © 2002-2026 by Thomas Thrien.
+ * All Rights Reserved.
+ * ============================================================================
+ * Licensed to the public under the agreements of the GNU Lesser General Public
+ * License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *      http://www.gnu.org/licenses/lgpl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.tquadrat.foundation.javadoc.internal.foundation.util;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.tquadrat.foundation.javadoc.internal.ToolKit.isNotEmptyOrBlank;
+import static org.tquadrat.foundation.javadoc.internal.foundation.util.Template.VARIABLE_PATTERN;
+import static org.tquadrat.foundation.javadoc.internal.foundation.util.Template.VARIABLE_TEMPLATE;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.tquadrat.foundation.javadoc.internal.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.testutil.TestBaseClass;
+
+/**
+ *  Compares the hand-written scanner for variables in
+ *  {@link Template}
+ *  with the regular expression
+ *  {@link Template#VARIABLE_PATTERN},
+ *  using generated input.
+ *
+ *  @author Thomas Thrien - thomas.thrien@tquadrat.org
+ */
+@ClassVersion( sourceVersion = "$Id: TestTemplateScanner.java 1133 2024-05-10 21:43:08Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.javadoc.internal.foundation.util.TestTemplateScanner" )
+public class TestTemplateScanner extends TestBaseClass
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The fragments for the generated input.
+     */
+    private static final String [] FRAGMENTS =
+        { "${", "}", "$", "{", "a", "Z", "ä", "Ω", "𝒜", "\uD835", "_", "~", "/",
+          "=", "%", ":", "&", "+", "1", ".", " ", "\n", "\r", "\u0085", "\u2028",
+          "\t", "${_}", "${a}", "${~home}", "${x.y}", "${1}", "${_a}", "${}" };
+
+    /**
+     *  The number of generated inputs per test: {@value}.
+     */
+    private static final int SAMPLE_COUNT = 100_000;
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The reference pattern.
+     */
+    private static final Pattern m_VariablePattern = Pattern.compile( VARIABLE_PATTERN );
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Creates a random input text from the
+     *  {@linkplain #FRAGMENTS fragments}.
+     *
+     *  @param  random  The source for randomness.
+     *  @return The input text.
+     */
+    private static String createInput( final Random random )
+    {
+        final var retValue = new StringBuilder();
+        final var count = random.nextInt( 12 );
+        for( var i = 0; i < count; ++i )
+        {
+            retValue.append( FRAGMENTS [random.nextInt( FRAGMENTS.length )] );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue.toString();
+    }   //  createInput()
+
+    /**
+     *  Compares
+     *  {@link Template#findVariables(CharSequence)},
+     *  {@link Template#hasVariables(CharSequence)},
+     *  {@link Template#isVariable(CharSequence)}
+     *  and
+     *  {@link Template#isValidVariableName(CharSequence)}
+     *  with the results of the regular expression.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testAgainstPattern() throws Exception
+    {
+        skipThreadTest();
+
+        final var random = new Random( 20260201L );
+        for( var i = 0; i < SAMPLE_COUNT; ++i )
+        {
+            final var input = createInput( random );
+
+            final Set<String> expected = new HashSet<>();
+            final var matcher = m_VariablePattern.matcher( input );
+            while( matcher.find() ) expected.add( matcher.group( 1 ) );
+            assertEquals( expected, Template.findVariables( input ), input );
+
+            assertEquals( isNotEmptyOrBlank( input ) && !expected.isEmpty(), Template.hasVariables( input ), input );
+            assertEquals( isNotEmptyOrBlank( input ) && m_VariablePattern.matcher( input ).matches(), Template.isVariable( input ), input );
+            assertEquals( isNotEmptyOrBlank( input ) && m_VariablePattern.matcher( format( VARIABLE_TEMPLATE, input ) ).matches(), Template.isValidVariableName( input ), input );
+        }
+    }   //  testAgainstPattern()
+
+    /**
+     *  Compares the replacement of variables with the result of the regular
+     *  expression.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testReplaceVariable() throws Exception
+    {
+        skipThreadTest();
+
+        final var random = new Random( 20260202L );
+        for( var i = 0; i < SAMPLE_COUNT; ++i )
+        {
+            final var input = createInput( random );
+
+            final var expected = new StringBuilder();
+            final var matcher = m_VariablePattern.matcher( input );
+            var last = 0;
+            while( matcher.find() )
+            {
+                expected.append( input, last, matcher.start() )
+                    .append( '<' )
+                    .append( matcher.group( 1 ) )
+                    .append( '>' );
+                last = matcher.end();
+            }
+            expected.append( input, last, input.length() );
+
+            assertEquals( expected.toString(), Template.replaceVariable( input, name -> Optional.of( format( "<%s>", name ) ) ), input );
+        }
+    }   //  testReplaceVariable()
+}
+//  class TestTemplateScanner
+
+/*
+ *  End of File
+ */